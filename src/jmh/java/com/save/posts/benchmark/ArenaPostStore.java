@@ -0,0 +1,185 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.service.LongOffsetMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Keeps posts as compact JSON records appended to an arena of fixed-size {@link ByteBuffer} chunks, direct
+ * (outside the Java heap) when {@code offHeap} is set, and finds them through a {@link LongOffsetMap} from id to
+ * arena offset. A million posts are a handful of chunks and two {@code long[]} arrays instead of millions of
+ * {@code Long}, {@code String} and record objects for the collector to trace. A record is the {@code int} length
+ * followed by the JSON bytes and never spans chunks. Replacing a post appends a new record; the old one is left
+ * as garbage until the store is dropped, so it suits a store that is filled once and then mostly read. The
+ * application keeps only the id map, in incremental manifests and deduplication; the arena itself is measured
+ * against a {@code HashMap<Long, Post>} by {@link PostStoreBenchmark}.
+ */
+@Slf4j
+public class ArenaPostStore {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final boolean offHeap;
+    private final int chunkBytes;
+    private final LongOffsetMap offsets;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long garbageBytes;
+
+    public ArenaPostStore(ObjectMapper objectMapper, boolean offHeap, int chunkBytes, int initialCapacity) {
+        if (chunkBytes <= Integer.BYTES) {
+            throw new IllegalArgumentException("chunkBytes must be larger than " + Integer.BYTES
+                    + ", was " + chunkBytes);
+        }
+        this.reader = objectMapper.readerFor(Post.class);
+        this.writer = objectMapper.writer();
+        this.offHeap = offHeap;
+        this.chunkBytes = chunkBytes;
+        this.offsets = new LongOffsetMap(initialCapacity);
+    }
+
+    /**
+     * Stores {@code post} under its id, replacing any post stored before.
+     *
+     * @return whether the post was not stored yet or differed from the stored one
+     */
+    public boolean put(Post post) {
+        if (post.id() == null) {
+            throw new IllegalArgumentException("Cannot store a post without id");
+        }
+        byte[] json = serialize(post);
+        lock.writeLock().lock();
+        try {
+            long previous = offsets.get(post.id());
+            if (previous != LongOffsetMap.MISSING && ByteBuffer.wrap(json).equals(record(previous))) {
+                return false;
+            }
+            offsets.put(post.id(), append(json));
+            if (previous != LongOffsetMap.MISSING) {
+                garbageBytes += Integer.BYTES + record(previous).remaining();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Post> get(long id) {
+        return getJson(id).map(this::deserialize);
+    }
+
+    /**
+     * A read-only view of the compact JSON of the stored post, valid until the post is replaced.
+     */
+    public Optional<ByteBuffer> getJson(long id) {
+        lock.readLock().lock();
+        try {
+            long offset = offsets.get(id);
+            return offset == LongOffsetMap.MISSING
+                    ? Optional.empty()
+                    : Optional.of(record(offset).asReadOnlyBuffer());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return offsets.get(id) != LongOffsetMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return offsets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes reserved by the arena chunks and the id map, including replaced records.
+     */
+    public long reservedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) chunks.size() * chunkBytes + offsets.capacityBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes of replaced records that are still held by the arena.
+     */
+    public long garbageBytes() {
+        lock.readLock().lock();
+        try {
+            return garbageBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long append(byte[] json) {
+        int length = Integer.BYTES + json.length;
+        if (length > chunkBytes) {
+            throw new IllegalArgumentException("Post of " + json.length + " bytes does not fit in a store chunk of "
+                    + chunkBytes + " bytes");
+        }
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.remaining() < length) {
+            chunk = offHeap ? ByteBuffer.allocateDirect(chunkBytes) : ByteBuffer.allocate(chunkBytes);
+            chunks.add(chunk);
+            log.debug("Allocated store chunk {} of {} bytes", chunks.size(), chunkBytes);
+        }
+        long offset = (long) (chunks.size() - 1) * chunkBytes + chunk.position();
+        chunk.putInt(json.length).put(json);
+        return offset;
+    }
+
+    /**
+     * The JSON of the record at {@code offset}, as a view that does not move the chunk's write position.
+     */
+    private ByteBuffer record(long offset) {
+        ByteBuffer chunk = chunks.get((int) (offset / chunkBytes));
+        int position = (int) (offset % chunkBytes);
+        int length = chunk.getInt(position);
+        return chunk.slice(position + Integer.BYTES, length);
+    }
+
+    private byte[] serialize(Post post) {
+        try {
+            return writer.writeValueAsBytes(post);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize post " + post.id(), e);
+        }
+    }
+
+    private Post deserialize(ByteBuffer json) {
+        try {
+            return reader.readValue(new ByteBufferBackedInputStream(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read stored post", e);
+        }
+    }
+}
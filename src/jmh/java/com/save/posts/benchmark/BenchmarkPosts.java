@@ -0,0 +1,48 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+
+/**
+ * Deterministic fixtures shaped like the jsonplaceholder posts feed, so every benchmark works on the same data.
+ */
+final class BenchmarkPosts {
+
+    private static final String TITLE = "sunt aut facere repellat provident occaecati excepturi optio reprehenderit";
+    private static final String BODY = "quia et suscipit\nsuscipit recusandae consequuntur expedita et cum\n"
+            + "reprehenderit molestiae ut ut quas totam\nnostrum rerum est autem sunt rem eveniet architecto";
+
+    private BenchmarkPosts() {
+    }
+
+    static Post post(long id) {
+        return new Post(id % 10 + 1, id, TITLE + " " + id, BODY + " " + id);
+    }
+
+    static List<Post> posts(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(BenchmarkPosts::post).toList();
+    }
+
+    static byte[] jsonArray(int count) throws IOException {
+        return new ObjectMapper().writeValueAsBytes(posts(count));
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.save.posts.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostColumn;
+import com.save.posts.domain.service.ColumnWriter;
+import com.save.posts.domain.service.SegmentWriter;
+import com.save.posts.infrastructure.adapter.ColumnFilePostReader;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+
+/**
+ * Analytics scans over saved posts: every title, and the number of posts per user id, read from the
+ * {@code columns} output against parsing every line of the {@code segments} output row by row. Setup prints the
+ * bytes of each column next to the bytes of the segments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ColumnScanBenchmark {
+
+    @Param({"1000000"})
+    private int count;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Path columnsDirectory;
+    private Path segmentsDirectory;
+    private ColumnFilePostReader columnReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        columnsDirectory = Files.createTempDirectory("posts-columns-bench");
+        segmentsDirectory = Files.createTempDirectory("posts-segments-scan-bench");
+        NioFileSystemAdapter fileSystem = new NioFileSystemAdapter();
+        JacksonJsonAdapter jsonAdapter = new JacksonJsonAdapter(objectMapper, false);
+        try (ColumnWriter columns = new ColumnWriter(fileSystem, columnsDirectory, 65536);
+                SegmentWriter segments = new SegmentWriter(fileSystem, segmentsDirectory, Integer.MAX_VALUE)) {
+            for (long id = 1; id <= count; id++) {
+                Post post = BenchmarkPosts.post(id);
+                columns.append(post);
+                segments.append(post, jsonAdapter.toJsonLine(post));
+            }
+        }
+        columnReader = new ColumnFilePostReader(columnsDirectory.toString());
+        for (PostColumn column : PostColumn.values()) {
+            System.out.printf("%n%s column: %d bytes", column,
+                    Files.size(ColumnWriter.columnPath(columnsDirectory, column)));
+        }
+        System.out.printf("%nsegments: %d bytes%n", Files.size(SegmentWriter.segmentPath(segmentsDirectory, 0)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkPosts.deleteRecursively(columnsDirectory);
+        BenchmarkPosts.deleteRecursively(segmentsDirectory);
+    }
+
+    @Benchmark
+    public void titlesFromColumn(Blackhole blackhole) {
+        columnReader.scanText(PostColumn.TITLE, blackhole::consume);
+    }
+
+    @Benchmark
+    public void titlesFromSegments(Blackhole blackhole) throws IOException {
+        try (BufferedReader lines = Files.newBufferedReader(SegmentWriter.segmentPath(segmentsDirectory, 0))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                blackhole.consume(objectMapper.readValue(line, Post.class).title());
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Long> countByUserFromColumn() {
+        return columnReader.countByUserId();
+    }
+
+    @Benchmark
+    public Map<Long, Long> countByUserFromSegments() throws IOException {
+        Map<Long, Long> counts = new HashMap<>();
+        try (BufferedReader lines = Files.newBufferedReader(SegmentWriter.segmentPath(segmentsDirectory, 0))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                Long userId = objectMapper.readValue(line, Post.class).userId();
+                if (userId != null) {
+                    counts.merge(userId, 1L, Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+}
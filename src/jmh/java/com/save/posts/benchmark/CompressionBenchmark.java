@@ -0,0 +1,125 @@
+package com.save.posts.benchmark;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Compression;
+import com.save.posts.domain.model.Post;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+
+/**
+ * Serializing one post straight through a {@code save.compression} codec into its own file, per codec and level.
+ * The {@code rawBytes} and {@code storedBytes} secondary results are written bytes per second before and after
+ * compression; their quotient is the compression ratio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    private static final int FILE_COUNT = 1024;
+
+    @Param({"NONE", "GZIP", "DEFLATE"})
+    private Compression codec;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    @Param({"true", "false"})
+    private boolean prettyPrint;
+
+    private final NioFileSystemAdapter fileSystemAdapter = new NioFileSystemAdapter();
+
+    private JacksonJsonAdapter jsonAdapter;
+    private Path directory;
+    private Path[] files;
+    private List<Post> posts;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WrittenBytes {
+        public long rawBytes;
+        public long storedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rawBytes = 0;
+            storedBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonAdapter = new JacksonJsonAdapter(new ObjectMapper(), prettyPrint);
+        directory = Files.createTempDirectory("posts-compression-bench");
+        files = new Path[FILE_COUNT];
+        for (int i = 0; i < FILE_COUNT; i++) {
+            files[i] = directory.resolve(i + ".json" + codec.extension());
+        }
+        posts = BenchmarkPosts.posts(FILE_COUNT);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkPosts.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void compressAndWrite(WrittenBytes written) throws IOException {
+        next = (next + 1) & (FILE_COUNT - 1);
+        Counting stored = new Counting(fileSystemAdapter.openOutputStream(files[next]));
+        Counting raw = new Counting(codec.compress(stored, level));
+        try (raw) {
+            jsonAdapter.writeJson(posts.get(next), raw);
+        }
+        written.rawBytes += raw.count;
+        written.storedBytes += stored.count;
+    }
+
+    private static final class Counting extends FilterOutputStream {
+
+        private long count;
+
+        Counting(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.save.posts.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.service.PostDeduplicator;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.MicrometerPostMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checking 1M posts, a fifth of them repeating an earlier post, against a fresh {@link PostDeduplicator} for each
+ * allowed filter and policy, next to serializing the same posts, which is what every dropped repeat saves along with its
+ * file write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DedupBenchmark {
+
+    private static final int COUNT = 1_000_000;
+
+    @Param({"EXACT_FIRST", "EXACT_LAST", "BLOOM_FIRST"})
+    private String setting;
+
+    private Post[] posts;
+    private PostDeduplicator deduplicator;
+    private JacksonJsonAdapter jsonAdapter;
+
+    @Setup
+    public void setUp() {
+        posts = new Post[COUNT];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < COUNT; i++) {
+            posts[i] = i > 0 && random.nextInt(5) == 0 ? posts[random.nextInt(i)] : BenchmarkPosts.post(i + 1);
+        }
+        String[] filterAndPolicy = setting.split("_");
+        deduplicator = new PostDeduplicator(new MicrometerPostMetrics(new SimpleMeterRegistry(),
+                MicrometerPostMetrics.Export.NONE, "metrics.txt"),
+                PostDeduplicator.Policy.valueOf(filterAndPolicy[1]), PostDeduplicator.Scope.SOURCE,
+                PostDeduplicator.Filter.valueOf(filterAndPolicy[0]), COUNT, 0.001);
+        jsonAdapter = new JacksonJsonAdapter(new ObjectMapper(), false);
+    }
+
+    @Benchmark
+    public int deduplicate() {
+        PostDeduplicator.SeenPosts seen = deduplicator.forRun().get();
+        int duplicates = 0;
+        for (Post post : posts) {
+            if (seen.isDuplicate(post)) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    @Benchmark
+    public long serialize() {
+        long bytes = 0;
+        for (Post post : posts) {
+            bytes += jsonAdapter.toJsonBytes(post).length;
+        }
+        return bytes;
+    }
+}
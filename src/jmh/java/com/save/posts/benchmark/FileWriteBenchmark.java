@@ -0,0 +1,77 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+
+/**
+ * Cost of writing one serialized post to its own file. Files are rotated over a fixed set of names so the
+ * directory size stays constant between iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileWriteBenchmark {
+
+    private static final int FILE_COUNT = 1024;
+
+    private final NioFileSystemAdapter fileSystemAdapter = new NioFileSystemAdapter();
+
+    private Path directory;
+    private Path[] files;
+    private String content;
+    private byte[] contentBytes;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("posts-write-bench");
+        files = new Path[FILE_COUNT];
+        for (int i = 0; i < FILE_COUNT; i++) {
+            files[i] = directory.resolve(i + ".json");
+        }
+        content = new JacksonJsonAdapter(new ObjectMapper(), true).toJson(BenchmarkPosts.post(42));
+        contentBytes = content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkPosts.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void writeStringToFile() throws IOException {
+        fileSystemAdapter.writeStringToFile(nextFile(), content);
+    }
+
+    @Benchmark
+    public void writeBytesToFile() throws IOException {
+        fileSystemAdapter.writeBytesToFile(nextFile(), contentBytes);
+    }
+
+    private Path nextFile() {
+        next = (next + 1) & (FILE_COUNT - 1);
+        return files[next];
+    }
+}
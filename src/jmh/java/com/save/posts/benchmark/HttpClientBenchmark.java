@@ -0,0 +1,101 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.infrastructure.adapter.MicrometerPostMetrics;
+import com.save.posts.infrastructure.config.WebClientConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Many concurrent requests for a page of posts against a local Reactor Netty stand-in for the API, through the
+ * {@link WebClient} built by {@link WebClientConfig}. Compares HTTP/1.1 on a pool of connections with h2c
+ * multiplexing, with and without gzip, and the pool size under the same load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpClientBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"HTTP11", "H2C"})
+    private HttpProtocol protocol;
+
+    @Param({"false", "true"})
+    private boolean compression;
+
+    @Param({"8", "64"})
+    private int maxConnections;
+
+    @Param({"256"})
+    private int concurrentRequests;
+
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+    private String uri;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] page = BenchmarkPosts.jsonArray(PAGE_SIZE);
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .compress(true)
+                .route(routes -> routes.get("/posts", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Mono.just(page))))
+                .bindNow();
+        uri = "http://localhost:" + server.port() + "/posts";
+
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.postsConnectionProvider(maxConnections, 10_000, 45_000, 30_000);
+        webClient = config.webClient(
+                config.postsHttpClient(connectionProvider, new HttpProtocol[] {protocol}, 5_000, 30_000, compression),
+                new MicrometerPostMetrics(new SimpleMeterRegistry(), MicrometerPostMetrics.Export.NONE, "metrics.txt"),
+                new ObjectMapper(), 1024 * 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionProvider.disposeLater().block();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public long concurrentPages() {
+        return Flux.range(0, concurrentRequests)
+                .flatMap(i -> webClient.get().uri(uri).retrieve().bodyToMono(byte[].class), concurrentRequests)
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,53 @@
+package com.save.posts.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+
+/**
+ * Cost of serializing a single post, the per-file step of every save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializerBenchmark {
+
+    @Param({"true", "false"})
+    private boolean prettyPrint;
+
+    private JacksonJsonAdapter jsonAdapter;
+    private Post post;
+
+    @Setup
+    public void setUp() {
+        jsonAdapter = new JacksonJsonAdapter(new ObjectMapper(), prettyPrint);
+        post = BenchmarkPosts.post(42);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return jsonAdapter.toJson(post);
+    }
+
+    @Benchmark
+    public byte[] toJsonBytes() {
+        return jsonAdapter.toJsonBytes(post);
+    }
+}
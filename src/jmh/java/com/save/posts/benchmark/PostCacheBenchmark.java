@@ -0,0 +1,194 @@
+package com.save.posts.benchmark;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.SerializedPost;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.MicrometerPostMetrics;
+import com.save.posts.infrastructure.adapter.TinyLfuPostCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The serialized post cache on 1M lookups of 100k posts, Zipf-distributed with exponent 0.9 and interrupted every
+ * 100k lookups by a scan of 20k posts that are never asked for again. The hit ratio of {@link TinyLfuPostCache}
+ * is compared to an LRU cache of the same byte bound, both printed after each iteration; get and put throughput
+ * is measured from 4 threads on the same lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PostCacheBenchmark {
+
+    private static final int POSTS = 100_000;
+    private static final int LOOKUPS = 1_000_000;
+    private static final int SCAN_EVERY = 100_000;
+    private static final int SCAN_LENGTH = 20_000;
+    private static final double ZIPF_EXPONENT = 0.9;
+
+    @Param({"4194304", "16777216"})
+    private long cacheBytes;
+
+    private SerializedPost[] posts;
+    private long[] lookups;
+    private TinyLfuPostCache sharedCache;
+    private double tinyLfuHitRatio;
+    private double lruHitRatio;
+
+    @Setup
+    public void setUp() {
+        JacksonJsonAdapter jsonAdapter = new JacksonJsonAdapter(new ObjectMapper(), false);
+        posts = new SerializedPost[POSTS + SCAN_LENGTH * (LOOKUPS / SCAN_EVERY) + 1];
+        for (int id = 1; id < posts.length; id++) {
+            byte[] json = jsonAdapter.toJsonBytes(BenchmarkPosts.post(id));
+            posts[id] = new SerializedPost(null, json, id);
+        }
+        lookups = lookups();
+        sharedCache = cache();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHitRatios() {
+        if (tinyLfuHitRatio > 0 || lruHitRatio > 0) {
+            System.out.printf("%nhit ratio: w-tinylfu=%.3f lru=%.3f%n", tinyLfuHitRatio, lruHitRatio);
+        }
+    }
+
+    @Benchmark
+    public long tinyLfuHitRatio() {
+        TinyLfuPostCache cache = cache();
+        long hits = 0;
+        for (long id : lookups) {
+            if (cache.get(id).isPresent()) {
+                hits++;
+            } else {
+                cache.put(id, posts[(int) id]);
+            }
+        }
+        tinyLfuHitRatio = (double) hits / lookups.length;
+        return hits;
+    }
+
+    @Benchmark
+    public long lruHitRatio() {
+        LruCache cache = new LruCache(cacheBytes);
+        long hits = 0;
+        for (long id : lookups) {
+            if (cache.get(id) != null) {
+                hits++;
+            } else {
+                cache.put(id, posts[(int) id]);
+            }
+        }
+        lruHitRatio = (double) hits / lookups.length;
+        return hits;
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public boolean getOrPut(Cursor cursor) {
+        long id = lookups[cursor.next()];
+        if (sharedCache.get(id).isPresent()) {
+            return true;
+        }
+        sharedCache.put(id, posts[(int) id]);
+        return false;
+    }
+
+    private TinyLfuPostCache cache() {
+        return new TinyLfuPostCache(new MicrometerPostMetrics(new SimpleMeterRegistry(),
+                MicrometerPostMetrics.Export.NONE, "metrics.txt"), cacheBytes);
+    }
+
+    /**
+     * Ids drawn by inverting the Zipf distribution over 1..{@value #POSTS}, and scans over ids past that range.
+     */
+    private static long[] lookups() {
+        double[] cumulative = new double[POSTS];
+        double sum = 0;
+        for (int rank = 1; rank <= POSTS; rank++) {
+            sum += 1 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        long[] lookups = new long[LOOKUPS + SCAN_LENGTH * (LOOKUPS / SCAN_EVERY)];
+        long nextScanId = POSTS + 1;
+        int length = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (i > 0 && i % SCAN_EVERY == 0) {
+                for (int j = 0; j < SCAN_LENGTH; j++) {
+                    lookups[length++] = nextScanId++;
+                }
+            }
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble(sum));
+            lookups[length++] = (rank >= 0 ? rank : -rank - 1) + 1;
+        }
+        return Arrays.copyOf(lookups, length);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position = new SplittableRandom().nextInt(LOOKUPS);
+
+        int next() {
+            position = position + 1 < LOOKUPS ? position + 1 : 0;
+            return position;
+        }
+    }
+
+    /**
+     * The baseline: least recently used posts are evicted, weighed like {@link TinyLfuPostCache} weighs them.
+     */
+    private static final class LruCache {
+
+        private final LinkedHashMap<Long, SerializedPost> posts = new LinkedHashMap<>(1024, 0.75f, true);
+        private final long maxBytes;
+        private long bytes;
+
+        LruCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        SerializedPost get(long id) {
+            return posts.get(id);
+        }
+
+        void put(long id, SerializedPost post) {
+            posts.put(id, post);
+            bytes += post.json().length + 96;
+            Iterator<SerializedPost> eldest = posts.values().iterator();
+            while (bytes > maxBytes) {
+                bytes -= eldest.next().json().length + 96;
+                eldest.remove();
+            }
+        }
+    }
+}
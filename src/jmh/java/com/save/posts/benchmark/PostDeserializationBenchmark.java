@@ -0,0 +1,92 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.infrastructure.adapter.StreamingJsonDecoder;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Decoding a posts array as the API returns it: in one piece with the ObjectMapper, and as a stream of
+ * {@value #CHUNK_SIZE} byte buffers through WebFlux's Jackson decoder and through the
+ * {@link StreamingJsonDecoder} the posts WebClient is configured with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PostDeserializationBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final TypeReference<List<Post>> POST_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    private int count;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Jackson2JsonDecoder decoder;
+    private StreamingJsonDecoder streamingDecoder;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = BenchmarkPosts.jsonArray(count);
+        decoder = new Jackson2JsonDecoder(objectMapper);
+        decoder.setMaxInMemorySize(-1);
+        streamingDecoder = new StreamingJsonDecoder(objectMapper, 1024 * 1024);
+    }
+
+    @Benchmark
+    public List<Post> readList() throws IOException {
+        return objectMapper.readValue(json, POST_LIST);
+    }
+
+    @Benchmark
+    public long decodeStream() {
+        return decoder.decode(chunks(), ResolvableType.forClass(Post.class), MediaType.APPLICATION_JSON, null)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public long decodeStreaming() {
+        return streamingDecoder.decode(chunks(), ResolvableType.forClass(Post.class), MediaType.APPLICATION_JSON, null)
+                .count()
+                .block();
+    }
+
+    private Flux<DataBuffer> chunks() {
+        DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        return Flux.range(0, (json.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .map(i -> (DataBuffer) bufferFactory.wrap(
+                        ByteBuffer.wrap(json, i * CHUNK_SIZE, Math.min(CHUNK_SIZE, json.length - i * CHUNK_SIZE))))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+}
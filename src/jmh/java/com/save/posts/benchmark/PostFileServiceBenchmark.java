@@ -0,0 +1,110 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.port.output.PostSaver;
+import com.save.posts.domain.service.PostFileService;
+import com.save.posts.domain.service.PostSegmentService;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.MicrometerPostMetrics;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+import com.save.posts.infrastructure.config.MetricsConfig;
+import com.save.posts.infrastructure.config.SchedulerConfig;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * End-to-end save of a whole feed through the {@code save.format} saver ({@link PostFileService} or
+ * {@link PostSegmentService}), wired by Spring with the production adapters, flat or sharded, with and without
+ * atomic writes and group commit fsync. Each invocation rewrites the same files, so only the first one pays for creating them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PostFileServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int count;
+
+    @Param({"4"})
+    private int parallelism;
+
+    @Param({"files", "segments"})
+    private String format;
+
+    @Param({"FLAT", "SHARDED"})
+    private String layout;
+
+    @Param({"false", "true"})
+    private boolean atomicWrites;
+
+    @Param({"false", "true"})
+    private boolean fsync;
+
+    private AnnotationConfigApplicationContext context;
+    private PostSaver postSaver;
+    private Path directory;
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("posts-save-bench");
+        posts = BenchmarkPosts.posts(count);
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "save.directory", directory.toString(),
+                "save.parallelism", parallelism,
+                "save.format", format,
+                "save.layout", layout,
+                "save.atomic-writes", atomicWrites,
+                "save.fsync.enabled", fsync,
+                "metrics.export", "NONE")));
+        context.registerBean(ObjectMapper.class);
+        context.register(JacksonJsonAdapter.class, NioFileSystemAdapter.class, SchedulerConfig.class,
+                MetricsConfig.class, MicrometerPostMetrics.class, PostFileService.class, PostSegmentService.class);
+        context.refresh();
+        postSaver = context.getBean(PostSaver.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        BenchmarkPosts.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void savePosts() {
+        postSaver.savePosts(posts);
+    }
+
+    @Benchmark
+    public long savePostStream() {
+        return postSaver.savePostStream(Flux.fromIterable(posts)).count().block();
+    }
+}
@@ -0,0 +1,96 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.StoredPost;
+import com.save.posts.domain.service.SegmentWriter;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.MappedFilePostReader;
+import com.save.posts.infrastructure.adapter.MappedSegmentPostReader;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+
+/**
+ * Random lookups by id in saved output: the mapped readers against reading and parsing the post file, which
+ * is what consumers of the {@code files} output do without a reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostReaderBenchmark {
+
+    @Param({"100000"})
+    private int count;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private Path filesDirectory;
+    private Path segmentsDirectory;
+    private MappedFilePostReader fileReader;
+    private MappedSegmentPostReader segmentReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        filesDirectory = Files.createTempDirectory("posts-files-read-bench");
+        segmentsDirectory = Files.createTempDirectory("posts-segments-read-bench");
+        JacksonJsonAdapter jsonAdapter = new JacksonJsonAdapter(objectMapper, true);
+        try (SegmentWriter writer = new SegmentWriter(new NioFileSystemAdapter(), segmentsDirectory,
+                256L * 1024 * 1024)) {
+            for (Post post : BenchmarkPosts.posts(count)) {
+                writer.append(post, jsonAdapter.toJsonLine(post));
+                Files.write(filesDirectory.resolve(post.id() + ".json"), jsonAdapter.toJsonBytes(post));
+            }
+        }
+        fileReader = new MappedFilePostReader(objectMapper, filesDirectory.toString());
+        segmentReader = new MappedSegmentPostReader(segmentsDirectory.toString());
+        fileReader.size();
+        segmentReader.size();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkPosts.deleteRecursively(filesDirectory);
+        BenchmarkPosts.deleteRecursively(segmentsDirectory);
+    }
+
+    @Benchmark
+    public Post readAndParseFile() throws IOException {
+        return objectMapper.readValue(Files.readAllBytes(filesDirectory.resolve(nextId() + ".json")), Post.class);
+    }
+
+    @Benchmark
+    public StoredPost mappedFile() {
+        return fileReader.findById(nextId()).orElseThrow();
+    }
+
+    @Benchmark
+    public StoredPost mappedSegment() {
+        return segmentReader.findById(nextId()).orElseThrow();
+    }
+
+    private long nextId() {
+        return random.nextLong(count) + 1;
+    }
+}
@@ -0,0 +1,103 @@
+package com.save.posts.benchmark;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+
+/**
+ * Holding {@code count} posts in a {@code HashMap<Long, Post>} against the {@link ArenaPostStore} on and off the
+ * heap. Setup prints the heap and direct memory retained per post; {@code fullGc} is the pause of a full
+ * collection with the posts reachable, which grows with the number of objects the collector has to trace, and
+ * {@code lookup} a random read by id as a {@link Post}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class PostStoreBenchmark {
+
+    public enum StoreType {
+        HASH_MAP, ARENA_HEAP, ARENA_OFF_HEAP
+    }
+
+    @Param({"1000000"})
+    private int count;
+
+    @Param({"HASH_MAP", "ARENA_HEAP", "ARENA_OFF_HEAP"})
+    private StoreType store;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private Map<Long, Post> hashMap;
+    private ArenaPostStore arenaStore;
+
+    @Setup
+    public void setUp() {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        switch (store) {
+            case HASH_MAP -> {
+                hashMap = new HashMap<>();
+                for (long id = 1; id <= count; id++) {
+                    Post post = BenchmarkPosts.post(id);
+                    hashMap.put(post.id(), post);
+                }
+            }
+            case ARENA_HEAP, ARENA_OFF_HEAP -> {
+                arenaStore = new ArenaPostStore(new ObjectMapper(), store == StoreType.ARENA_OFF_HEAP,
+                        64 * 1024 * 1024, count);
+                for (long id = 1; id <= count; id++) {
+                    arenaStore.put(BenchmarkPosts.post(id));
+                }
+            }
+        }
+        System.out.printf("%n%s: %d heap bytes and %d direct bytes per post%n", store,
+                (usedHeap() - heapBefore) / count, (usedDirect() - directBefore) / count);
+    }
+
+    @Benchmark
+    public void fullGc() {
+        System.gc();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Post lookup() {
+        long id = random.nextLong(1, count + 1);
+        return store == StoreType.HASH_MAP ? hashMap.get(id) : arenaStore.get(id).orElseThrow();
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
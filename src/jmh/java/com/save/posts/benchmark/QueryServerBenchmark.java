@@ -0,0 +1,135 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.WebFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.service.PostQueryService;
+import com.save.posts.domain.service.SegmentWriter;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.MappedSegmentPostReader;
+import com.save.posts.infrastructure.adapter.MicrometerPostMetrics;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+import com.save.posts.infrastructure.adapter.PostQueryHandler;
+import com.save.posts.infrastructure.adapter.TinyLfuPostCache;
+import com.save.posts.infrastructure.config.MetricsConfig;
+import com.save.posts.infrastructure.config.QueryServerConfig;
+import com.save.posts.infrastructure.config.SchedulerConfig;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Requests per second of the query server for random ids among 100k saved posts, with 256 requests in flight over
+ * 64 kept-alive connections, with the cache off and large enough for every post. Closing the context at the end
+ * of each trial logs the latency summary with p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryServerBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 256;
+
+    @Param({"100000"})
+    private int count;
+
+    @Param({"0", "67108864"})
+    private long cacheBytes;
+
+    private Path directory;
+    private AnnotationConfigApplicationContext context;
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private HttpClient client;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("posts-query-bench");
+        JacksonJsonAdapter jsonAdapter = new JacksonJsonAdapter(new ObjectMapper(), false);
+        try (SegmentWriter segments = new SegmentWriter(new NioFileSystemAdapter(), directory, Integer.MAX_VALUE)) {
+            for (long id = 1; id <= count; id++) {
+                segments.append(BenchmarkPosts.post(id), jsonAdapter.toJsonLine(BenchmarkPosts.post(id)));
+            }
+        }
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "save.directory", directory.toString(),
+                "save.format", "segments",
+                "serve.enabled", true,
+                "cache.enabled", cacheBytes > 0,
+                "cache.max-bytes", Math.max(cacheBytes, 1),
+                "metrics.export", "LOG")));
+        context.register(MappedSegmentPostReader.class, SchedulerConfig.class, MetricsConfig.class,
+                MicrometerPostMetrics.class, TinyLfuPostCache.class, PostQueryService.class, PostQueryHandler.class,
+                QueryServerConfig.class);
+        context.refresh();
+
+        RouterFunction<ServerResponse> routes = context.getBean(RouterFunction.class);
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .webFilter(context.getBean(WebFilter.class))
+                .build();
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes, strategies)))
+                .bindNow();
+        connectionProvider = ConnectionProvider.create("query-bench", 64);
+        client = HttpClient.create(connectionProvider).baseUrl("http://localhost:" + server.port());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.disposeNow();
+        connectionProvider.disposeLater().block();
+        context.close();
+        BenchmarkPosts.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public long randomPostsById() {
+        return Flux.range(0, CONCURRENT_REQUESTS)
+                .flatMap(i -> client.get()
+                        .uri("/posts/" + ThreadLocalRandom.current().nextLong(1, count + 1))
+                        .responseContent()
+                        .aggregate()
+                        .asByteArray(), CONCURRENT_REQUESTS)
+                .count()
+                .block();
+    }
+}
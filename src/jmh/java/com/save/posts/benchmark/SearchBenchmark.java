@@ -0,0 +1,105 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SearchHit;
+import com.save.posts.domain.port.output.PostIndex;
+import com.save.posts.infrastructure.adapter.InvertedPostIndex;
+
+/**
+ * Keyword search over 1M posts: a query through {@link InvertedPostIndex} against matching every post in memory,
+ * and the incremental merge of 1k changed posts into the index file. Setup prints the size of the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchBenchmark {
+
+    private static final String QUERY = "424242 999999";
+
+    @Param({"1000000"})
+    private int count;
+
+    private Path directory;
+    private List<Post> posts;
+    private InvertedPostIndex index;
+    private long changed;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("posts-search-bench");
+        posts = BenchmarkPosts.posts(count);
+        index = new InvertedPostIndex(100_000);
+        PostIndex.Update update = index.update(directory);
+        posts.forEach(update::add);
+        update.commit();
+        index.search(directory, QUERY, 10);
+        System.out.printf("%nindex: %d bytes%n", Files.size(directory.resolve(InvertedPostIndex.FILE_NAME)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkPosts.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchIndex() {
+        return index.search(directory, QUERY, 10);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scanPosts() {
+        long matches = 0;
+        for (Post post : posts) {
+            String text = (post.title() + " " + post.body()).toLowerCase(Locale.ROOT);
+            if (text.contains("424242") || text.contains("999999")) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Rewrites the whole file, so this is the cost of one incremental save touching few posts.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void mergeChangedPosts() throws IOException {
+        PostIndex.Update update = index.update(directory);
+        for (int i = 0; i < 1000; i++) {
+            long id = changed++ % count + 1;
+            update.add(new Post(1L, id, "changed title " + id, "changed body"));
+        }
+        update.commit();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reopen() {
+        index.search(directory, QUERY, 10);
+    }
+}
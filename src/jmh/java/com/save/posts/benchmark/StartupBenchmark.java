@@ -0,0 +1,150 @@
+package com.save.posts.benchmark;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Launches the packaged application as a fresh JVM per invocation against a local stand-in for the API serving
+ * {@value #POST_COUNT} posts, and measures the wall time until it exits and until its first post file exists.
+ * Compares the repackaged jar with the extracted jar of the {@code startup} profile, with Spring AOT and with
+ * AOT plus its AppCDS archive. Build the artifacts first with {@code mvn -Pstartup package -DskipTests}; the
+ * {@code startup.target} and {@code startup.jar} system properties point elsewhere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final int POST_COUNT = 100;
+    private static final Path TARGET = Paths.get(System.getProperty("startup.target", "target"));
+    private static final String JAR = System.getProperty("startup.jar", "posts-0.0.1-SNAPSHOT.jar");
+
+    public enum LaunchMode {
+        FAT_JAR, EXTRACTED, AOT, AOT_CDS
+    }
+
+    @Param({"FAT_JAR", "EXTRACTED", "AOT", "AOT_CDS"})
+    private LaunchMode mode;
+
+    private DisposableServer server;
+    private Path outputDirectory;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        if (!Files.exists(TARGET.resolve("cds").resolve("application.jsa"))) {
+            throw new IllegalStateException("No AppCDS archive in " + TARGET.resolve("cds")
+                    + ", build with mvn -Pstartup package -DskipTests first");
+        }
+        byte[] posts = BenchmarkPosts.jsonArray(POST_COUNT);
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/posts", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Mono.just(posts))))
+                .bindNow();
+        outputDirectory = Files.createTempDirectory("startup-benchmark");
+    }
+
+    @Setup(Level.Invocation)
+    public void cleanOutput() throws IOException {
+        BenchmarkPosts.deleteRecursively(outputDirectory);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        if (process != null) {
+            process.destroyForcibly().waitFor();
+            process = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        server.disposeNow();
+        BenchmarkPosts.deleteRecursively(outputDirectory);
+    }
+
+    @Benchmark
+    public int coldStart() throws IOException, InterruptedException {
+        process = launch();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Application exited with " + exitCode);
+        }
+        return exitCode;
+    }
+
+    @Benchmark
+    public boolean timeToFirstFile() throws IOException, InterruptedException {
+        process = launch();
+        while (!hasSavedFile()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue()
+                        + " before saving a post");
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    private Process launch() throws IOException {
+        Path extractedJar = TARGET.resolve("cds").resolve(JAR);
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        switch (mode) {
+            case FAT_JAR -> command.addAll(List.of("-jar", TARGET.resolve(JAR).toString()));
+            case EXTRACTED -> command.addAll(List.of("-jar", extractedJar.toString()));
+            case AOT -> command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", extractedJar.toString()));
+            case AOT_CDS -> command.addAll(List.of(
+                    "-XX:SharedArchiveFile=" + TARGET.resolve("cds").resolve("application.jsa"),
+                    "-Dspring.aot.enabled=true", "-jar", extractedJar.toString()));
+        }
+        command.add("--api.url=http://localhost:" + server.port() + "/posts");
+        command.add("--save.directory=" + outputDirectory);
+        command.add("--metrics.export=none");
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private boolean hasSavedFile() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(outputDirectory, "*.json")) {
+            return files.iterator().hasNext();
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+}
@@ -1,19 +1,44 @@
 package com.save.posts;
 
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import com.save.posts.domain.model.SearchHit;
+import com.save.posts.domain.port.output.PostIndex;
 import com.save.posts.domain.service.PostService;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @SpringBootApplication
 public class PostsApplication implements CommandLineRunner {
 	private final PostService postService;
+	private final ObjectProvider<PostIndex> postIndex;
+
+	@Value("${daemon.enabled:false}")
+	private boolean daemon;
+
+	@Value("${serve.enabled:false}")
+	private boolean serve;
+
+	@Value("${save.directory}")
+	private String saveDirectory;
+
+	@Value("${search.query:}")
+	private String searchQuery = "";
+
+	@Value("${search.namespace:}")
+	private String searchNamespace = "";
+
+	@Value("${search.limit:10}")
+	private int searchLimit = 10;
 
 	public static void main(String[] args) {
 		SpringApplication.run(PostsApplication.class, args);
@@ -22,6 +47,18 @@ public class PostsApplication implements CommandLineRunner {
 	@Override
 	public void run(String... args) throws Exception {
 		log.info("Starting Posts Application");
+		if (!searchQuery.isBlank()) {
+			search();
+			return;
+		}
+		if (daemon) {
+			log.info("Daemon mode enabled, runs are scheduled until shutdown");
+			return;
+		}
+		if (serve) {
+			log.info("Query server enabled, serving saved posts until shutdown");
+			return;
+		}
 		try {
 			postService.fetchAndSavePosts().block();
 			log.info("Application completed successfully");
@@ -31,4 +68,17 @@ public class PostsApplication implements CommandLineRunner {
 		}
 	}
 
+	/**
+	 * Prints the best matches of {@code search.query} as {@code id<TAB>score} lines, without fetching anything.
+	 */
+	private void search() {
+		PostIndex index = postIndex.getIfAvailable();
+		if (index == null) {
+			throw new IllegalArgumentException("search.query requires search.enabled=true");
+		}
+		for (SearchHit hit : index.search(Paths.get(saveDirectory, searchNamespace), searchQuery, searchLimit)) {
+			System.out.println(hit.id() + "\t" + hit.score());
+		}
+	}
+
 }
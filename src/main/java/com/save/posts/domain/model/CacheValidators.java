@@ -0,0 +1,13 @@
+package com.save.posts.domain.model;
+
+public record CacheValidators(
+    String etag,
+    String lastModified
+) {
+
+    public static final CacheValidators NONE = new CacheValidators(null, null);
+
+    public boolean isEmpty() {
+        return etag == null && lastModified == null;
+    }
+}
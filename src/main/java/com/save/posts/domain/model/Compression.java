@@ -0,0 +1,68 @@
+package com.save.posts.domain.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Codec applied to saved post files, with the file name extension it adds after {@code .json}.
+ */
+public enum Compression {
+    /** Plain JSON. */
+    NONE(""),
+    /** GZIP, readable with {@code gunzip}/{@code zcat}. */
+    GZIP(".gz"),
+    /** zlib stream, a few bytes smaller per file than GZIP. */
+    DEFLATE(".deflate");
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final String extension;
+
+    Compression(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Wraps {@code outputStream} so that everything written to the result is compressed at {@code level}
+     * ({@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}). Closing the result finishes the
+     * stream and closes {@code outputStream}.
+     */
+    public OutputStream compress(OutputStream outputStream, int level) throws IOException {
+        return switch (this) {
+            case NONE -> outputStream;
+            case GZIP -> new GZIPOutputStream(outputStream, BUFFER_SIZE) {
+                {
+                    def.setLevel(level);
+                }
+            };
+            case DEFLATE -> new DeflaterOutputStream(outputStream, new Deflater(level), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        };
+    }
+
+    public InputStream decompress(InputStream inputStream) throws IOException {
+        return switch (this) {
+            case NONE -> inputStream;
+            case GZIP -> new GZIPInputStream(inputStream, BUFFER_SIZE);
+            case DEFLATE -> new InflaterInputStream(inputStream);
+        };
+    }
+}
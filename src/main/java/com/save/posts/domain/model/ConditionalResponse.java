@@ -0,0 +1,14 @@
+package com.save.posts.domain.model;
+
+import reactor.core.publisher.Flux;
+
+public record ConditionalResponse<T>(
+    boolean notModified,
+    Flux<T> body,
+    CacheValidators validators
+) {
+
+    public static <T> ConditionalResponse<T> notModified(CacheValidators validators) {
+        return new ConditionalResponse<>(true, Flux.empty(), validators);
+    }
+}
@@ -0,0 +1,13 @@
+package com.save.posts.domain.model;
+
+import java.util.List;
+
+public record HttpPage<T>(
+    List<T> items,
+    String nextUri
+) {
+
+    public boolean hasNext() {
+        return nextUri != null;
+    }
+}
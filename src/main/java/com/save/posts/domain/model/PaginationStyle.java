@@ -0,0 +1,12 @@
+package com.save.posts.domain.model;
+
+public enum PaginationStyle {
+    /** Single request returning the whole collection. */
+    NONE,
+    /** {@code ?_page=n&_limit=size}, pages numbered from 1. */
+    PAGE,
+    /** {@code ?_start=offset&_end=offset+size}. */
+    RANGE,
+    /** Follows the {@code rel="next"} entry of the {@code Link} response header. */
+    LINK
+}
@@ -0,0 +1,33 @@
+package com.save.posts.domain.model;
+
+/**
+ * A field of {@link Post} as stored by the {@code columns} format, each in a file of its own.
+ */
+public enum PostColumn {
+    ID("id", false),
+    USER_ID("userId", false),
+    TITLE("title", true),
+    BODY("body", true);
+
+    /** Stored in place of a missing {@code id} or {@code userId}. */
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final String fieldName;
+    private final boolean text;
+
+    PostColumn(String fieldName, boolean text) {
+        this.fieldName = fieldName;
+        this.text = text;
+    }
+
+    public String fileName() {
+        return fieldName + ".col";
+    }
+
+    /**
+     * Whether the column holds UTF-8 strings rather than {@code long} values.
+     */
+    public boolean isText() {
+        return text;
+    }
+}
@@ -0,0 +1,23 @@
+package com.save.posts.domain.model;
+
+/**
+ * One API the posts are fetched from. Its posts are saved in the {@code name} subdirectory of the save directory;
+ * the unnamed source configured by {@code api.url} saves into the save directory itself.
+ *
+ * @param rateLimit requests per second sent to this source, unlimited when 0
+ */
+public record PostSource(
+    String name,
+    String url,
+    double rateLimit
+) {
+
+    public boolean isUnnamed() {
+        return name.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return isUnnamed() ? url : name + " (" + url + ")";
+    }
+}
@@ -0,0 +1,10 @@
+package com.save.posts.domain.model;
+
+/**
+ * A post matching a search, with its BM25 relevance; higher scores rank first.
+ */
+public record SearchHit(
+    long id,
+    double score
+) {
+}
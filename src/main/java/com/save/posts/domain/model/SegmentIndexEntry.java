@@ -0,0 +1,35 @@
+package com.save.posts.domain.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Location of one post inside a segment file. Entries are stored as fixed-width big-endian records so the
+ * index can be read sequentially or addressed by position.
+ */
+public record SegmentIndexEntry(
+    long id,
+    Long userId,
+    int segment,
+    long offset,
+    int length
+) {
+
+    public static final int BYTES = Long.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final long NO_USER = Long.MIN_VALUE;
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(id)
+                .putLong(userId != null ? userId : NO_USER)
+                .putInt(segment)
+                .putLong(offset)
+                .putInt(length);
+    }
+
+    public static SegmentIndexEntry readFrom(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long userId = buffer.getLong();
+        return new SegmentIndexEntry(id, userId != NO_USER ? userId : null, buffer.getInt(), buffer.getLong(),
+                buffer.getInt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.save.posts.domain.model;
+
+/**
+ * The JSON of a post as the {@code files} format stores it, with its content hash as the manifest records it.
+ * {@code post} is the post it was serialized from, or null when the JSON was read back from disk. The array is
+ * shared and must not be modified.
+ */
+public record SerializedPost(
+    Post post,
+    byte[] json,
+    long hash
+) {
+}
@@ -0,0 +1,14 @@
+package com.save.posts.domain.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A saved post as stored on disk. {@code json} is a read-only view of the stored bytes, usually backed by a
+ * memory mapping, and must not be retained across a new save of the same output.
+ */
+public record StoredPost(
+    long id,
+    Long userId,
+    ByteBuffer json
+) {
+}
@@ -0,0 +1,21 @@
+package com.save.posts.domain.port.output;
+
+import java.util.Optional;
+
+import com.save.posts.domain.model.CacheValidators;
+
+
+public interface FetchStateStore {
+    Optional<CacheValidators> loadValidators(String uri);
+
+    void storeValidators(String uri, CacheValidators validators);
+
+    /**
+     * Where an interrupted fetch of {@code key} can resume, if one was stored.
+     */
+    Optional<String> loadCheckpoint(String key);
+
+    void storeCheckpoint(String key, String position);
+
+    void clearCheckpoint(String key);
+}
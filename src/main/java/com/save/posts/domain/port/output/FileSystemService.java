@@ -1,12 +1,38 @@
 package com.save.posts.domain.port.output;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.List;
 
 public interface FileSystemService {
     void createDirectoriesIfNotExists(Path directoryPath) throws IOException;
 
     void writeStringToFile(Path filePath, String content) throws IOException;
 
+    void writeBytesToFile(Path filePath, byte[] content) throws IOException;
+
+    String readStringFromFile(Path filePath) throws IOException;
+
     boolean exists(Path path);
+
+    /**
+     * Opens {@code filePath} for writing from the start, creating or truncating it. The caller closes the stream.
+     */
+    OutputStream openOutputStream(Path filePath) throws IOException;
+
+    /**
+     * Renames {@code source} over {@code target} in one step, so readers see either the previous or the new
+     * file. Flush first when {@code source} was just written.
+     */
+    void rename(Path source, Path target) throws IOException;
+
+    List<Path> listFiles(Path directoryPath, String glob) throws IOException;
+
+    void deleteIfExists(Path path) throws IOException;
+
+    /**
+     * Makes every write completed so far durable and visible, where the implementation defers either.
+     */
+    void flush() throws IOException;
 }
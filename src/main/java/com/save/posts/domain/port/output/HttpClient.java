@@ -1,8 +1,31 @@
 package com.save.posts.domain.port.output;
 
+import com.save.posts.domain.model.CacheValidators;
+import com.save.posts.domain.model.ConditionalResponse;
+import com.save.posts.domain.model.HttpPage;
+
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 
 public interface HttpClient {
     <T> Flux<T> get(String uri, Class<T> responseType);
+
+    /**
+     * Fetches a single page and resolves the {@code rel="next"} link advertised in its response headers.
+     */
+    <T> Mono<HttpPage<T>> getPage(String uri, Class<T> responseType);
+
+    /**
+     * Sends {@code If-None-Match}/{@code If-Modified-Since} for the given validators and reports a
+     * {@code 304 Not Modified} instead of a body when the resource has not changed.
+     */
+    <T> Mono<ConditionalResponse<T>> getIfModified(String uri, Class<T> responseType, CacheValidators validators);
+
+    /**
+     * Whether a request that failed with {@code error} may succeed when sent again.
+     */
+    default boolean isTransient(Throwable error) {
+        return false;
+    }
 }
@@ -1,6 +1,21 @@
 package com.save.posts.domain.port.output;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 
 public interface JsonSerializer {
     String toJson(Object object);
+
+    byte[] toJsonBytes(Object object);
+
+    /**
+     * Compact single-line JSON followed by {@code '\n'}, regardless of the pretty-print setting.
+     */
+    byte[] toJsonLine(Object object);
+
+    /**
+     * Streams the UTF-8 JSON form of {@code object} into {@code outputStream}, leaving the stream open.
+     */
+    void writeJson(Object object, OutputStream outputStream) throws IOException;
 }
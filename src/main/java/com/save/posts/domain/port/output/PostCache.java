@@ -0,0 +1,20 @@
+package com.save.posts.domain.port.output;
+
+import java.util.Optional;
+
+import com.save.posts.domain.model.SerializedPost;
+
+
+public interface PostCache {
+    /**
+     * Counts as a use of {@code id} for eviction, also when it is not cached.
+     */
+    Optional<SerializedPost> get(long id);
+
+    /**
+     * Caches {@code post} under {@code id}, replacing what was cached for it, if the eviction policy admits it.
+     */
+    void put(long id, SerializedPost post);
+
+    void invalidateAll();
+}
@@ -0,0 +1,32 @@
+package com.save.posts.domain.port.output;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import com.save.posts.domain.model.PostColumn;
+
+
+public interface PostColumnReader {
+    /**
+     * Number of saved posts, from the block headers of the id column.
+     */
+    long size();
+
+    /**
+     * Passes every value of the {@code id} or {@code userId} column to {@code consumer} in save order, with
+     * {@link PostColumn#NO_VALUE} for missing values. No other column is read.
+     */
+    void scanLongs(PostColumn column, LongConsumer consumer);
+
+    /**
+     * Passes every value of the {@code title} or {@code body} column to {@code consumer} in save order, with
+     * {@code null} for missing values. No other column is read.
+     */
+    void scanText(PostColumn column, Consumer<String> consumer);
+
+    /**
+     * Number of posts per user id, posts without one left out.
+     */
+    Map<Long, Long> countByUserId();
+}
@@ -0,0 +1,34 @@
+package com.save.posts.domain.port.output;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SearchHit;
+
+
+public interface PostIndex {
+    /**
+     * Starts indexing the posts of one save into the index kept in {@code directory}.
+     */
+    Update update(Path directory);
+
+    /**
+     * Posts of the index in {@code directory} containing any term of {@code query}, best first.
+     */
+    List<SearchHit> search(Path directory, String query, int limit);
+
+    interface Update {
+        /**
+         * Indexes the title and body of {@code post}, replacing whatever was indexed for its id before.
+         * Safe to call from several writer threads.
+         */
+        void add(Post post);
+
+        /**
+         * Merges the posts added so far into the index on disk.
+         */
+        void commit() throws IOException;
+    }
+}
@@ -0,0 +1,44 @@
+package com.save.posts.domain.port.output;
+
+
+public interface PostMetrics {
+
+    enum Stage {
+        FETCH, SAVE, COMMIT
+    }
+
+    void recordFetch(long latencyNanos);
+
+    void recordBytesReceived(long bytes);
+
+    void recordPostDecoded();
+
+    void recordSerialization(long nanos);
+
+    void recordFileWrite(long nanos);
+
+    /**
+     * Size of one written post before and after compression; both are the same when nothing is compressed.
+     */
+    void recordBytesWritten(long rawBytes, long storedBytes);
+
+    void recordFailure(Stage stage);
+
+    void recordRun(long durationNanos, boolean success);
+
+    /**
+     * Time to answer one request of the query server, until its response body is written.
+     */
+    void recordQuery(String route, long latencyNanos);
+
+    void recordCacheLookup(boolean hit);
+
+    void recordCacheEvictions(long count);
+
+    /**
+     * A post dropped before saving because it repeated one already seen.
+     */
+    void recordDuplicate();
+
+    void publishSummary();
+}
@@ -0,0 +1,38 @@
+package com.save.posts.domain.port.output;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.save.posts.domain.model.StoredPost;
+
+
+public interface PostReader {
+    Optional<StoredPost> findById(long id);
+
+    /**
+     * Posts with {@code fromId <= id < toId}, ordered by id.
+     */
+    List<StoredPost> scanById(long fromId, long toId);
+
+    /**
+     * Posts with {@code fromUserId <= userId < toUserId}, ordered by user id and then id.
+     */
+    List<StoredPost> scanByUserId(long fromUserId, long toUserId);
+
+    /**
+     * Ids with {@code fromId <= id < toId} in ascending order, answered from memory without reading any post.
+     */
+    long[] ids(long fromId, long toId);
+
+    /**
+     * Ids of the posts of {@code userId} in ascending order, answered from memory without reading any post.
+     */
+    long[] idsByUserId(long userId);
+
+    int size();
+
+    /**
+     * Drops the current view of the saved output; the next read picks up the latest save.
+     */
+    void refresh();
+}
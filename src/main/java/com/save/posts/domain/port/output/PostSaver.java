@@ -4,7 +4,20 @@ import java.util.List;
 
 import com.save.posts.domain.model.Post;
 
+import reactor.core.publisher.Flux;
+
 
 public interface PostSaver {
     void savePosts(List<Post> posts);
+
+    /**
+     * Saves posts as they arrive and emits each one once it has been written.
+     */
+    Flux<Post> savePostStream(Flux<Post> posts);
+
+    /**
+     * A saver writing into the {@code namespace} subdirectory of this saver's directory; the empty namespace is
+     * this saver itself.
+     */
+    PostSaver forNamespace(String namespace);
 }
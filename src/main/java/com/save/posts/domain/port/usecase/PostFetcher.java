@@ -3,10 +3,38 @@ package com.save.posts.domain.port.usecase;
 import java.util.List;
 
 import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostSource;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 
 public interface PostFetcher {
     Mono<List<Post>> fetchPosts();
+
+    /**
+     * Emits posts one by one as they are decoded, honouring downstream demand.
+     */
+    Flux<Post> streamPosts();
+
+    /**
+     * Called once everything emitted by the last fetch has been saved, so state such as cache validators
+     * is only persisted for data that actually reached storage.
+     */
+    default Mono<Void> commit() {
+        return Mono.empty();
+    }
+
+    /**
+     * Called for every post once it has been saved, possibly from several writer threads, so progress can be
+     * checkpointed before the whole fetch completes.
+     */
+    default void acknowledge(Post post) {
+    }
+
+    /**
+     * A fetcher for {@code source} alone, with its own fetch state. Repeated calls for the same source return
+     * a fetcher sharing that state.
+     */
+    PostFetcher forSource(PostSource source);
 }
@@ -0,0 +1,83 @@
+package com.save.posts.domain.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling the upstream once {@code failureThreshold} requests in a row failed transiently, for the open
+ * duration. After that one trial request is let through: its success closes the breaker, its failure opens it
+ * again. Requests that get any answer from the upstream count as successes.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("api.circuit-breaker.failure-threshold must be positive, was "
+                    + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * @return whether a request may be sent; every permitted request must end in exactly one of
+     *         {@link #onSuccess()}, {@link #onFailure()} or {@link #onCancel()}
+     */
+    public synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;
+            case OPEN -> {
+                if (nanoClock.getAsLong() - openedAt < openNanos) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * A cancelled trial request says nothing about the upstream, so the next request becomes the trial.
+     */
+    public synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong() - openNanos;
+        }
+    }
+}
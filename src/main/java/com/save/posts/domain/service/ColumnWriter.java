@@ -0,0 +1,334 @@
+package com.save.posts.domain.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostColumn;
+import com.save.posts.domain.port.output.FileSystemService;
+
+/**
+ * Writes posts column by column, one file per {@link PostColumn}, so a scan of one field reads only that field's
+ * bytes. Rows are buffered and written in blocks of up to {@code blockRows}; each column file starts with a
+ * header and then holds the same blocks, big-endian:
+ *
+ * <pre>
+ * file:   int magic, byte version, byte column ordinal, block*
+ * block:  int rows, byte encoding, int payload bytes, payload
+ * </pre>
+ *
+ * {@code long} columns pick whichever of {@link #PLAIN} (8 bytes per row), {@link #DELTA} (first value, then
+ * zigzag varint differences, small for ascending ids) and {@link #DICTIONARY} (the distinct values, then a
+ * 1, 2 or 4 byte code per row, small for the few user ids) is smallest for the block. Text columns are
+ * {@link #LENGTHS} encoded: a varint of length + 1 per row, 0 for null, followed by all the UTF-8 bytes.
+ * <p>
+ * Columns are written to {@code .tmp} siblings and renamed over the previous column files together on
+ * {@link #close()}, so the previous export stays in place until a save is complete. A save that is
+ * {@link #abort() aborted} or has no records deletes its temporary files instead. Not thread-safe; one writer
+ * serves one save.
+ */
+public class ColumnWriter implements Closeable {
+
+    public static final int MAGIC = 0x50434F4C;
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = Integer.BYTES + 2;
+    public static final int BLOCK_HEADER_BYTES = Integer.BYTES + 1 + Integer.BYTES;
+
+    public static final byte PLAIN = 0;
+    public static final byte DELTA = 1;
+    public static final byte DICTIONARY = 2;
+    public static final byte LENGTHS = 0;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final FileSystemService fileSystemService;
+    private final Path directory;
+    private final int blockRows;
+    private final Map<PostColumn, DataOutputStream> outputs = new EnumMap<>(PostColumn.class);
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    private final DataOutputStream payloadOutput = new DataOutputStream(payload);
+
+    private final long[] ids;
+    private final long[] userIds;
+    private final byte[][] titles;
+    private final byte[][] bodies;
+    private int rows;
+    private long records;
+    private long rawBytes;
+    private long storedBytes;
+    private boolean closed;
+
+    public ColumnWriter(FileSystemService fileSystemService, Path directory, int blockRows) throws IOException {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("blockRows must be positive, was " + blockRows);
+        }
+        this.fileSystemService = fileSystemService;
+        this.directory = directory;
+        this.blockRows = blockRows;
+        this.ids = new long[blockRows];
+        this.userIds = new long[blockRows];
+        this.titles = new byte[blockRows][];
+        this.bodies = new byte[blockRows][];
+        try {
+            for (PostColumn column : PostColumn.values()) {
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                        fileSystemService.openOutputStream(tempPath(directory, column)), BUFFER_SIZE));
+                outputs.put(column, output);
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeByte(column.ordinal());
+                storedBytes += HEADER_BYTES;
+            }
+        } catch (IOException e) {
+            abortQuietly(e);
+            throw e;
+        }
+    }
+
+    public static Path columnPath(Path directory, PostColumn column) {
+        return directory.resolve(column.fileName());
+    }
+
+    private static Path tempPath(Path directory, PostColumn column) {
+        return directory.resolve(column.fileName() + TEMP_SUFFIX);
+    }
+
+    public void append(Post post) throws IOException {
+        ids[rows] = post.id() != null ? post.id() : PostColumn.NO_VALUE;
+        userIds[rows] = post.userId() != null ? post.userId() : PostColumn.NO_VALUE;
+        titles[rows] = utf8(post.title());
+        bodies[rows] = utf8(post.body());
+        rawBytes += 2 * Long.BYTES + 2 * Integer.BYTES + length(titles[rows]) + length(bodies[rows]);
+        if (++rows == blockRows) {
+            flushBlock();
+        }
+        records++;
+    }
+
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Bytes the posts take as fixed-width longs and length-prefixed strings, before encoding.
+     */
+    public long rawBytes() {
+        return rawBytes;
+    }
+
+    /**
+     * Bytes written to the column files, headers included.
+     */
+    public long storedBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Writes the last partial block and closes every column file, commits them through
+     * {@link FileSystemService#flush()} and renames them over the previous column files. A save without records
+     * is aborted instead, so an empty run never replaces the previous export.
+     */
+    @Override
+    public void close() throws IOException {
+        if (records == 0) {
+            abort();
+            return;
+        }
+        if (closed) {
+            return;
+        }
+        try {
+            if (rows > 0) {
+                flushBlock();
+            }
+        } catch (IOException e) {
+            abortQuietly(e);
+            throw e;
+        }
+        closed = true;
+        closeOutputs();
+        fileSystemService.flush();
+        for (PostColumn column : PostColumn.values()) {
+            fileSystemService.rename(tempPath(directory, column), columnPath(directory, column));
+        }
+    }
+
+    /**
+     * Discards the save after a failure or cancellation: its temporary column files are deleted and the
+     * previous export stays in place. Does nothing once the writer is closed.
+     */
+    public void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            closeOutputs();
+        } finally {
+            fileSystemService.flush();
+            for (PostColumn column : PostColumn.values()) {
+                fileSystemService.deleteIfExists(tempPath(directory, column));
+            }
+        }
+    }
+
+    private void abortQuietly(IOException failure) {
+        try {
+            abort();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        writeBlock(PostColumn.ID, encodeLongs(ids));
+        writeBlock(PostColumn.USER_ID, encodeLongs(userIds));
+        writeBlock(PostColumn.TITLE, encodeText(titles));
+        writeBlock(PostColumn.BODY, encodeText(bodies));
+        Arrays.fill(titles, 0, rows, null);
+        Arrays.fill(bodies, 0, rows, null);
+        rows = 0;
+    }
+
+    private void writeBlock(PostColumn column, byte encoding) throws IOException {
+        DataOutputStream output = outputs.get(column);
+        output.writeInt(rows);
+        output.writeByte(encoding);
+        output.writeInt(payload.size());
+        payload.writeTo(output);
+        storedBytes += BLOCK_HEADER_BYTES + payload.size();
+    }
+
+    private byte encodeLongs(long[] values) throws IOException {
+        long deltaBytes = Long.BYTES;
+        for (int i = 1; i < rows; i++) {
+            deltaBytes += varintBytes(zigzag(values[i] - values[i - 1]));
+        }
+        Map<Long, Integer> dictionary = dictionary(values, rows / 2);
+        long dictionaryBytes = dictionary == null ? Long.MAX_VALUE
+                : Integer.BYTES + (long) dictionary.size() * Long.BYTES + 1 + (long) rows * codeWidth(dictionary);
+        long plainBytes = (long) rows * Long.BYTES;
+
+        payload.reset();
+        if (dictionaryBytes < plainBytes && dictionaryBytes <= deltaBytes) {
+            long[] distinct = new long[dictionary.size()];
+            dictionary.forEach((value, code) -> distinct[code] = value);
+            payloadOutput.writeInt(distinct.length);
+            for (long value : distinct) {
+                payloadOutput.writeLong(value);
+            }
+            int width = codeWidth(dictionary);
+            payloadOutput.writeByte(width);
+            for (int i = 0; i < rows; i++) {
+                int code = dictionary.get(values[i]);
+                switch (width) {
+                    case 1 -> payloadOutput.writeByte(code);
+                    case 2 -> payloadOutput.writeShort(code);
+                    default -> payloadOutput.writeInt(code);
+                }
+            }
+            return DICTIONARY;
+        }
+        if (deltaBytes < plainBytes) {
+            payloadOutput.writeLong(values[0]);
+            for (int i = 1; i < rows; i++) {
+                writeVarint(zigzag(values[i] - values[i - 1]));
+            }
+            return DELTA;
+        }
+        for (int i = 0; i < rows; i++) {
+            payloadOutput.writeLong(values[i]);
+        }
+        return PLAIN;
+    }
+
+    private byte encodeText(byte[][] values) throws IOException {
+        payload.reset();
+        for (int i = 0; i < rows; i++) {
+            writeVarint(values[i] == null ? 0 : values[i].length + 1L);
+        }
+        for (int i = 0; i < rows; i++) {
+            if (values[i] != null) {
+                payloadOutput.write(values[i]);
+            }
+        }
+        return LENGTHS;
+    }
+
+    /**
+     * Codes in order of first appearance, or {@code null} once there are more than {@code limit} distinct values.
+     */
+    private Map<Long, Integer> dictionary(long[] values, int limit) {
+        Map<Long, Integer> dictionary = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            dictionary.putIfAbsent(values[i], dictionary.size());
+            if (dictionary.size() > limit) {
+                return null;
+            }
+        }
+        return dictionary;
+    }
+
+    private static int codeWidth(Map<Long, Integer> dictionary) {
+        int size = dictionary.size();
+        return size <= 1 << 8 ? 1 : size <= 1 << 16 ? 2 : 4;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            payloadOutput.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        payloadOutput.writeByte((int) value);
+    }
+
+    private static int varintBytes(long value) {
+        int bytes = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private void closeOutputs() throws IOException {
+        IOException failure = null;
+        for (OutputStream output : outputs.values()) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
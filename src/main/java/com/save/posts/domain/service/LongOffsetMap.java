@@ -0,0 +1,159 @@
+package com.save.posts.domain.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from a primitive {@code long} key to a non-negative {@code long} offset, with linear probing
+ * in two parallel arrays. No entry or boxed key is allocated per mapping, so millions of mappings cost two
+ * arrays of at most twice their number of slots. {@link Long#MIN_VALUE} marks a free slot; that key itself is
+ * kept aside. Not thread-safe.
+ */
+public final class LongOffsetMap {
+
+    public static final long MISSING = -1;
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final double LOAD_FACTOR = 0.5;
+
+    private long[] keys;
+    private long[] offsets;
+    private int size;
+    private int resizeAt;
+    private long minKeyOffset = MISSING;
+
+    public LongOffsetMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative, was " + expectedSize);
+        }
+        int slots = (int) Math.min(1 << 29, (long) (expectedSize / LOAD_FACTOR));
+        allocate(Math.max(16, Integer.highestOneBit(slots) << 1));
+    }
+
+    /**
+     * @return the offset of {@code key}, or {@link #MISSING}
+     */
+    public long get(long key) {
+        if (key == FREE) {
+            return minKeyOffset;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return offsets[slot];
+            }
+            if (current == FREE) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * @return the previous offset of {@code key}, or {@link #MISSING}
+     */
+    public long put(long key, long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative, was " + offset);
+        }
+        if (key == FREE) {
+            long previous = minKeyOffset;
+            minKeyOffset = offset;
+            if (previous == MISSING) {
+                size++;
+            }
+            return previous;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                long previous = offsets[slot];
+                offsets[slot] = offset;
+                return previous;
+            }
+            if (current == FREE) {
+                keys[slot] = key;
+                offsets[slot] = offset;
+                if (++size > resizeAt) {
+                    grow();
+                }
+                return MISSING;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calls {@code action} with every mapping, in no particular order.
+     */
+    public void forEach(EntryConsumer action) {
+        if (minKeyOffset != MISSING) {
+            action.accept(FREE, minKeyOffset);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                action.accept(keys[slot], offsets[slot]);
+            }
+        }
+    }
+
+    /**
+     * Bytes held by the slot arrays.
+     */
+    public long capacityBytes() {
+        return 2L * Long.BYTES * keys.length;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long offset);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldOffsets = offsets;
+        allocate(oldKeys.length << 1);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != FREE) {
+                int slot = slot(key, mask);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                offsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        offsets = new long[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Ids are mostly sequential, so the key is mixed before it picks a slot.
+     */
+    private static int slot(long key, int mask) {
+        return (int) mix(key) & mask;
+    }
+
+    /**
+     * The murmur3 finalizer: spreads every bit of {@code key} over the whole result.
+     */
+    public static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,72 @@
+package com.save.posts.domain.service;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.save.posts.domain.model.Post;
+
+/**
+ * Tracks which fetched pages have been saved completely. Pages are numbered in request order from 0; once a
+ * page and every page before it have all their posts acknowledged, the position of the page after it becomes
+ * the new checkpoint, from which a later run can resume. Posts are matched to their page by identity, since
+ * savers emit the instances they were given.
+ */
+public class PageCheckpoint {
+
+    private final Map<Post, Integer> pageOfPost = new IdentityHashMap<>();
+    private final TreeMap<Integer, Page> pages = new TreeMap<>();
+    private int firstIncomplete;
+
+    /**
+     * Registers a fetched page before its posts are emitted.
+     *
+     * @param nextPosition where to resume once this page is saved, {@code null} after the last page
+     * @return the new checkpoint, when this page completed the prefix of saved pages
+     */
+    public synchronized Optional<String> register(int page, List<Post> posts, String nextPosition) {
+        pages.put(page, new Page(posts.size(), nextPosition));
+        for (Post post : posts) {
+            pageOfPost.put(post, page);
+        }
+        return advance();
+    }
+
+    /**
+     * @return the new checkpoint, when this post completed the prefix of saved pages
+     */
+    public synchronized Optional<String> acknowledge(Post post) {
+        Integer page = pageOfPost.remove(post);
+        if (page == null) {
+            return Optional.empty();
+        }
+        pages.get(page).remaining--;
+        return advance();
+    }
+
+    private Optional<String> advance() {
+        String checkpoint = null;
+        boolean advanced = false;
+        Page page;
+        while ((page = pages.get(firstIncomplete)) != null && page.remaining == 0) {
+            pages.remove(firstIncomplete);
+            firstIncomplete++;
+            checkpoint = page.nextPosition;
+            advanced = true;
+        }
+        return advanced && checkpoint != null ? Optional.of(checkpoint) : Optional.empty();
+    }
+
+    private static final class Page {
+
+        private int remaining;
+        private final String nextPosition;
+
+        Page(int remaining, String nextPosition) {
+            this.remaining = remaining;
+            this.nextPosition = nextPosition;
+        }
+    }
+}
@@ -1,18 +1,38 @@
 package com.save.posts.domain.service;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.save.posts.domain.model.CacheValidators;
+import com.save.posts.domain.model.HttpPage;
+import com.save.posts.domain.model.PaginationStyle;
 import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostSource;
+import com.save.posts.domain.port.output.FetchStateStore;
 import com.save.posts.domain.port.output.HttpClient;
+import com.save.posts.domain.port.output.PostMetrics;
 import com.save.posts.domain.port.usecase.PostFetcher;
+import com.save.posts.infrastructure.exception.CircuitOpenException;
 import com.save.posts.infrastructure.exception.PostProcessingException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,18 +40,383 @@ import reactor.core.publisher.Mono;
 public class PostApiService implements PostFetcher {
 
     private final HttpClient httpClient;
+    private final FetchStateStore fetchStateStore;
+    private final PostMetrics postMetrics;
+    private final Map<PostSource, SourceFetcher> sourceFetchers = new ConcurrentHashMap<>();
 
-    @Value("${api.url}")
+    @Value("${api.url:}")
     private String apiUrl;
 
+    @Value("${api.rate-limit:0}")
+    private double rateLimit;
+
+    @Value("${api.pagination.style:none}")
+    private PaginationStyle paginationStyle = PaginationStyle.NONE;
+
+    @Value("${api.pagination.page-size:100}")
+    private int pageSize = 100;
+
+    @Value("${api.pagination.concurrency:4}")
+    private int pageConcurrency = 4;
+
+    @Value("${api.pagination.ordered:true}")
+    private boolean ordered = true;
+
+    @Value("${api.pagination.max-pages:100000}")
+    private int maxPages = 100_000;
+
+    @Value("${api.conditional-requests:false}")
+    private boolean conditionalRequests;
+
+    @Value("${api.retry.max-retries:3}")
+    private int maxRetries = 3;
+
+    @Value("${api.retry.min-backoff-ms:200}")
+    private long minBackoffMs = 200;
+
+    @Value("${api.retry.max-backoff-ms:10000}")
+    private long maxBackoffMs = 10_000;
+
+    @Value("${api.retry.jitter:0.5}")
+    private double jitter = 0.5;
+
+    @Value("${api.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold = 5;
+
+    @Value("${api.circuit-breaker.open-ms:30000}")
+    private long openMs = 30_000;
+
+    @Value("${api.resume:false}")
+    private boolean resume;
+
     @Override
     public Mono<List<Post>> fetchPosts() {
-        log.info("Fetching posts from: {}", apiUrl);
+        return defaultFetcher().fetchPosts();
+    }
+
+    @Override
+    public Flux<Post> streamPosts() {
+        return defaultFetcher().streamPosts();
+    }
+
+    @Override
+    public Mono<Void> commit() {
+        return defaultFetcher().commit();
+    }
+
+    @Override
+    public void acknowledge(Post post) {
+        defaultFetcher().acknowledge(post);
+    }
+
+    /**
+     * Sources share the HTTP client and its connection pool, while validators, checkpoints, the circuit breaker
+     * and the rate limit are kept per source.
+     */
+    @Override
+    public PostFetcher forSource(PostSource source) {
+        return sourceFetchers.computeIfAbsent(source, SourceFetcher::new);
+    }
+
+    private PostFetcher defaultFetcher() {
+        return forSource(new PostSource("", apiUrl, rateLimit));
+    }
+
+    private Flux<Post> posts(SourceFetcher source) {
+        return pagedPosts(source).doOnNext(post -> postMetrics.recordPostDecoded());
+    }
+
+    private Flux<Post> pagedPosts(SourceFetcher source) {
+        String url = source.url();
+        return switch (paginationStyle) {
+            case NONE -> conditionalRequests ? conditionalPosts(source) : unpagedPosts(source);
+            case PAGE -> numberedPages(source, page -> withQuery(url, "_page=" + (page + 1) + "&_limit=" + pageSize));
+            case RANGE -> numberedPages(source, page -> {
+                long start = (long) page * pageSize;
+                return withQuery(url, "_start=" + start + "&_end=" + (start + pageSize));
+            });
+            case LINK -> linkedPages(source);
+        };
+    }
+
+    /**
+     * A failed response is only requested again if none of its posts were emitted yet, since they cannot be
+     * taken back.
+     */
+    private Flux<Post> unpagedPosts(SourceFetcher source) {
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return guarded(source, () -> httpClient.get(source.url(), Post.class))
+                    .doOnNext(post -> emitted.set(true))
+                    .retryWhen(retry(source.url(), error -> !emitted.get()));
+        });
+    }
+
+    /**
+     * Revalidates the collection with the validators of the last committed fetch. A {@code 304} completes
+     * the stream without emitting anything; new validators are held back until {@link #commit()}. Validators
+     * held back by an earlier fetch that was never committed are dropped, since its posts may not have been saved.
+     */
+    private Flux<Post> conditionalPosts(SourceFetcher source) {
+        return Flux.defer(() -> {
+            String url = source.url();
+            source.pendingValidators.set(null);
+            CacheValidators known = fetchStateStore.loadValidators(url).orElse(CacheValidators.NONE);
+            return guarded(source, () -> httpClient.getIfModified(url, Post.class, known).flux())
+                    .next()
+                    .retryWhen(retry(url, error -> true))
+                    .flatMapMany(response -> {
+                        if (response.notModified()) {
+                            log.info("Posts at {} not modified since last fetch", url);
+                            return Flux.empty();
+                        }
+                        source.pendingValidators.set(response.validators());
+                        return response.body();
+                    });
+        });
+    }
+
+    /**
+     * Requests up to {@code api.pagination.concurrency} pages at a time. The total is unknown up front, so
+     * no new page is requested once any page comes back short; pages already in flight still complete.
+     * A page is retried as a whole, so a failed attempt never emits part of it.
+     */
+    private Flux<Post> numberedPages(SourceFetcher source, IntFunction<String> pageUri) {
+        return Flux.defer(() -> {
+            int firstPage = resumePosition(source).map(position -> parsePage(source, position)).orElse(0);
+            PageCheckpoint checkpoint = startCheckpoint(source);
+            AtomicBoolean exhausted = new AtomicBoolean();
+            Function<Integer, Mono<List<Post>>> fetchPage = page -> {
+                String uri = pageUri.apply(page);
+                return guarded(source, () -> httpClient.get(uri, Post.class))
+                        .collectList()
+                        .retryWhen(retry(uri, error -> true))
+                        .doOnNext(posts -> {
+                            log.debug("Fetched page {} with {} posts", page, posts.size());
+                            if (posts.size() < pageSize) {
+                                exhausted.set(true);
+                            }
+                            if (checkpoint != null) {
+                                checkpoint.register(page - firstPage, posts, Integer.toString(page + 1))
+                                        .ifPresent(position -> storeCheckpoint(source, position));
+                            }
+                        });
+            };
+
+            Flux<Integer> pages = Flux.range(firstPage, Math.max(0, maxPages - firstPage))
+                    .takeWhile(page -> !exhausted.get());
+            Flux<List<Post>> results = ordered
+                    ? pages.flatMapSequential(fetchPage, pageConcurrency)
+                    : pages.flatMap(fetchPage, pageConcurrency);
+            return results.flatMapIterable(Function.identity());
+        });
+    }
+
+    private Flux<Post> linkedPages(SourceFetcher source) {
+        return Flux.defer(() -> {
+            String firstUri = resumePosition(source).orElse(source.url());
+            PageCheckpoint checkpoint = startCheckpoint(source);
+            int[] pageNumber = {0};
+            return linkedPage(source, firstUri)
+                    .expand(page -> page.hasNext() ? linkedPage(source, page.nextUri()) : Mono.empty())
+                    .take(maxPages)
+                    .doOnNext(page -> {
+                        if (checkpoint != null) {
+                            checkpoint.register(pageNumber[0]++, page.items(), page.nextUri())
+                                    .ifPresent(position -> storeCheckpoint(source, position));
+                        }
+                    })
+                    .flatMapIterable(HttpPage::items);
+        });
+    }
+
+    private Mono<HttpPage<Post>> linkedPage(SourceFetcher source, String uri) {
+        return guarded(source, () -> httpClient.getPage(uri, Post.class).flux())
+                .next()
+                .retryWhen(retry(uri, error -> true));
+    }
+
+    /**
+     * Sends a new request on every subscription, once the source's rate limit allows it and through its circuit
+     * breaker. The breaker counts transient failures only; any other outcome shows the upstream is answering.
+     */
+    private <T> Flux<T> guarded(SourceFetcher source, Supplier<Flux<T>> request) {
+        return Flux.defer(() -> {
+            Duration wait = source.rateLimiter.reserve();
+            Flux<T> call = Flux.defer(() -> send(source, request));
+            return wait.isZero() ? call : Mono.delay(wait).thenMany(call);
+        });
+    }
+
+    private <T> Flux<T> send(SourceFetcher source, Supplier<Flux<T>> request) {
+        CircuitBreaker breaker = source.circuitBreaker;
+        if (!breaker.tryAcquire()) {
+            return Flux.error(new CircuitOpenException("Circuit open after repeated failures of " + source.url()));
+        }
+        AtomicBoolean settled = new AtomicBoolean();
+        return request.get()
+                .doOnNext(item -> {
+                    if (settled.compareAndSet(false, true)) {
+                        breaker.onSuccess();
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (settled.compareAndSet(false, true)) {
+                        breaker.onSuccess();
+                    }
+                })
+                .doOnError(error -> {
+                    settled.set(true);
+                    if (httpClient.isTransient(error)) {
+                        breaker.onFailure();
+                    } else {
+                        breaker.onSuccess();
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (settled.compareAndSet(false, true)) {
+                        breaker.onCancel();
+                    }
+                });
+    }
+
+    /**
+     * Exponential backoff with jitter for transient errors of {@code uri}. An open circuit is not retried.
+     */
+    private Retry retry(String uri, Predicate<Throwable> retryable) {
+        return Retry.backoff(maxRetries, Duration.ofMillis(minBackoffMs))
+                .maxBackoff(Duration.ofMillis(maxBackoffMs))
+                .jitter(jitter)
+                .filter(error -> httpClient.isTransient(error) && retryable.test(error))
+                .doBeforeRetry(signal -> log.warn("Retrying {} after attempt {} failed: {}", uri,
+                        signal.totalRetries() + 1, signal.failure().toString()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private Optional<String> resumePosition(SourceFetcher source) {
+        if (!resume) {
+            return Optional.empty();
+        }
+        Optional<String> position = fetchStateStore.loadCheckpoint(checkpointKey(source));
+        position.ifPresent(value -> log.info("Resuming fetch of {} at {}", source.url(), value));
+        return position;
+    }
+
+    private PageCheckpoint startCheckpoint(SourceFetcher source) {
+        if (!resume) {
+            return null;
+        }
+        PageCheckpoint checkpoint = new PageCheckpoint();
+        source.pageCheckpoint = checkpoint;
+        return checkpoint;
+    }
+
+    private void storeCheckpoint(SourceFetcher source, String position) {
+        fetchStateStore.storeCheckpoint(checkpointKey(source), position);
+        log.debug("Checkpointed fetch of {} at {}", source.url(), position);
+    }
+
+    /**
+     * Positions are page numbers or page URIs depending on the style, so each style keeps its own checkpoint.
+     */
+    private String checkpointKey(SourceFetcher source) {
+        return source.url() + "#" + paginationStyle.name().toLowerCase(Locale.ROOT);
+    }
+
+    private int parsePage(SourceFetcher source, String position) {
+        try {
+            return Math.max(0, Integer.parseInt(position));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring unreadable checkpoint {} for {}", position, source.url());
+            return 0;
+        }
+    }
+
+    private static String withQuery(String url, String query) {
+        return url + (url.contains("?") ? "&" : "?") + query;
+    }
+
+    /**
+     * Fetches one source and holds the state of its fetches between runs.
+     */
+    private final class SourceFetcher implements PostFetcher {
+
+        private final PostSource source;
+        private final AtomicReference<CacheValidators> pendingValidators = new AtomicReference<>();
+        private final CircuitBreaker circuitBreaker;
+        private final RateLimiter rateLimiter;
+        private volatile PageCheckpoint pageCheckpoint;
+
+        SourceFetcher(PostSource source) {
+            if (source.url() == null || source.url().isBlank()) {
+                throw new IllegalArgumentException("No URL configured for posts source " + source);
+            }
+            this.source = source;
+            this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openMs));
+            this.rateLimiter = new RateLimiter(source.rateLimit());
+        }
+
+        String url() {
+            return source.url();
+        }
+
+        @Override
+        public Mono<List<Post>> fetchPosts() {
+            log.info("Fetching posts from: {}", source);
+
+            return posts(this)
+                    .collectList()
+                    .doOnNext(posts -> log.info("Fetched {} posts from {}", posts.size(), source))
+                    .doOnError(error -> {
+                        log.error("Error fetching posts from {}", source, error);
+                        postMetrics.recordFailure(PostMetrics.Stage.FETCH);
+                    })
+                    .onErrorMap(throwable -> new PostProcessingException("Failed to fetch posts from API",
+                            throwable));
+        }
+
+        @Override
+        public Flux<Post> streamPosts() {
+            log.info("Streaming posts from: {}", source);
+
+            return posts(this)
+                    .doOnError(error -> {
+                        log.error("Error streaming posts from {}", source, error);
+                        postMetrics.recordFailure(PostMetrics.Stage.FETCH);
+                    })
+                    .onErrorMap(throwable -> new PostProcessingException("Failed to fetch posts from API",
+                            throwable));
+        }
+
+        /**
+         * The whole collection reached storage, so the next run starts from the first page again.
+         */
+        @Override
+        public Mono<Void> commit() {
+            return Mono.fromRunnable(() -> {
+                CacheValidators validators = pendingValidators.getAndSet(null);
+                if (validators != null && !validators.isEmpty()) {
+                    fetchStateStore.storeValidators(url(), validators);
+                    log.debug("Stored cache validators {} for {}", validators, url());
+                }
+                if (pageCheckpoint != null) {
+                    pageCheckpoint = null;
+                    fetchStateStore.clearCheckpoint(checkpointKey(this));
+                }
+            });
+        }
+
+        @Override
+        public void acknowledge(Post post) {
+            PageCheckpoint checkpoint = pageCheckpoint;
+            if (checkpoint != null) {
+                checkpoint.acknowledge(post).ifPresent(position -> storeCheckpoint(this, position));
+            }
+        }
 
-        return httpClient.get(apiUrl, Post.class)
-                .collectList()
-                .doOnNext(posts -> log.info("Fetched {} posts from API", posts.size()))
-                .doOnError(error -> log.error("Error fetching posts from API", error))
-                .onErrorMap(throwable -> new PostProcessingException("Failed to fetch posts from API", throwable));
+        @Override
+        public PostFetcher forSource(PostSource other) {
+            return PostApiService.this.forSource(other);
+        }
     }
 }
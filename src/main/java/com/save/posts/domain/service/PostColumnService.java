@@ -0,0 +1,211 @@
+package com.save.posts.domain.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.port.output.FileSystemService;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.domain.port.output.PostSaver;
+import com.save.posts.infrastructure.exception.PostProcessingException;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Saves posts into one binary file per field for analytics, through {@link ColumnWriter}. Each save that
+ * completes with at least one post replaces the previous column files; a save that fails, is cancelled or
+ * receives no posts leaves them in place.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "save.format", havingValue = "columns")
+public class PostColumnService implements PostSaver {
+
+    private final FileSystemService fileSystemService;
+    private final Scheduler postWriteScheduler;
+    private final PostMetrics postMetrics;
+
+    @Value("${save.directory}")
+    private String saveDirectory;
+
+    @Value("${save.columns.block-rows:65536}")
+    private int blockRows = 65536;
+
+    /**
+     * A resumed fetch only delivers the pages after its checkpoint, and every save replaces the previous
+     * column files, so {@code api.resume} would lose the posts saved before the failure.
+     */
+    public PostColumnService(FileSystemService fileSystemService, Scheduler postWriteScheduler,
+            PostMetrics postMetrics, @Value("${api.resume:false}") boolean resume) {
+        if (resume) {
+            throw new IllegalArgumentException("api.resume requires save.format=files, "
+                    + "since the columns format replaces the previous output on every run");
+        }
+        this.fileSystemService = fileSystemService;
+        this.postWriteScheduler = postWriteScheduler;
+        this.postMetrics = postMetrics;
+    }
+
+    @Override
+    public void savePosts(List<Post> posts) {
+        savePosts(Paths.get(saveDirectory), posts);
+    }
+
+    @Override
+    public Flux<Post> savePostStream(Flux<Post> posts) {
+        return savePostStream(Paths.get(saveDirectory), posts);
+    }
+
+    /**
+     * Each namespace keeps its own column files, replaced on every save of that namespace only.
+     */
+    @Override
+    public PostSaver forNamespace(String namespace) {
+        return namespace.isEmpty() ? this : new NamespaceSaver(namespace);
+    }
+
+    private void savePosts(Path directory, List<Post> posts) {
+        try {
+            ColumnWriter writer = openWriter(directory);
+            try {
+                for (Post post : posts) {
+                    append(writer, post);
+                }
+            } catch (Exception e) {
+                abortWriter(writer, e);
+                throw e;
+            }
+            writer.close();
+            logSaved(writer, directory);
+        } catch (Exception e) {
+            throw toProcessingException(e);
+        }
+    }
+
+    /**
+     * Rows are appended one at a time on the post writer scheduler in arrival order. The writer is closed,
+     * writing the last block and publishing the columns, when the stream completes, and aborted when it fails
+     * or is cancelled.
+     */
+    private Flux<Post> savePostStream(Path directory, Flux<Post> posts) {
+        return Flux.usingWhen(
+                Mono.fromCallable(() -> openWriter(directory))
+                        .subscribeOn(postWriteScheduler)
+                        .onErrorMap(this::toProcessingException),
+                writer -> posts
+                        .publishOn(postWriteScheduler)
+                        .handle((Post post, SynchronousSink<Post> sink) -> {
+                            try {
+                                append(writer, post);
+                                sink.next(post);
+                            } catch (Exception e) {
+                                sink.error(toProcessingException(e));
+                            }
+                        }),
+                writer -> closeWriter(writer)
+                        .then(Mono.fromRunnable(() -> logSaved(writer, directory))),
+                (writer, error) -> abortWriter(writer),
+                this::abortWriter);
+    }
+
+    private ColumnWriter openWriter(Path directory) throws IOException {
+        if (!fileSystemService.exists(directory)) {
+            fileSystemService.createDirectoriesIfNotExists(directory);
+            log.info("Created directory: {}", directory);
+        }
+        return new ColumnWriter(fileSystemService, directory, blockRows);
+    }
+
+    private Mono<Void> closeWriter(ColumnWriter writer) {
+        return Mono.fromCallable(() -> {
+                    writer.close();
+                    return writer;
+                })
+                .onErrorMap(this::toProcessingException)
+                .then();
+    }
+
+    private Mono<Void> abortWriter(ColumnWriter writer) {
+        return Mono.fromCallable(() -> {
+                    writer.abort();
+                    return writer;
+                })
+                .onErrorMap(this::toProcessingException)
+                .then();
+    }
+
+    private static void abortWriter(ColumnWriter writer, Exception failure) {
+        try {
+            writer.abort();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Every {@code save.columns.block-rows}th append encodes and writes a block, so the time of an append
+     * includes its share of the block writes.
+     */
+    private void append(ColumnWriter writer, Post post) throws IOException {
+        long start = System.nanoTime();
+        writer.append(post);
+        postMetrics.recordSerialization(System.nanoTime() - start);
+    }
+
+    /**
+     * Bytes are recorded once the writer is closed and its last block written.
+     */
+    private void logSaved(ColumnWriter writer, Path directory) {
+        if (writer.records() == 0) {
+            log.info("No posts to save, keeping the previous columns in directory: {}", directory);
+            return;
+        }
+        postMetrics.recordBytesWritten(writer.rawBytes(), writer.storedBytes());
+        log.info("Successfully saved {} posts in columns ({} bytes) to directory: {}", writer.records(),
+                writer.storedBytes(), directory);
+    }
+
+    private PostProcessingException toProcessingException(Throwable throwable) {
+        postMetrics.recordFailure(PostMetrics.Stage.SAVE);
+        if (throwable instanceof IOException) {
+            log.error("IO error saving posts", throwable);
+            return new PostProcessingException("Failed to save posts due to IO error", throwable);
+        }
+        log.error("Unexpected error saving posts", throwable);
+        return new PostProcessingException("Failed to save posts", throwable);
+    }
+
+    private final class NamespaceSaver implements PostSaver {
+
+        private final String namespace;
+
+        NamespaceSaver(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void savePosts(List<Post> posts) {
+            PostColumnService.this.savePosts(Paths.get(saveDirectory, namespace), posts);
+        }
+
+        @Override
+        public Flux<Post> savePostStream(Flux<Post> posts) {
+            return PostColumnService.this.savePostStream(Paths.get(saveDirectory, namespace), posts);
+        }
+
+        @Override
+        public PostSaver forNamespace(String child) {
+            return child.isEmpty() ? this : PostColumnService.this.forNamespace(namespace + "/" + child);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.save.posts.domain.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.port.output.PostMetrics;
+
+
+/**
+ * Drops posts that arrive more than once, from overlapping pages, retried requests or, with {@code dedup.scope}
+ * set to {@code RUN}, mirrored sources, before they are serialized and written. Posts are keyed by id; posts
+ * without an id are never dropped.
+ * <p>
+ * With {@code dedup.policy} {@code FIRST} a post is dropped when its id was seen before, so the first version
+ * is saved. With {@code LAST} it is only dropped when its content equals the last version seen of its id, so
+ * every change is written and the last version ends up saved. Seen ids are kept in a {@link LongOffsetMap} from
+ * id to content hash, or with {@code dedup.filter} {@code BLOOM} in a Bloom filter of fixed size for streams too
+ * large to keep every id, at the cost of dropping about {@code dedup.bloom.fpp} of the posts that were not
+ * duplicates. A Bloom filter cannot tell a changed version from a false positive, so it is only allowed with
+ * {@code FIRST}.
+ */
+@Service
+@ConditionalOnProperty(name = "dedup.enabled", havingValue = "true")
+public class PostDeduplicator {
+
+    public enum Policy {
+        FIRST, LAST
+    }
+
+    public enum Scope {
+        SOURCE, RUN
+    }
+
+    public enum Filter {
+        EXACT, BLOOM
+    }
+
+    private final PostMetrics postMetrics;
+    private final Policy policy;
+    private final Scope scope;
+    private final Filter filter;
+    private final long expectedPosts;
+    private final double falsePositiveRate;
+
+    public PostDeduplicator(PostMetrics postMetrics,
+            @Value("${dedup.policy:FIRST}") Policy policy,
+            @Value("${dedup.scope:SOURCE}") Scope scope,
+            @Value("${dedup.filter:EXACT}") Filter filter,
+            @Value("${dedup.bloom.expected-posts:10000000}") long expectedPosts,
+            @Value("${dedup.bloom.fpp:0.001}") double falsePositiveRate) {
+        if (filter == Filter.BLOOM && policy == Policy.LAST) {
+            throw new IllegalArgumentException("dedup.filter BLOOM requires dedup.policy FIRST, since a changed "
+                    + "version of a post could be taken for a duplicate and never saved");
+        }
+        if (expectedPosts <= 0) {
+            throw new IllegalArgumentException("dedup.bloom.expected-posts must be positive, was " + expectedPosts);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("dedup.bloom.fpp must be between 0 and 1, was " + falsePositiveRate);
+        }
+        this.postMetrics = postMetrics;
+        this.policy = policy;
+        this.scope = scope;
+        this.filter = filter;
+        this.expectedPosts = expectedPosts;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * The seen posts for each source of one run: the same for all of them when {@code dedup.scope} is
+     * {@code RUN}, a new one for every source otherwise.
+     */
+    public Supplier<SeenPosts> forRun() {
+        if (scope == Scope.RUN) {
+            SeenPosts seenPosts = new SeenPosts();
+            return () -> seenPosts;
+        }
+        return SeenPosts::new;
+    }
+
+    /**
+     * Content hash of a post without serializing it, to tell versions of the same id apart under {@code LAST}.
+     */
+    static long contentHash(Post post) {
+        long hash = 0xCBF29CE484222325L;
+        hash = hash(hash, post.userId() != null ? Long.toString(post.userId()) : null);
+        hash = hash(hash, post.title());
+        return hash(hash, post.body());
+    }
+
+    /**
+     * FNV-1a over the characters, with a marker telling null from empty and ending each field.
+     */
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+            }
+        }
+        return (hash ^ (value != null ? 0x10000 : 0x10001)) * 0x100000001B3L;
+    }
+
+    /**
+     * Posts seen so far. Sources saved concurrently share one under {@code dedup.scope} {@code RUN}, so checks
+     * take a lock; a source streams its posts one at a time, so the lock is uncontended otherwise.
+     */
+    public final class SeenPosts {
+
+        private final Seen seen = filter == Filter.BLOOM
+                ? new BloomFilter(expectedPosts, falsePositiveRate)
+                : new ExactIds();
+
+        /**
+         * Records {@code post} and tells whether it repeats one seen before and should not be saved again.
+         */
+        public boolean isDuplicate(Post post) {
+            if (post.id() == null) {
+                return false;
+            }
+            long hash = policy == Policy.LAST ? contentHash(post) : 0;
+            boolean added;
+            synchronized (this) {
+                added = seen.add(post.id(), hash);
+            }
+            if (!added) {
+                postMetrics.recordDuplicate();
+            }
+            return !added;
+        }
+    }
+
+    private interface Seen {
+        /**
+         * @return false when {@code id} was seen last with the same {@code hash}
+         */
+        boolean add(long id, long hash);
+    }
+
+    /**
+     * Every id seen, with the content hash last seen for it; offsets must not be negative, so the hash is kept
+     * to 63 bits. Under {@code FIRST} the hash is always 0, so any id seen before is a repeat.
+     */
+    private static final class ExactIds implements Seen {
+
+        private final LongOffsetMap hashes = new LongOffsetMap(1024);
+
+        @Override
+        public boolean add(long id, long hash) {
+            long kept = hash & Long.MAX_VALUE;
+            return hashes.put(id, kept) != kept;
+        }
+    }
+
+    /**
+     * Sized for {@code expectedPosts} at the given false positive rate, with bit positions from double hashing
+     * of the id. Only used under {@code FIRST}, where the hash is always 0.
+     */
+    private static final class BloomFilter implements Seen {
+
+        private static final long MAX_BITS = (long) Integer.MAX_VALUE * Long.SIZE;
+
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedPosts, double falsePositiveRate) {
+            double optimalBits = -expectedPosts * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+            long words = Math.min((long) Math.ceil(optimalBits / Long.SIZE), MAX_BITS / Long.SIZE);
+            bits = new long[(int) Math.max(words, 1)];
+            bitCount = (long) bits.length * Long.SIZE;
+            hashCount = (int) Math.max(1, Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+        }
+
+        @Override
+        public boolean add(long id, long hash) {
+            long first = LongOffsetMap.mix(id);
+            long second = LongOffsetMap.mix(first) | 1;
+            boolean added = false;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(first + i * second, bitCount);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((bits[word] & mask) == 0) {
+                    bits[word] |= mask;
+                    added = true;
+                }
+            }
+            return added;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.save.posts.domain.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import com.save.posts.domain.port.output.FileSystemService;
+
+/**
+ * Where the {@code files} format puts {@code {id}.json}. {@code FLAT} keeps every file in the save directory.
+ * {@code SHARDED} spreads them over subdirectories, either a fixed set of hash buckets named by a hex prefix
+ * ({@code 00} ... {@code ff} for 256 buckets) or id ranges named by their first id ({@code 0}, {@code 10000},
+ * ...), so directory lookups stay fast as the corpus grows. Posts without an id stay in the save directory.
+ * Directories are created at most once per layout instance and remembered.
+ */
+public class PostFileLayout {
+
+    public enum Layout {
+        FLAT, SHARDED
+    }
+
+    public enum Strategy {
+        HASH, RANGE
+    }
+
+    private static final String SUFFIX = ".json";
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final Path root;
+    private final Layout layout;
+    private final Strategy strategy;
+    private final int buckets;
+    private final long rangeSize;
+    private final String bucketFormat;
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    public PostFileLayout(Path root, Layout layout, Strategy strategy, int buckets, long rangeSize) {
+        if (layout == Layout.SHARDED && strategy == Strategy.HASH && buckets < 1) {
+            throw new IllegalArgumentException("save.shard.buckets must be positive, was " + buckets);
+        }
+        if (layout == Layout.SHARDED && strategy == Strategy.RANGE && rangeSize < 1) {
+            throw new IllegalArgumentException("save.shard.range-size must be positive, was " + rangeSize);
+        }
+        this.root = root;
+        this.layout = layout;
+        this.strategy = strategy;
+        this.buckets = buckets;
+        this.rangeSize = rangeSize;
+        this.bucketFormat = "%0" + Math.max(1, Integer.toHexString(Math.max(0, buckets - 1)).length()) + "x";
+    }
+
+    public static PostFileLayout flat(Path root) {
+        return new PostFileLayout(root, Layout.FLAT, Strategy.HASH, 1, 1);
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    public boolean isSharded() {
+        return layout == Layout.SHARDED;
+    }
+
+    public Path pathFor(Long id) {
+        return directoryFor(id).resolve(id + SUFFIX);
+    }
+
+    public Path directoryFor(Long id) {
+        if (layout == Layout.FLAT || id == null) {
+            return root;
+        }
+        if (strategy == Strategy.HASH) {
+            return root.resolve(String.format(bucketFormat, bucket(id)));
+        }
+        return root.resolve(Long.toString(Math.floorDiv(id, rangeSize) * rangeSize));
+    }
+
+    /**
+     * Every hash bucket. Range shards depend on the ids and are only known by listing the save directory.
+     */
+    public List<Path> hashBuckets() {
+        if (layout == Layout.FLAT || strategy != Strategy.HASH) {
+            return List.of();
+        }
+        return IntStream.range(0, buckets)
+                .mapToObj(bucket -> root.resolve(String.format(bucketFormat, bucket)))
+                .toList();
+    }
+
+    /**
+     * Creates the save directory and every hash bucket the first time it is called.
+     *
+     * @return whether the save directory had to be created
+     */
+    public boolean prepare(FileSystemService fileSystemService) throws IOException {
+        if (createdDirectories.contains(root)) {
+            return false;
+        }
+        boolean created = !fileSystemService.exists(root);
+        if (created) {
+            fileSystemService.createDirectoriesIfNotExists(root);
+        }
+        for (Path bucket : hashBuckets()) {
+            fileSystemService.createDirectoriesIfNotExists(bucket);
+            createdDirectories.add(bucket);
+        }
+        createdDirectories.add(root);
+        return created;
+    }
+
+    public void ensureDirectory(Path directory, FileSystemService fileSystemService) throws IOException {
+        if (!createdDirectories.contains(directory)) {
+            fileSystemService.createDirectoriesIfNotExists(directory);
+            createdDirectories.add(directory);
+        }
+    }
+
+    /**
+     * Drops the remembered directories, for when they were removed behind the layout's back.
+     */
+    public void forgetDirectories() {
+        createdDirectories.clear();
+    }
+
+    /**
+     * The settings that decide where a post's file goes, e.g. {@code FLAT} or {@code SHARDED HASH 256}.
+     */
+    public String describe() {
+        if (layout == Layout.FLAT) {
+            return layout.name();
+        }
+        return layout + " " + strategy + " " + (strategy == Strategy.HASH ? buckets : rangeSize);
+    }
+
+    private int bucket(long id) {
+        return Math.floorMod(Long.hashCode(id * HASH_MULTIPLIER), buckets);
+    }
+}
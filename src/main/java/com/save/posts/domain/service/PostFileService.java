@@ -1,66 +1,447 @@
 package com.save.posts.domain.service;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import com.save.posts.domain.model.Compression;
 import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SerializedPost;
 import com.save.posts.domain.port.output.FileSystemService;
+import com.save.posts.domain.port.output.PostCache;
+import com.save.posts.domain.port.output.PostIndex;
 import com.save.posts.domain.port.output.JsonSerializer;
+import com.save.posts.domain.port.output.PostMetrics;
 import com.save.posts.domain.port.output.PostSaver;
 import com.save.posts.infrastructure.exception.PostProcessingException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
 
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
+@ConditionalOnProperty(name = "save.format", havingValue = "files", matchIfMissing = true)
 public class PostFileService implements PostSaver {
 
     private final JsonSerializer jsonSerializer;
     private final FileSystemService fileSystemService;
+    private final Scheduler postWriteScheduler;
+    private final PostMetrics postMetrics;
+    private final ObjectProvider<PostIndex> postIndex;
+    private final ObjectProvider<PostCache> postCache;
+    private final Map<String, PostFileLayout> fileLayouts = new ConcurrentHashMap<>();
 
     @Value("${save.directory}")
     private String saveDirectory;
 
+    @Value("${save.parallelism:4}")
+    private int parallelism;
+
+    @Value("${save.incremental:false}")
+    private boolean incremental;
+
+    @Value("${save.layout:FLAT}")
+    private PostFileLayout.Layout layout;
+
+    @Value("${save.shard.strategy:HASH}")
+    private PostFileLayout.Strategy shardStrategy;
+
+    @Value("${save.shard.buckets:256}")
+    private int shardBuckets;
+
+    @Value("${save.shard.range-size:10000}")
+    private long shardRangeSize;
+
+    @Value("${save.compression.codec:NONE}")
+    private Compression compression = Compression.NONE;
+
+    @Value("${save.compression.level:6}")
+    private int compressionLevel = 6;
+
     @Override
     public void savePosts(List<Post> posts) {
+        savePosts("", posts);
+    }
+
+    @Override
+    public Flux<Post> savePostStream(Flux<Post> posts) {
+        return savePostStream("", posts);
+    }
+
+    /**
+     * Each namespace gets its own layout, manifest and directories, while all of them share the post writer
+     * scheduler.
+     */
+    @Override
+    public PostSaver forNamespace(String namespace) {
+        return namespace.isEmpty() ? this : new NamespaceSaver(namespace);
+    }
+
+    private void savePosts(String namespace, List<Post> posts) {
         try {
-            createDirectoryIfNotExists();
-            for (Post post : posts) {
-                savePostToFile(post);
+            PostFileLayout fileLayout = fileLayout(namespace);
+            createDirectoryIfNotExists(fileLayout);
+            SaveState state = startSave(namespace, fileLayout);
+            try {
+                for (Post post : posts) {
+                    savePostToFile(fileLayout, post, state);
+                }
+            } finally {
+                commit(fileLayout, state);
             }
-            log.info("Successfully saved {} posts to directory: {}", posts.size(), saveDirectory);
+            log.info("Successfully saved {} posts to directory: {}", posts.size(), fileLayout.root());
         } catch (IOException e) {
             log.error("IO error saving posts", e);
+            postMetrics.recordFailure(PostMetrics.Stage.SAVE);
             throw new PostProcessingException("Failed to save posts due to IO error", e);
         } catch (Exception e) {
             log.error("Unexpected error saving posts", e);
+            postMetrics.recordFailure(PostMetrics.Stage.SAVE);
             throw new PostProcessingException("Failed to save posts", e);
         }
     }
 
-    private void createDirectoryIfNotExists() throws IOException {
-        Path directoryPath = Paths.get(saveDirectory);
-        if (!fileSystemService.exists(directoryPath)) {
-            fileSystemService.createDirectoriesIfNotExists(directoryPath);
-            log.info("Created directory: {}", saveDirectory);
+    /**
+     * Writes are spread over {@code save.parallelism} lanes running on the post writer scheduler, so
+     * blocking file I/O never runs on the HTTP event loop. Posts are assigned to lanes by id, which keeps
+     * writes of the same id in arrival order. Whatever was written is committed when the stream ends, also
+     * on error or cancellation.
+     */
+    private Flux<Post> savePostStream(String namespace, Flux<Post> posts) {
+        return Mono.fromCallable(() -> {
+                    PostFileLayout fileLayout = fileLayout(namespace);
+                    createDirectoryIfNotExists(fileLayout);
+                    return fileLayout;
+                })
+                .onErrorMap(this::toProcessingException)
+                .flatMapMany(fileLayout -> Flux.usingWhen(
+                        Mono.fromCallable(() -> startSave(namespace, fileLayout))
+                                .onErrorMap(this::toProcessingException),
+                        state -> writeInLanes(fileLayout, posts, state),
+                        state -> commitAsync(fileLayout, state)));
+    }
+
+    private Flux<Post> writeInLanes(PostFileLayout fileLayout, Flux<Post> posts, SaveState state) {
+        return posts
+                .groupBy(this::writeLane)
+                .flatMap(lane -> lane
+                        .publishOn(postWriteScheduler)
+                        .handle((Post post, SynchronousSink<Post> sink) -> savePost(fileLayout, post, state, sink)),
+                        parallelism);
+    }
+
+    private int writeLane(Post post) {
+        return Math.floorMod(Objects.hashCode(post.id()), parallelism);
+    }
+
+    /**
+     * Runs in {@code onNext} of the lane, which {@code publishOn} always delivers on a writer thread. A deferred
+     * source such as {@code Mono.fromCallable} would instead run on whichever thread first requests it.
+     */
+    private void savePost(PostFileLayout fileLayout, Post post, SaveState state, SynchronousSink<Post> sink) {
+        try {
+            savePostToFile(fileLayout, post, state);
+            sink.next(post);
+        } catch (Exception e) {
+            sink.error(toProcessingException(e));
+        }
+    }
+
+    private PostProcessingException toProcessingException(Throwable throwable) {
+        postMetrics.recordFailure(PostMetrics.Stage.SAVE);
+        if (throwable instanceof IOException) {
+            log.error("IO error saving posts", throwable);
+            return new PostProcessingException("Failed to save posts due to IO error", throwable);
         }
+        log.error("Unexpected error saving posts", throwable);
+        return new PostProcessingException("Failed to save posts", throwable);
     }
 
-    private void savePostToFile(Post post) throws IOException {
-        String fileName = post.id() + ".json";
-        Path filePath = Paths.get(saveDirectory, fileName);
+    private void createDirectoryIfNotExists(PostFileLayout fileLayout) throws IOException {
+        if (fileLayout.prepare(fileSystemService)) {
+            log.info("Created directory: {}", fileLayout.root());
+        }
+    }
 
-        String jsonContent = jsonSerializer.toJson(post);
-        fileSystemService.writeStringToFile(filePath, jsonContent);
+    /**
+     * Built on first use and kept, so the directories it has created are only checked once per process.
+     */
+    private PostFileLayout fileLayout(String namespace) {
+        return fileLayouts.computeIfAbsent(namespace, key -> {
+            Path root = Paths.get(saveDirectory, key);
+            return layout == PostFileLayout.Layout.SHARDED
+                    ? new PostFileLayout(root, layout, shardStrategy, shardBuckets, shardRangeSize)
+                    : PostFileLayout.flat(root);
+        });
+    }
+
+    /**
+     * The cache is keyed by id alone, so only saves to the root namespace, the one the query server reads, use it.
+     */
+    private SaveState startSave(String namespace, PostFileLayout fileLayout) throws IOException {
+        PostIndex index = postIndex.getIfAvailable();
+        return new SaveState(incremental ? loadManifest(fileLayout) : null,
+                index != null ? index.update(fileLayout.root()) : null,
+                namespace.isEmpty() ? postCache.getIfAvailable() : null);
+    }
+
+    /**
+     * A missing or unreadable manifest only costs a full rewrite, so parse errors are not fatal. Neither is a
+     * manifest written with another codec or layout: its posts are not where or how this save would write them,
+     * so it is dropped and every post rewritten.
+     */
+    private PostManifest loadManifest(PostFileLayout fileLayout) throws IOException {
+        Path manifestPath = fileLayout.root().resolve(PostManifest.FILE_NAME);
+        String settings = manifestSettings(fileLayout);
+        if (!fileSystemService.exists(manifestPath)) {
+            return new PostManifest(settings);
+        }
+        PostManifest manifest;
+        try {
+            manifest = PostManifest.parse(fileSystemService.readStringFromFile(manifestPath));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring unreadable manifest {}, all posts will be rewritten", manifestPath, e);
+            return new PostManifest(settings);
+        }
+        if (!settings.equals(manifest.settings())) {
+            log.info("Manifest {} was written with {} and this save uses {}, all posts will be rewritten",
+                    manifestPath, manifest.settings(), settings);
+            return new PostManifest(settings);
+        }
+        return manifest;
+    }
+
+    private String manifestSettings(PostFileLayout fileLayout) {
+        return "codec=" + compression + " layout=" + fileLayout.describe();
+    }
+
+    private Mono<Void> commitAsync(PostFileLayout fileLayout, SaveState state) {
+        return Mono.fromCallable(() -> {
+                    commit(fileLayout, state);
+                    return state;
+                })
+                .subscribeOn(postWriteScheduler)
+                .onErrorMap(this::toProcessingException)
+                .then();
+    }
+
+    /**
+     * Posts are flushed before the manifest is written, so the manifest never lists a post that could still
+     * be lost. The search index is merged in between: if that fails, the manifest is not written and the next
+     * save rewrites, and so indexes again, every post.
+     */
+    private void commit(PostFileLayout fileLayout, SaveState state) throws IOException {
+        fileSystemService.flush();
+        if (state.index() != null) {
+            state.index().commit();
+        }
+        if (state.manifest() != null) {
+            storeManifest(fileLayout, state.manifest());
+            fileSystemService.flush();
+        }
+    }
+
+    private void storeManifest(PostFileLayout fileLayout, PostManifest manifest) throws IOException {
+        fileSystemService.writeStringToFile(fileLayout.root().resolve(PostManifest.FILE_NAME), manifest.serialize());
+        log.info("Incremental save to {}: {} created, {} updated, {} unchanged", fileLayout.root(),
+                manifest.created(), manifest.updated(), manifest.unchanged());
+    }
+
+    /**
+     * With the cache enabled, a post equal to the one cached under its id reuses the cached JSON and hash instead
+     * of being serialized again, and every other post is cached once serialized. Compressed posts are then
+     * serialized in full before being compressed, so there is JSON to cache.
+     */
+    private void savePostToFile(PostFileLayout fileLayout, Post post, SaveState state) throws IOException {
+        Path filePath = filePath(fileLayout, post.id());
+        PostManifest manifest = state.manifest();
+        PostCache cache = post.id() != null ? state.cache() : null;
+
+        if (manifest == null && cache == null && compression != Compression.NONE) {
+            writeCompressed(fileLayout, filePath, outputStream -> jsonSerializer.writeJson(post, outputStream));
+            state.indexed(post);
+            log.debug("Saved post {} to file: {}", post.id(), filePath);
+            return;
+        }
+        Optional<SerializedPost> cached = cache != null
+                ? cache.get(post.id()).filter(entry -> post.equals(entry.post()))
+                : Optional.empty();
+        SerializedPost serialized = cached.orElseGet(() -> serialize(post, cache != null || manifest != null));
+        if (cache != null && cached.isEmpty()) {
+            cache.put(post.id(), serialized);
+        }
+        byte[] jsonContent = serialized.json();
+        if (manifest == null || post.id() == null) {
+            writeFile(fileLayout, filePath, jsonContent);
+        } else {
+            long hash = serialized.hash();
+            if (manifest.compare(post.id(), hash) == PostManifest.Change.UNCHANGED) {
+                log.debug("Post {} unchanged, skipping write", post.id());
+                return;
+            }
+            writeFile(fileLayout, filePath, jsonContent);
+            manifest.record(post.id(), hash);
+        }
+        state.indexed(post);
 
         log.debug("Saved post {} to file: {}", post.id(), filePath);
     }
+
+    /**
+     * The hash is only computed when a manifest or the cache needs it.
+     */
+    private SerializedPost serialize(Post post, boolean hashed) {
+        long start = System.nanoTime();
+        byte[] json = jsonSerializer.toJsonBytes(post);
+        postMetrics.recordSerialization(System.nanoTime() - start);
+        return new SerializedPost(post, json, hashed ? PostManifest.contentHash(json) : 0);
+    }
+
+    private Path filePath(PostFileLayout fileLayout, Long id) {
+        Path filePath = fileLayout.pathFor(id);
+        return compression == Compression.NONE
+                ? filePath
+                : filePath.resolveSibling(filePath.getFileName() + compression.extension());
+    }
+
+    private void writeFile(PostFileLayout fileLayout, Path filePath, byte[] content) throws IOException {
+        if (compression != Compression.NONE) {
+            writeCompressed(fileLayout, filePath, outputStream -> outputStream.write(content));
+            return;
+        }
+        long start = System.nanoTime();
+        inDirectory(fileLayout, filePath, () -> {
+            fileSystemService.writeBytesToFile(filePath, content);
+            return content.length;
+        });
+        postMetrics.recordFileWrite(System.nanoTime() - start);
+        postMetrics.recordBytesWritten(content.length, content.length);
+    }
+
+    /**
+     * The JSON is compressed as it is produced and goes straight into the file, so the serializer never
+     * materializes it in full. Serialization is then part of the recorded write time.
+     */
+    private void writeCompressed(PostFileLayout fileLayout, Path filePath, JsonWrite json) throws IOException {
+        long start = System.nanoTime();
+        WrittenSize size = inDirectory(fileLayout, filePath, () -> {
+            CountingOutputStream stored = new CountingOutputStream(fileSystemService.openOutputStream(filePath));
+            CountingOutputStream raw;
+            try (stored) {
+                raw = new CountingOutputStream(compression.compress(stored, compressionLevel));
+                try (raw) {
+                    json.writeTo(raw);
+                }
+            }
+            return new WrittenSize(raw.count, stored.count);
+        });
+        postMetrics.recordFileWrite(System.nanoTime() - start);
+        postMetrics.recordBytesWritten(size.raw(), size.stored());
+    }
+
+    /**
+     * Creates the directory of {@code filePath} on first use, and again if it disappeared since.
+     */
+    private <T> T inDirectory(PostFileLayout fileLayout, Path filePath, FileWrite<T> write) throws IOException {
+        fileLayout.ensureDirectory(filePath.getParent(), fileSystemService);
+        try {
+            return write.run();
+        } catch (NoSuchFileException e) {
+            log.warn("Directory of {} disappeared, recreating it", filePath);
+            fileLayout.forgetDirectories();
+            fileLayout.ensureDirectory(filePath.getParent(), fileSystemService);
+            return write.run();
+        }
+    }
+
+    private record WrittenSize(long raw, long stored) {
+    }
+
+    /**
+     * The manifest is null unless {@code save.incremental} is set, the index update unless {@code search.enabled}
+     * is, the cache unless {@code cache.enabled} is. Only posts that were actually written are indexed, so an
+     * incremental save re-indexes changed posts only.
+     */
+    private record SaveState(PostManifest manifest, PostIndex.Update index, PostCache cache) {
+
+        void indexed(Post post) {
+            if (index != null) {
+                index.add(post);
+            }
+        }
+    }
+
+    private final class NamespaceSaver implements PostSaver {
+
+        private final String namespace;
+
+        NamespaceSaver(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void savePosts(List<Post> posts) {
+            PostFileService.this.savePosts(namespace, posts);
+        }
+
+        @Override
+        public Flux<Post> savePostStream(Flux<Post> posts) {
+            return PostFileService.this.savePostStream(namespace, posts);
+        }
+
+        @Override
+        public PostSaver forNamespace(String child) {
+            return child.isEmpty() ? this : PostFileService.this.forNamespace(namespace + "/" + child);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileWrite<T> {
+        T run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface JsonWrite {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
 }
@@ -0,0 +1,156 @@
+package com.save.posts.domain.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Content hashes of the posts already written to the save directory, keyed by post id. Used by incremental
+ * saves to skip posts whose serialized form has not changed since the last run. The hashes are kept in a
+ * {@link LongOffsetMap}, two {@code long} slots per post instead of a boxed entry, so only 63 bits of each hash
+ * are compared. Writer threads share a manifest, so access takes a read-write lock.
+ * <p>
+ * The first line records the settings that decide where and how the listed posts were written, such as the
+ * codec and the layout. A hash only says a post's file is up to date under those settings.
+ */
+public class PostManifest {
+
+    public static final String FILE_NAME = ".manifest";
+
+    private static final String SETTINGS_PREFIX = "# ";
+
+    public enum Change {
+        CREATED, UPDATED, UNCHANGED
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final String settings;
+    private final LongOffsetMap hashes = new LongOffsetMap(1024);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder updated = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+
+    public PostManifest() {
+        this(null);
+    }
+
+    public PostManifest(String settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * A manifest without a settings line, as written before they were recorded, has {@code null} settings.
+     */
+    public static PostManifest parse(String content) {
+        String settings = content.startsWith(SETTINGS_PREFIX)
+                ? content.lines().findFirst().orElseThrow().substring(SETTINGS_PREFIX.length())
+                : null;
+        PostManifest manifest = new PostManifest(settings);
+        content.lines()
+                .filter(line -> !line.isBlank() && !line.startsWith(SETTINGS_PREFIX))
+                .forEach(line -> {
+                    int separator = line.indexOf(' ');
+                    manifest.record(Long.parseLong(line.substring(0, separator)),
+                            Long.parseUnsignedLong(line.substring(separator + 1), 16));
+                });
+        return manifest;
+    }
+
+    public static long contentHash(byte[] content) {
+        byte[] digest = SHA_256.get().digest(content);
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xff);
+        }
+        return hash;
+    }
+
+    /**
+     * Classifies a post against the last recorded hash and counts the outcome. The new hash is only
+     * recorded by {@link #record(long, long)} once the post has actually been written.
+     */
+    public Change compare(long id, long hash) {
+        long previous;
+        lock.readLock().lock();
+        try {
+            previous = hashes.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (previous == LongOffsetMap.MISSING) {
+            created.increment();
+            return Change.CREATED;
+        }
+        if (previous != kept(hash)) {
+            updated.increment();
+            return Change.UPDATED;
+        }
+        unchanged.increment();
+        return Change.UNCHANGED;
+    }
+
+    public void record(long id, long hash) {
+        lock.writeLock().lock();
+        try {
+            hashes.put(id, kept(hash));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public String settings() {
+        return settings;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return hashes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long created() {
+        return created.sum();
+    }
+
+    public long updated() {
+        return updated.sum();
+    }
+
+    public long unchanged() {
+        return unchanged.sum();
+    }
+
+    public String serialize() {
+        lock.readLock().lock();
+        try {
+            StringBuilder content = new StringBuilder(hashes.size() * 28);
+            if (settings != null) {
+                content.append(SETTINGS_PREFIX).append(settings).append('\n');
+            }
+            hashes.forEach((id, hash) -> content.append(id).append(' ').append(Long.toHexString(hash)).append('\n'));
+            return content.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Offsets must not be negative; manifests written before hashes were cut to 63 bits still compare equal.
+     */
+    private static long kept(long hash) {
+        return hash & Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,166 @@
+package com.save.posts.domain.service;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.save.posts.domain.model.SerializedPost;
+import com.save.posts.domain.port.output.PostCache;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.domain.port.output.PostReader;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Answers the read-only query server from the saved output. Ids and user ids are looked up in the in-memory
+ * index of the {@link PostReader}, and the JSON of posts read by id is kept in the {@link PostCache} when
+ * {@code cache.enabled} is set, so hot posts are served without touching the file system. Cache hits are
+ * answered on the calling event loop thread; reads run on the post reader scheduler.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(name = "serve.enabled", havingValue = "true")
+public class PostQueryService implements DisposableBean {
+
+    private static final int STREAM_PREFETCH = 256;
+
+    private final PostReader postReader;
+    private final Scheduler postReadScheduler;
+    private final PostMetrics postMetrics;
+    private final ObjectProvider<PostCache> postCache;
+    private final Object generationLock = new Object();
+    private long generation;
+
+    /**
+     * The returned array is shared with the cache and must not be modified.
+     */
+    public Mono<byte[]> findById(long id) {
+        byte[] cached = cached(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> readAndCache(id)).subscribeOn(postReadScheduler);
+    }
+
+    /**
+     * Posts of {@code userId} in ascending id order, through the cache.
+     */
+    public Flux<byte[]> findByUserId(long userId) {
+        return Mono.fromCallable(() -> postReader.idsByUserId(userId))
+                .subscribeOn(postReadScheduler)
+                .flatMapMany(ids -> read(ids, true));
+    }
+
+    /**
+     * Posts with {@code fromId <= id < toId} in ascending id order. Posts missing from the cache are read without
+     * being cached, so a bulk read does not push hot posts out of it.
+     */
+    public Flux<byte[]> findByIdRange(long fromId, long toId) {
+        return Mono.fromCallable(() -> postReader.ids(fromId, toId))
+                .subscribeOn(postReadScheduler)
+                .flatMapMany(ids -> read(ids, false));
+    }
+
+    /**
+     * Picks up the latest save: the reader drops its view and the cache is emptied. Entries the save itself put
+     * are dropped too, since a read that started before the save could have replaced them with older JSON.
+     */
+    public void refresh() {
+        PostCache cache = postCache.getIfAvailable();
+        synchronized (generationLock) {
+            generation++;
+            if (cache != null) {
+                cache.invalidateAll();
+            }
+        }
+        postReader.refresh();
+        log.info("Query server refreshed, serving the latest save");
+    }
+
+    /**
+     * Publishes the metrics summary, with the query latency percentiles, when the server shuts down.
+     */
+    @Override
+    public void destroy() {
+        postMetrics.publishSummary();
+    }
+
+    /**
+     * Ids come in batches of {@value #STREAM_PREFETCH} to a reader thread, which reads them in order. Posts that
+     * disappeared since the ids were taken are skipped.
+     */
+    private Flux<byte[]> read(long[] ids, boolean cacheMisses) {
+        return Flux.range(0, ids.length)
+                .publishOn(postReadScheduler, STREAM_PREFETCH)
+                .handle((Integer i, SynchronousSink<byte[]> sink) -> {
+                    byte[] json = cacheMisses ? load(ids[i]) : cachedOrRead(ids[i]);
+                    if (json != null) {
+                        sink.next(json);
+                    }
+                });
+    }
+
+    private byte[] load(long id) {
+        byte[] cached = cached(id);
+        return cached != null ? cached : readAndCache(id);
+    }
+
+    private byte[] readAndCache(long id) {
+        PostCache cache = postCache.getIfAvailable();
+        if (cache == null) {
+            return readJson(id);
+        }
+        long readGeneration;
+        synchronized (generationLock) {
+            readGeneration = generation;
+        }
+        byte[] json = readJson(id);
+        if (json != null) {
+            cache(cache, id, json, readGeneration);
+        }
+        return json;
+    }
+
+    private byte[] cachedOrRead(long id) {
+        byte[] cached = cached(id);
+        return cached != null ? cached : readJson(id);
+    }
+
+    private byte[] readJson(long id) {
+        return postReader.findById(id)
+                .map(post -> {
+                    ByteBuffer stored = post.json().duplicate();
+                    byte[] json = new byte[stored.remaining()];
+                    stored.get(json);
+                    return json;
+                })
+                .orElse(null);
+    }
+
+    private byte[] cached(long id) {
+        PostCache cache = postCache.getIfAvailable();
+        return cache != null ? cache.get(id).map(SerializedPost::json).orElse(null) : null;
+    }
+
+    /**
+     * A post read before a refresh is not cached after it. Entries read from disk carry no post, so the write
+     * path never mistakes them for a serialization it can reuse.
+     */
+    private void cache(PostCache cache, long id, byte[] json, long readGeneration) {
+        SerializedPost entry = new SerializedPost(null, json, PostManifest.contentHash(json));
+        synchronized (generationLock) {
+            if (readGeneration == generation) {
+                cache.put(id, entry);
+            }
+        }
+    }
+}
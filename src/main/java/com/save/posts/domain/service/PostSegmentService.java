@@ -0,0 +1,210 @@
+package com.save.posts.domain.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.port.output.FileSystemService;
+import com.save.posts.domain.port.output.JsonSerializer;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.domain.port.output.PostSaver;
+import com.save.posts.infrastructure.exception.PostProcessingException;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Saves posts as newline-delimited JSON packed into a few large segment files plus a fixed-width id index,
+ * instead of one file per post. Each save that completes with at least one post replaces the previous segments;
+ * a save that fails, is cancelled or receives no posts leaves them in place.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "save.format", havingValue = "segments")
+public class PostSegmentService implements PostSaver {
+
+    private final JsonSerializer jsonSerializer;
+    private final FileSystemService fileSystemService;
+    private final Scheduler postWriteScheduler;
+    private final PostMetrics postMetrics;
+
+    @Value("${save.directory}")
+    private String saveDirectory;
+
+    @Value("${save.segment.max-bytes:268435456}")
+    private long maxSegmentBytes = 256L * 1024 * 1024;
+
+    /**
+     * A resumed fetch only delivers the pages after its checkpoint, and every save replaces the previous
+     * segments, so {@code api.resume} would lose the posts saved before the failure.
+     */
+    public PostSegmentService(JsonSerializer jsonSerializer, FileSystemService fileSystemService,
+            Scheduler postWriteScheduler, PostMetrics postMetrics, @Value("${api.resume:false}") boolean resume) {
+        if (resume) {
+            throw new IllegalArgumentException("api.resume requires save.format=files, "
+                    + "since the segments format replaces the previous output on every run");
+        }
+        this.jsonSerializer = jsonSerializer;
+        this.fileSystemService = fileSystemService;
+        this.postWriteScheduler = postWriteScheduler;
+        this.postMetrics = postMetrics;
+    }
+
+    @Override
+    public void savePosts(List<Post> posts) {
+        savePosts(Paths.get(saveDirectory), posts);
+    }
+
+    @Override
+    public Flux<Post> savePostStream(Flux<Post> posts) {
+        return savePostStream(Paths.get(saveDirectory), posts);
+    }
+
+    /**
+     * Each namespace keeps its own segments and index, replaced on every save of that namespace only.
+     */
+    @Override
+    public PostSaver forNamespace(String namespace) {
+        return namespace.isEmpty() ? this : new NamespaceSaver(namespace);
+    }
+
+    private void savePosts(Path directory, List<Post> posts) {
+        try {
+            SegmentWriter writer = openWriter(directory);
+            try {
+                for (Post post : posts) {
+                    append(writer, post);
+                }
+            } catch (Exception e) {
+                abortWriter(writer, e);
+                throw e;
+            }
+            logSaved(writer, directory);
+            writer.close();
+        } catch (Exception e) {
+            throw toProcessingException(e);
+        }
+    }
+
+    /**
+     * Segments are append-only, so records are written one at a time on the post writer scheduler in
+     * arrival order. The writer is closed, publishing the index, when the stream completes, and aborted when it
+     * fails or is cancelled.
+     */
+    private Flux<Post> savePostStream(Path directory, Flux<Post> posts) {
+        return Flux.usingWhen(
+                Mono.fromCallable(() -> openWriter(directory))
+                        .subscribeOn(postWriteScheduler)
+                        .onErrorMap(this::toProcessingException),
+                writer -> posts
+                        .publishOn(postWriteScheduler)
+                        .handle((Post post, SynchronousSink<Post> sink) -> {
+                            try {
+                                append(writer, post);
+                                sink.next(post);
+                            } catch (Exception e) {
+                                sink.error(toProcessingException(e));
+                            }
+                        }),
+                writer -> Mono.fromRunnable(() -> logSaved(writer, directory))
+                        .then(closeWriter(writer)),
+                (writer, error) -> abortWriter(writer),
+                this::abortWriter);
+    }
+
+    private SegmentWriter openWriter(Path directory) throws IOException {
+        if (!fileSystemService.exists(directory)) {
+            fileSystemService.createDirectoriesIfNotExists(directory);
+            log.info("Created directory: {}", directory);
+        }
+        return new SegmentWriter(fileSystemService, directory, maxSegmentBytes);
+    }
+
+    private Mono<Void> closeWriter(SegmentWriter writer) {
+        return Mono.fromCallable(() -> {
+                    writer.close();
+                    return writer;
+                })
+                .onErrorMap(this::toProcessingException)
+                .then();
+    }
+
+    private Mono<Void> abortWriter(SegmentWriter writer) {
+        return Mono.fromCallable(() -> {
+                    writer.abort();
+                    return writer;
+                })
+                .onErrorMap(this::toProcessingException)
+                .then();
+    }
+
+    private static void abortWriter(SegmentWriter writer, Exception failure) {
+        try {
+            writer.abort();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void append(SegmentWriter writer, Post post) throws IOException {
+        long start = System.nanoTime();
+        byte[] record = jsonSerializer.toJsonLine(post);
+        long serialized = System.nanoTime();
+        postMetrics.recordSerialization(serialized - start);
+        writer.append(post, record);
+        postMetrics.recordFileWrite(System.nanoTime() - serialized);
+        postMetrics.recordBytesWritten(record.length, record.length);
+    }
+
+    private void logSaved(SegmentWriter writer, Path directory) {
+        if (writer.records() == 0) {
+            log.info("No posts to save, keeping the previous segments in directory: {}", directory);
+            return;
+        }
+        log.info("Successfully saved {} posts in {} segments to directory: {}", writer.records(),
+                writer.segments(), directory);
+    }
+
+    private PostProcessingException toProcessingException(Throwable throwable) {
+        postMetrics.recordFailure(PostMetrics.Stage.SAVE);
+        if (throwable instanceof IOException) {
+            log.error("IO error saving posts", throwable);
+            return new PostProcessingException("Failed to save posts due to IO error", throwable);
+        }
+        log.error("Unexpected error saving posts", throwable);
+        return new PostProcessingException("Failed to save posts", throwable);
+    }
+
+    private final class NamespaceSaver implements PostSaver {
+
+        private final String namespace;
+
+        NamespaceSaver(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void savePosts(List<Post> posts) {
+            PostSegmentService.this.savePosts(Paths.get(saveDirectory, namespace), posts);
+        }
+
+        @Override
+        public Flux<Post> savePostStream(Flux<Post> posts) {
+            return PostSegmentService.this.savePostStream(Paths.get(saveDirectory, namespace), posts);
+        }
+
+        @Override
+        public PostSaver forNamespace(String child) {
+            return child.isEmpty() ? this : PostSegmentService.this.forNamespace(namespace + "/" + child);
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.save.posts.domain.service;
 
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostSource;
+import com.save.posts.domain.port.output.PostMetrics;
 import com.save.posts.domain.port.output.PostSaver;
 import com.save.posts.domain.port.usecase.PostFetcher;
 import com.save.posts.infrastructure.exception.PostProcessingException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 
 @Slf4j
@@ -18,16 +28,101 @@ public class PostService {
 
     private final PostFetcher postFetcher;
     private final PostSaver postSaver;
+    private final PostMetrics postMetrics;
+    private final List<PostSource> postSources;
+    private final ObjectProvider<PostDeduplicator> postDeduplicator;
+
+    @Value("${save.streaming:true}")
+    private boolean streaming;
 
+    @Value("${api.source-concurrency:4}")
+    private int sourceConcurrency = 4;
+
+    /**
+     * Fetches up to {@code api.source-concurrency} sources at a time, each saved into its own namespace and
+     * committed on its own. A failing source does not stop the others; the run fails once all have finished.
+     * When a {@link PostDeduplicator} is configured, repeated posts are dropped before they reach the saver.
+     */
     public Mono<Void> fetchAndSavePosts() {
         log.info("Starting post processing workflow");
 
-        return postFetcher.fetchPosts()
-                .doOnNext(posts -> postSaver.savePosts(posts))
-                .then()
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    PostDeduplicator deduplicator = postDeduplicator.getIfAvailable();
+                    Supplier<PostDeduplicator.SeenPosts> seenPosts = deduplicator != null
+                            ? deduplicator.forRun()
+                            : () -> null;
+                    return Flux.fromIterable(postSources)
+                            .flatMapDelayError(source -> fetchAndSaveSource(source, seenPosts.get()),
+                                    sourceConcurrency, 1)
+                            .then()
+                            .doOnSuccess(v -> finishRun(start, true))
+                            .doOnError(error -> finishRun(start, false));
+                })
                 .doOnSuccess(v -> log.info("Post processing workflow completed successfully"))
                 .doOnError(error -> log.error("Error in post processing workflow", error))
                 .onErrorMap(throwable -> new PostProcessingException("Failed to complete post processing workflow",
                         throwable));
     }
+
+    private void finishRun(long start, boolean success) {
+        postMetrics.recordRun(System.nanoTime() - start, success);
+        postMetrics.publishSummary();
+    }
+
+    private Mono<Void> fetchAndSaveSource(PostSource source, PostDeduplicator.SeenPosts seenPosts) {
+        return Mono.defer(() -> {
+            PostFetcher fetcher = postFetcher.forSource(source);
+            PostSaver saver = postSaver.forNamespace(source.name());
+            return (streaming
+                    ? streamAndSavePosts(source, fetcher, saver, seenPosts)
+                    : fetchAllAndSavePosts(fetcher, saver, seenPosts))
+                    .then(Mono.defer(fetcher::commit)
+                            .doOnError(error -> postMetrics.recordFailure(PostMetrics.Stage.COMMIT)))
+                    .doOnError(error -> log.warn("Posts from {} were not saved completely: {}", source,
+                            error.toString()));
+        });
+    }
+
+    private Mono<Void> fetchAllAndSavePosts(PostFetcher fetcher, PostSaver saver,
+            PostDeduplicator.SeenPosts seenPosts) {
+        return fetcher.fetchPosts()
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(posts -> {
+                    List<Post> unique = seenPosts == null
+                            ? posts
+                            : posts.stream().filter(post -> !isDuplicate(seenPosts, fetcher, post)).toList();
+                    saver.savePosts(unique);
+                    unique.forEach(fetcher::acknowledge);
+                })
+                .then();
+    }
+
+    /**
+     * The saver is only opened once the first post arrives, so a source that sends nothing, such as a
+     * {@code 304} to a conditional request, never replaces what the saver kept from earlier runs.
+     */
+    private Mono<Void> streamAndSavePosts(PostSource source, PostFetcher fetcher, PostSaver saver,
+            PostDeduplicator.SeenPosts seenPosts) {
+        Flux<Post> posts = seenPosts == null
+                ? fetcher.streamPosts()
+                : fetcher.streamPosts().filter(post -> !isDuplicate(seenPosts, fetcher, post));
+        return posts.switchOnFirst((first, all) -> first.hasValue() ? saver.savePostStream(all) : all)
+                .doOnNext(fetcher::acknowledge)
+                .count()
+                .doOnNext(count -> log.info("Streamed {} posts from {} to storage", count, source))
+                .then();
+    }
+
+    /**
+     * A dropped post is acknowledged right away. The post it repeats was emitted before it, and is saved or, if
+     * the run fails, fetched again from the checkpoint of its own page.
+     */
+    private static boolean isDuplicate(PostDeduplicator.SeenPosts seenPosts, PostFetcher fetcher, Post post) {
+        if (!seenPosts.isDuplicate(post)) {
+            return false;
+        }
+        fetcher.acknowledge(post);
+        return true;
+    }
 }
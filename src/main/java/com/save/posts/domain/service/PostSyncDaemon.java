@@ -0,0 +1,122 @@
+package com.save.posts.domain.service;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+/**
+ * Keeps the application running and repeats the fetch-and-save workflow every {@code daemon.interval-ms}, or
+ * on the {@code daemon.cron} schedule when one is set, so the context, connection pools and JIT stay warm between
+ * runs. A tick that comes while a run is still in progress is skipped. On shutdown no new run starts and the one
+ * in progress gets {@code daemon.shutdown-timeout-ms} to finish its writes before it is cancelled.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(name = "daemon.enabled", havingValue = "true")
+public class PostSyncDaemon implements SmartLifecycle {
+
+    private final PostService postService;
+    private final TaskScheduler postSyncScheduler;
+    private final ObjectProvider<PostQueryService> postQueryService;
+    private final Semaphore runPermit = new Semaphore(1);
+
+    @Value("${daemon.interval-ms:300000}")
+    private long intervalMs = 300_000;
+
+    @Value("${daemon.cron:}")
+    private String cron = "";
+
+    @Value("${daemon.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs = 30_000;
+
+    private volatile ScheduledFuture<?> schedule;
+    private volatile boolean stopped;
+    private volatile Disposable currentRun;
+
+    @Override
+    public synchronized void start() {
+        if (schedule != null) {
+            return;
+        }
+        stopped = false;
+        if (cron.isBlank()) {
+            log.info("Running as a daemon, fetching posts every {} ms", intervalMs);
+            schedule = postSyncScheduler.scheduleAtFixedRate(this::runOnce, Duration.ofMillis(intervalMs));
+        } else {
+            log.info("Running as a daemon, fetching posts on schedule '{}'", cron);
+            schedule = postSyncScheduler.schedule(this::runOnce, new CronTrigger(cron));
+        }
+    }
+
+    /**
+     * Stops scheduling and waits for the run in progress, which commits whatever it has saved also when it has
+     * to be cancelled. A tick already executing when the schedule is cancelled either holds the run permit, and
+     * is waited for, or takes it afterwards and sees the daemon stopped.
+     */
+    @Override
+    public synchronized void stop() {
+        ScheduledFuture<?> current = schedule;
+        if (current == null) {
+            return;
+        }
+        stopped = true;
+        current.cancel(false);
+        schedule = null;
+        try {
+            if (runPermit.tryAcquire(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                runPermit.release();
+                return;
+            }
+            log.warn("Run still in progress after {} ms, cancelling it", shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Disposable run = currentRun;
+        if (run != null) {
+            run.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return schedule != null;
+    }
+
+    /**
+     * Subscribes instead of blocking, so the scheduler thread is free again right away and a slow run makes the
+     * following ticks skip rather than queue up. A successful run refreshes the query server, when it is enabled.
+     */
+    void runOnce() {
+        if (!runPermit.tryAcquire()) {
+            log.warn("Skipping scheduled run, the previous one is still in progress");
+            return;
+        }
+        if (stopped) {
+            runPermit.release();
+            log.info("Skipping scheduled run, the daemon is stopping");
+            return;
+        }
+        currentRun = postService.fetchAndSavePosts()
+                .doOnSuccess(v -> postQueryService.ifAvailable(PostQueryService::refresh))
+                .doFinally(signal -> runPermit.release())
+                .subscribe(
+                        v -> {
+                        },
+                        error -> log.error("Scheduled run failed, trying again at the next one: {}",
+                                error.getMessage()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.save.posts.domain.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Spaces requests evenly at {@code permitsPerSecond}. Every caller reserves the next free slot and waits until
+ * it comes, so bursts are smoothed out instead of rejected. A rate of 0 never delays anything.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+
+    private long nextFree;
+
+    public RateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, LongSupplier nanoClock) {
+        if (permitsPerSecond < 0 || Double.isNaN(permitsPerSecond)) {
+            throw new IllegalArgumentException("rate-limit must not be negative, was " + permitsPerSecond);
+        }
+        this.intervalNanos = permitsPerSecond == 0 ? 0 : Math.max(1, Math.round(1_000_000_000d / permitsPerSecond));
+        this.nanoClock = nanoClock;
+        this.nextFree = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return how long to wait before sending the request the slot was reserved for
+     */
+    public synchronized Duration reserve() {
+        if (intervalNanos == 0) {
+            return Duration.ZERO;
+        }
+        long now = nanoClock.getAsLong();
+        long wait = Math.max(0, nextFree - now);
+        nextFree = now + wait + intervalNanos;
+        return Duration.ofNanos(wait);
+    }
+}
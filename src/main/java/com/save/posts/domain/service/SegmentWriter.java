@@ -0,0 +1,176 @@
+package com.save.posts.domain.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SegmentIndexEntry;
+import com.save.posts.domain.port.output.FileSystemService;
+
+/**
+ * Appends newline-delimited JSON records to numbered segment files and the location of every post to
+ * {@value #INDEX_FILE}. A new segment is started once the current one would grow past the size limit, which
+ * must stay below 2 GiB so that every segment can be mapped whole by the query server.
+ * <p>
+ * The query server maps the segments of the last save while the next one is written, so no file it may have
+ * mapped is ever written again: a save numbers its segments on from the highest number already on disk, and its
+ * index is written to {@value #INDEX_TEMP_FILE} and renamed over the previous one on {@link #close()}. Only then
+ * are the segments of earlier saves deleted. A save that is {@link #abort() aborted} or has no records deletes
+ * its own files instead and leaves the previous one in place. Not thread-safe; one writer serves one save.
+ */
+public class SegmentWriter implements Closeable {
+
+    public static final String INDEX_FILE = "segments.idx";
+
+    private static final String INDEX_TEMP_FILE = INDEX_FILE + ".tmp";
+    private static final String SEGMENT_GLOB = "segment-*.ndjson";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{1,9})\\.ndjson");
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final FileSystemService fileSystemService;
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final OutputStream index;
+    private final ByteBuffer entryBuffer = ByteBuffer.allocate(SegmentIndexEntry.BYTES);
+
+    private final int firstSegment;
+
+    private OutputStream segment;
+    private boolean closed;
+    private int segmentNumber;
+    private long segmentOffset;
+    private long records;
+
+    public SegmentWriter(FileSystemService fileSystemService, Path directory, long maxSegmentBytes)
+            throws IOException {
+        if (maxSegmentBytes <= 0 || maxSegmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("save.segment.max-bytes must be between 1 and " + Integer.MAX_VALUE
+                    + ", was " + maxSegmentBytes);
+        }
+        this.fileSystemService = fileSystemService;
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        int highest = -1;
+        for (Path path : fileSystemService.listFiles(directory, SEGMENT_GLOB)) {
+            highest = Math.max(highest, segmentNumber(path));
+        }
+        this.firstSegment = highest + 1;
+        this.segmentNumber = highest;
+        this.index = new BufferedOutputStream(
+                fileSystemService.openOutputStream(directory.resolve(INDEX_TEMP_FILE)), BUFFER_SIZE);
+    }
+
+    public static Path segmentPath(Path directory, int segmentNumber) {
+        return directory.resolve(String.format("segment-%05d.ndjson", segmentNumber));
+    }
+
+    /**
+     * Appends one record, which must end with {@code '\n'}. Posts without an id are stored but not indexed.
+     */
+    public void append(Post post, byte[] record) throws IOException {
+        if (segment == null || (segmentOffset > 0 && segmentOffset + record.length > maxSegmentBytes)) {
+            nextSegment();
+        }
+        segment.write(record);
+        if (post.id() != null) {
+            entryBuffer.clear();
+            new SegmentIndexEntry(post.id(), post.userId(), segmentNumber, segmentOffset, record.length - 1)
+                    .writeTo(entryBuffer);
+            index.write(entryBuffer.array());
+        }
+        segmentOffset += record.length;
+        records++;
+    }
+
+    public long records() {
+        return records;
+    }
+
+    public int segments() {
+        return segmentNumber - firstSegment + 1;
+    }
+
+    /**
+     * Publishes the save: flushes the open segment and the index, commits them through
+     * {@link FileSystemService#flush()}, renames the index over the previous one and then removes the segments of
+     * earlier saves, which the new index no longer points into. A save without records is aborted instead, so
+     * an empty run never replaces the previous one.
+     */
+    @Override
+    public void close() throws IOException {
+        if (records == 0) {
+            abort();
+            return;
+        }
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeStreams();
+        fileSystemService.flush();
+        fileSystemService.rename(directory.resolve(INDEX_TEMP_FILE), directory.resolve(INDEX_FILE));
+        deleteSegments(false);
+    }
+
+    /**
+     * Discards the save after a failure or cancellation: its segments and index are deleted and the previous
+     * save stays in place. Does nothing once the writer is closed.
+     */
+    public void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            closeStreams();
+        } finally {
+            fileSystemService.flush();
+            deleteSegments(true);
+            fileSystemService.deleteIfExists(directory.resolve(INDEX_TEMP_FILE));
+        }
+    }
+
+    private void closeStreams() throws IOException {
+        try (OutputStream indexStream = index) {
+            if (segment != null) {
+                segment.close();
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments written by this save when {@code own}, those of every other save otherwise.
+     */
+    private void deleteSegments(boolean own) throws IOException {
+        for (Path path : fileSystemService.listFiles(directory, SEGMENT_GLOB)) {
+            int number = segmentNumber(path);
+            if (number >= 0 && (number >= firstSegment && number <= segmentNumber) == own) {
+                fileSystemService.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * @return -1 when {@code path} is not named like a segment
+     */
+    private static int segmentNumber(Path path) {
+        Matcher name = SEGMENT_NAME.matcher(path.getFileName().toString());
+        return name.matches() ? Integer.parseInt(name.group(1)) : -1;
+    }
+
+    private void nextSegment() throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        segmentNumber++;
+        segmentOffset = 0;
+        segment = new BufferedOutputStream(
+                fileSystemService.openOutputStream(segmentPath(directory, segmentNumber)), BUFFER_SIZE);
+    }
+}
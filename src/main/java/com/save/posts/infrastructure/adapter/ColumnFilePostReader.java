@@ -0,0 +1,237 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.save.posts.domain.model.PostColumn;
+import com.save.posts.domain.port.output.PostColumnReader;
+import com.save.posts.domain.service.ColumnWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Reads the {@code columns} output one column file at a time, block by block into a reused buffer, so a scan
+ * reads only the bytes of the column it asks for and its memory use is bounded by one block. Counting posts per
+ * user id tallies the dictionary codes of a block and resolves them once per block instead of once per row.
+ * Every call reads the files as they are on disk.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "save.format", havingValue = "columns")
+public class ColumnFilePostReader implements PostColumnReader {
+
+    private final Path directory;
+
+    public ColumnFilePostReader(@Value("${save.directory}") String saveDirectory) {
+        this.directory = Paths.get(saveDirectory);
+    }
+
+    @Override
+    public long size() {
+        long[] rows = new long[1];
+        readBlocks(PostColumn.ID, false, (count, encoding, payload) -> rows[0] += count);
+        return rows[0];
+    }
+
+    @Override
+    public void scanLongs(PostColumn column, LongConsumer consumer) {
+        requireText(column, false);
+        readBlocks(column, true,
+                (rows, encoding, payload) -> decodeLongs(column, rows, encoding, payload, consumer));
+    }
+
+    @Override
+    public void scanText(PostColumn column, Consumer<String> consumer) {
+        requireText(column, true);
+        readBlocks(column, true, (rows, encoding, payload) -> {
+            if (encoding != ColumnWriter.LENGTHS) {
+                throw unknownEncoding(column, encoding);
+            }
+            int[] lengths = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                lengths[i] = (int) readVarint(payload) - 1;
+            }
+            byte[] bytes = payload.array();
+            int offset = payload.arrayOffset() + payload.position();
+            for (int length : lengths) {
+                if (length < 0) {
+                    consumer.accept(null);
+                } else {
+                    consumer.accept(new String(bytes, offset, length, StandardCharsets.UTF_8));
+                    offset += length;
+                }
+            }
+        });
+    }
+
+    @Override
+    public Map<Long, Long> countByUserId() {
+        Map<Long, Long> counts = new HashMap<>();
+        readBlocks(PostColumn.USER_ID, true, (rows, encoding, payload) -> {
+            if (encoding != ColumnWriter.DICTIONARY) {
+                decodeLongs(PostColumn.USER_ID, rows, encoding, payload, value -> {
+                    if (value != PostColumn.NO_VALUE) {
+                        counts.merge(value, 1L, Long::sum);
+                    }
+                });
+                return;
+            }
+            long[] dictionary = readDictionary(payload);
+            int width = payload.get();
+            long[] codeCounts = new long[dictionary.length];
+            for (int i = 0; i < rows; i++) {
+                codeCounts[readCode(payload, width)]++;
+            }
+            for (int code = 0; code < dictionary.length; code++) {
+                if (codeCounts[code] > 0 && dictionary[code] != PostColumn.NO_VALUE) {
+                    counts.merge(dictionary[code], codeCounts[code], Long::sum);
+                }
+            }
+        });
+        return counts;
+    }
+
+    private static void decodeLongs(PostColumn column, int rows, byte encoding, ByteBuffer payload,
+            LongConsumer consumer) {
+        switch (encoding) {
+            case ColumnWriter.PLAIN -> {
+                for (int i = 0; i < rows; i++) {
+                    consumer.accept(payload.getLong());
+                }
+            }
+            case ColumnWriter.DELTA -> {
+                long value = payload.getLong();
+                consumer.accept(value);
+                for (int i = 1; i < rows; i++) {
+                    value += unzigzag(readVarint(payload));
+                    consumer.accept(value);
+                }
+            }
+            case ColumnWriter.DICTIONARY -> {
+                long[] dictionary = readDictionary(payload);
+                int width = payload.get();
+                for (int i = 0; i < rows; i++) {
+                    consumer.accept(dictionary[readCode(payload, width)]);
+                }
+            }
+            default -> throw unknownEncoding(column, encoding);
+        }
+    }
+
+    /**
+     * Reads the block headers of {@code column} and, with {@code payloads}, each block's payload, skipping the
+     * payloads otherwise.
+     */
+    private void readBlocks(PostColumn column, boolean payloads, BlockHandler handler) {
+        Path file = ColumnWriter.columnPath(directory, column);
+        if (!Files.exists(file)) {
+            log.info("No {} column in {}, nothing to read", column, directory);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Math.max(ColumnWriter.HEADER_BYTES,
+                    ColumnWriter.BLOCK_HEADER_BYTES));
+            readFully(channel, header.limit(ColumnWriter.HEADER_BYTES));
+            header.flip();
+            if (header.getInt() != ColumnWriter.MAGIC || header.get() != ColumnWriter.VERSION
+                    || header.get() != column.ordinal()) {
+                throw new IOException(file + " is not a " + column + " column file of version "
+                        + ColumnWriter.VERSION);
+            }
+            ByteBuffer payload = ByteBuffer.allocate(0);
+            while (channel.position() < channel.size()) {
+                header.clear().limit(ColumnWriter.BLOCK_HEADER_BYTES);
+                readFully(channel, header);
+                header.flip();
+                int rows = header.getInt();
+                byte encoding = header.get();
+                int payloadBytes = header.getInt();
+                if (!payloads) {
+                    channel.position(channel.position() + payloadBytes);
+                    handler.accept(rows, encoding, payload);
+                    continue;
+                }
+                if (payload.capacity() < payloadBytes) {
+                    payload = ByteBuffer.allocate(payloadBytes);
+                }
+                payload.clear().limit(payloadBytes);
+                readFully(channel, payload);
+                handler.accept(rows, encoding, payload.flip());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + column + " column in " + directory, e);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Column file ends inside a block");
+            }
+        }
+    }
+
+    private static long[] readDictionary(ByteBuffer payload) {
+        long[] dictionary = new long[payload.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = payload.getLong();
+        }
+        return dictionary;
+    }
+
+    private static int readCode(ByteBuffer payload, int width) {
+        return switch (width) {
+            case 1 -> Byte.toUnsignedInt(payload.get());
+            case 2 -> Short.toUnsignedInt(payload.getShort());
+            default -> payload.getInt();
+        };
+    }
+
+    private static long readVarint(ByteBuffer payload) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = payload.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void requireText(PostColumn column, boolean text) {
+        if (column.isText() != text) {
+            throw new IllegalArgumentException(column + " is not a " + (text ? "text" : "long") + " column");
+        }
+    }
+
+    private static IllegalStateException unknownEncoding(PostColumn column, byte encoding) {
+        return new IllegalStateException("Unknown encoding " + encoding + " in " + column + " column");
+    }
+
+    @FunctionalInterface
+    private interface BlockHandler {
+        void accept(int rows, byte encoding, ByteBuffer payload);
+    }
+}
@@ -0,0 +1,475 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SearchHit;
+import com.save.posts.domain.port.output.PostIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Inverted index over post titles and bodies, kept in {@value #FILE_NAME} next to the saved posts. Terms are
+ * lowercased runs of letters and digits. The file holds the indexed posts with their length in terms, then every
+ * term in sorted order with its postings: ids as varint deltas, each with the term's frequency in that post.
+ *
+ * <pre>
+ * int magic, byte version, varint posts, varint total terms, (varint id delta, varint length)*,
+ * (varint term bytes, term, varint document frequency, varint postings bytes, postings)*, varint 0
+ * </pre>
+ *
+ * A save buffers the term frequencies of the posts it writes, up to {@code search.max-buffered-posts}, and
+ * merges them into the file in one sequential pass: postings of the buffered ids are dropped from the old lists
+ * and the new ones merged in, so only posts that were written again are re-tokenized. The merged file replaces
+ * the old one by an atomic rename. Searches rank with BM25 over the union of the query terms.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.enabled", havingValue = "true")
+public class InvertedPostIndex implements PostIndex {
+
+    public static final String FILE_NAME = ".search-index";
+
+    private static final int MAGIC = 0x50494458;
+    private static final byte VERSION = 1;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final int maxBufferedPosts;
+    private final Map<Path, Object> mergeLocks = new ConcurrentHashMap<>();
+    private final Map<Path, Searcher> searchers = new ConcurrentHashMap<>();
+
+    public InvertedPostIndex(@Value("${search.max-buffered-posts:100000}") int maxBufferedPosts) {
+        if (maxBufferedPosts <= 0) {
+            throw new IllegalArgumentException("search.max-buffered-posts must be positive, was " + maxBufferedPosts);
+        }
+        this.maxBufferedPosts = maxBufferedPosts;
+    }
+
+    @Override
+    public Update update(Path directory) {
+        return new IndexUpdate(directory);
+    }
+
+    /**
+     * The file is mapped and its term dictionary loaded on the first search, and again after the next merge.
+     */
+    @Override
+    public List<SearchHit> search(Path directory, String query, int limit) {
+        Searcher searcher = searchers.computeIfAbsent(directory, this::open);
+        return searcher.search(terms(query), limit);
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lowercase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowercase.length(); i++) {
+            boolean termChar = i < lowercase.length() && Character.isLetterOrDigit(lowercase.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    terms.add(lowercase.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static Map<String, Integer> termFrequencies(Post post) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms(post.title())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        for (String term : terms(post.body())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private void merge(Path directory, Map<Long, Map<String, Integer>> posts) throws IOException {
+        long start = System.nanoTime();
+        long[] replaced = posts.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[] replacedLengths = new int[replaced.length];
+        TreeMap<String, Postings> added = new TreeMap<>();
+        for (int i = 0; i < replaced.length; i++) {
+            for (Map.Entry<String, Integer> term : posts.get(replaced[i]).entrySet()) {
+                added.computeIfAbsent(term.getKey(), key -> new Postings()).add(replaced[i], term.getValue());
+                replacedLengths[i] += term.getValue();
+            }
+        }
+
+        Path file = directory.resolve(FILE_NAME);
+        Path temporary = directory.resolve(FILE_NAME + ".tmp");
+        int terms = 0;
+        try (DataInputStream old = Files.exists(file)
+                        ? new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))
+                        : null;
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            long[] oldIds = new long[0];
+            int[] oldLengths = new int[0];
+            if (old != null) {
+                readHeader(old, file);
+                oldIds = new long[Math.toIntExact(readVarLong(old))];
+                oldLengths = new int[oldIds.length];
+                readVarLong(old);
+                long id = 0;
+                for (int i = 0; i < oldIds.length; i++) {
+                    id += readVarLong(old);
+                    oldIds[i] = id;
+                    oldLengths[i] = (int) readVarLong(old);
+                }
+            }
+            writePosts(out, oldIds, oldLengths, replaced, replacedLengths);
+
+            ByteArrayOutputStream postingsBytes = new ByteArrayOutputStream();
+            DataOutputStream postingsOut = new DataOutputStream(postingsBytes);
+            String oldTerm = old != null ? readTerm(old) : null;
+            Map.Entry<String, Postings> addedTerm = added.pollFirstEntry();
+            while (oldTerm != null || addedTerm != null) {
+                int order = oldTerm == null ? 1 : addedTerm == null ? -1 : oldTerm.compareTo(addedTerm.getKey());
+                Postings merged = order <= 0 ? readPostings(old).without(replaced) : new Postings();
+                if (order >= 0) {
+                    merged = merged.mergedWith(addedTerm.getValue());
+                }
+                String term = order <= 0 ? oldTerm : addedTerm.getKey();
+                if (merged.size > 0) {
+                    postingsBytes.reset();
+                    merged.writeTo(postingsOut);
+                    byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+                    writeVarLong(out, bytes.length);
+                    out.write(bytes);
+                    writeVarLong(out, merged.size);
+                    writeVarLong(out, postingsBytes.size());
+                    postingsBytes.writeTo(out);
+                    terms++;
+                }
+                if (order <= 0) {
+                    oldTerm = readTerm(old);
+                }
+                if (order >= 0) {
+                    addedTerm = added.pollFirstEntry();
+                }
+            }
+            writeVarLong(out, 0);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        searchers.remove(directory);
+        log.info("Indexed {} posts into {} ({} terms) in {} ms", replaced.length, file, terms,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Old posts that were indexed again are replaced by their new length; both lists are sorted by id.
+     */
+    private static void writePosts(DataOutputStream out, long[] oldIds, int[] oldLengths, long[] newIds,
+            int[] newLengths) throws IOException {
+        int kept = 0;
+        for (long id : oldIds) {
+            if (Arrays.binarySearch(newIds, id) < 0) {
+                kept++;
+            }
+        }
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeVarLong(out, kept + newIds.length);
+        long totalLength = 0;
+        for (int i = 0; i < oldIds.length; i++) {
+            totalLength += Arrays.binarySearch(newIds, oldIds[i]) < 0 ? oldLengths[i] : 0;
+        }
+        for (int length : newLengths) {
+            totalLength += length;
+        }
+        writeVarLong(out, totalLength);
+        long previous = 0;
+        int o = 0;
+        int n = 0;
+        while (o < oldIds.length || n < newIds.length) {
+            long id;
+            int length;
+            if (n == newIds.length || (o < oldIds.length && oldIds[o] < newIds[n])) {
+                id = oldIds[o];
+                length = oldLengths[o++];
+            } else {
+                if (o < oldIds.length && oldIds[o] == newIds[n]) {
+                    o++;
+                }
+                id = newIds[n];
+                length = newLengths[n++];
+            }
+            writeVarLong(out, id - previous);
+            writeVarLong(out, length);
+            previous = id;
+        }
+    }
+
+    private static void readHeader(DataInput in, Path file) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException(file + " is not a search index of version " + VERSION);
+        }
+    }
+
+    private static String readTerm(DataInput in) throws IOException {
+        int length = (int) readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Postings readPostings(DataInput in) throws IOException {
+        int size = (int) readVarLong(in);
+        readVarLong(in);
+        Postings postings = new Postings();
+        long id = 0;
+        for (int i = 0; i < size; i++) {
+            id += readVarLong(in);
+            postings.add(id, (int) readVarLong(in));
+        }
+        return postings;
+    }
+
+    private Searcher open(Path directory) {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            log.info("No search index in {}, nothing to search", directory);
+            return Searcher.EMPTY;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException(file + " is not a search index of version " + VERSION);
+            }
+            long[] ids = new long[Math.toIntExact(readVarLong(buffer))];
+            int[] lengths = new int[ids.length];
+            long totalLength = readVarLong(buffer);
+            long id = 0;
+            for (int i = 0; i < ids.length; i++) {
+                id += readVarLong(buffer);
+                ids[i] = id;
+                lengths[i] = (int) readVarLong(buffer);
+            }
+            Map<String, TermEntry> dictionary = new HashMap<>();
+            int termLength;
+            while ((termLength = (int) readVarLong(buffer)) > 0) {
+                byte[] term = new byte[termLength];
+                buffer.get(term);
+                int documentFrequency = (int) readVarLong(buffer);
+                int postingsBytes = (int) readVarLong(buffer);
+                dictionary.put(new String(term, StandardCharsets.UTF_8),
+                        new TermEntry(documentFrequency, buffer.position()));
+                buffer.position(buffer.position() + postingsBytes);
+            }
+            log.info("Opened search index {} with {} posts and {} terms", file, ids.length, dictionary.size());
+            return new Searcher(buffer, ids, lengths, ids.length == 0 ? 0 : (double) totalLength / ids.length,
+                    dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open search index " + file, e);
+        }
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private final class IndexUpdate implements Update {
+
+        private final Path directory;
+        private Map<Long, Map<String, Integer>> buffered = new HashMap<>();
+
+        IndexUpdate(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void add(Post post) {
+            if (post.id() == null) {
+                return;
+            }
+            Map<String, Integer> frequencies = termFrequencies(post);
+            boolean full;
+            synchronized (this) {
+                buffered.put(post.id(), frequencies);
+                full = buffered.size() >= maxBufferedPosts;
+            }
+            if (full) {
+                try {
+                    commit();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to update search index in " + directory, e);
+                }
+            }
+        }
+
+        @Override
+        public void commit() throws IOException {
+            Map<Long, Map<String, Integer>> posts;
+            synchronized (this) {
+                posts = buffered;
+                buffered = new HashMap<>();
+            }
+            if (posts.isEmpty()) {
+                return;
+            }
+            synchronized (mergeLocks.computeIfAbsent(directory, key -> new Object())) {
+                merge(directory, posts);
+            }
+        }
+    }
+
+    /**
+     * Ids in ascending order with the frequency of one term in each.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(long id, int frequency) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size++] = frequency;
+        }
+
+        Postings without(long[] sortedIds) {
+            Postings kept = new Postings();
+            for (int i = 0; i < size; i++) {
+                if (Arrays.binarySearch(sortedIds, ids[i]) < 0) {
+                    kept.add(ids[i], frequencies[i]);
+                }
+            }
+            return kept;
+        }
+
+        Postings mergedWith(Postings other) {
+            Postings merged = new Postings();
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && ids[i] < other.ids[j])) {
+                    merged.add(ids[i], frequencies[i++]);
+                } else {
+                    merged.add(other.ids[j], other.frequencies[j++]);
+                }
+            }
+            return merged;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                writeVarLong(out, ids[i] - previous);
+                writeVarLong(out, frequencies[i]);
+                previous = ids[i];
+            }
+        }
+    }
+
+    private record TermEntry(int documentFrequency, int offset) {
+    }
+
+    private record Searcher(ByteBuffer postings, long[] ids, int[] lengths, double averageLength,
+            Map<String, TermEntry> dictionary) {
+
+        static final Searcher EMPTY = new Searcher(ByteBuffer.allocate(0), new long[0], new int[0], 0, Map.of());
+
+        List<SearchHit> search(List<String> terms, int limit) {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(terms)) {
+                TermEntry entry = dictionary.get(term);
+                if (entry == null) {
+                    continue;
+                }
+                int frequency = entry.documentFrequency();
+                double idf = Math.log(1 + (ids.length - frequency + 0.5) / (frequency + 0.5));
+                ByteBuffer buffer = postings.duplicate().position(entry.offset());
+                long id = 0;
+                for (int i = 0; i < frequency; i++) {
+                    id += readVarLong(buffer);
+                    int termFrequency = (int) readVarLong(buffer);
+                    int length = lengths[Arrays.binarySearch(ids, id)];
+                    double norm = termFrequency + K1 * (1 - B + B * length / averageLength);
+                    scores.merge(id, idf * termFrequency * (K1 + 1) / norm, Double::sum);
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(score -> new SearchHit(score.getKey(), score.getValue()))
+                    .toList();
+        }
+    }
+}
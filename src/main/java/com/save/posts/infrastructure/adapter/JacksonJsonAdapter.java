@@ -1,25 +1,64 @@
 package com.save.posts.infrastructure.adapter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.save.posts.domain.port.output.JsonSerializer;
 
-import lombok.RequiredArgsConstructor;
-
 
-@RequiredArgsConstructor
 @Component
 public class JacksonJsonAdapter implements JsonSerializer {
 
-    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final ObjectWriter lineWriter;
+
+    /**
+     * The writer is built once; {@link ObjectWriter} is immutable and safe to share between writer threads.
+     */
+    public JacksonJsonAdapter(ObjectMapper objectMapper, @Value("${save.pretty-print:true}") boolean prettyPrint) {
+        ObjectWriter writer = prettyPrint ? objectMapper.writerWithDefaultPrettyPrinter() : objectMapper.writer();
+        this.objectWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.lineWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
 
     @Override
     public String toJson(Object object) {
         try {
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(object);
+            return objectWriter.writeValueAsString(object);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize object to JSON", e);
+        }
+    }
+
+    @Override
+    public byte[] toJsonBytes(Object object) {
+        try {
+            return objectWriter.writeValueAsBytes(object);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize object to JSON", e);
+        }
+    }
+
+    @Override
+    public byte[] toJsonLine(Object object) {
+        try (ByteArrayBuilder builder = new ByteArrayBuilder()) {
+            lineWriter.writeValue(builder, object);
+            builder.append('\n');
+            return builder.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize object to JSON", e);
         }
     }
+
+    @Override
+    public void writeJson(Object object, OutputStream outputStream) throws IOException {
+        objectWriter.writeValue(outputStream, object);
+    }
 }
@@ -0,0 +1,310 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.save.posts.domain.model.Compression;
+import com.save.posts.domain.model.StoredPost;
+import com.save.posts.domain.port.output.PostReader;
+import com.save.posts.domain.service.PostFileLayout;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Reads the {@code files} output, flat or sharded. Ids come from the {@code {id}.json} file names and files are
+ * opened when they are read. Mapping every file up front would exceed the process mapping limit for large outputs.
+ * Setting up a mapping also costs more than copying a typical post of a few hundred bytes, so only files of
+ * {@value #MAP_THRESHOLD} bytes or more are mapped. Compressed files are inflated into a heap buffer on every
+ * read. Scans by user id read each file's {@code userId} once and keep them in memory. A file deleted since the
+ * ids were listed, by a save of fewer posts, is treated as a post that is not there.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "save.format", havingValue = "files", matchIfMissing = true)
+public class MappedFilePostReader implements PostReader {
+
+    private static final String SUFFIX = ".json";
+    private static final long MAP_THRESHOLD = 64 * 1024;
+
+    private final JsonFactory jsonFactory;
+    private final PostFileLayout layout;
+    private final Compression compression;
+    private final String suffix;
+    private final Path directory;
+    private volatile Snapshot snapshot;
+
+    public MappedFilePostReader(ObjectMapper objectMapper, String saveDirectory) {
+        this(objectMapper, PostFileLayout.flat(Paths.get(saveDirectory)));
+    }
+
+    @Autowired
+    public MappedFilePostReader(ObjectMapper objectMapper, @Value("${save.directory}") String saveDirectory,
+            @Value("${save.layout:FLAT}") PostFileLayout.Layout layout,
+            @Value("${save.shard.strategy:HASH}") PostFileLayout.Strategy shardStrategy,
+            @Value("${save.shard.buckets:256}") int shardBuckets,
+            @Value("${save.shard.range-size:10000}") long shardRangeSize,
+            @Value("${save.compression.codec:NONE}") Compression compression) {
+        this(objectMapper, new PostFileLayout(Paths.get(saveDirectory), layout, shardStrategy, shardBuckets,
+                shardRangeSize), compression);
+    }
+
+    public MappedFilePostReader(ObjectMapper objectMapper, PostFileLayout layout) {
+        this(objectMapper, layout, Compression.NONE);
+    }
+
+    public MappedFilePostReader(ObjectMapper objectMapper, PostFileLayout layout, Compression compression) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.layout = layout;
+        this.compression = compression;
+        this.suffix = SUFFIX + compression.extension();
+        this.directory = layout.root();
+    }
+
+    @Override
+    public Optional<StoredPost> findById(long id) {
+        Snapshot current = snapshot();
+        return Arrays.binarySearch(current.ids, id) >= 0 ? Optional.ofNullable(read(id)) : Optional.empty();
+    }
+
+    @Override
+    public List<StoredPost> scanById(long fromId, long toId) {
+        long[] ids = snapshot().ids;
+        List<StoredPost> posts = new ArrayList<>();
+        for (int i = MappedSegmentPostReader.lowerBound(ids, fromId); i < ids.length && ids[i] < toId; i++) {
+            StoredPost post = read(ids[i]);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+
+    @Override
+    public List<StoredPost> scanByUserId(long fromUserId, long toUserId) {
+        Snapshot current = snapshot();
+        UserOrder byUser = current.byUser(this);
+        List<StoredPost> posts = new ArrayList<>();
+        for (int i = MappedSegmentPostReader.lowerBound(byUser.userIds, fromUserId);
+                i < byUser.userIds.length && byUser.userIds[i] < toUserId; i++) {
+            long id = current.ids[byUser.positions[i]];
+            ByteBuffer json = map(id);
+            if (json != null) {
+                posts.add(new StoredPost(id, byUser.userIds[i], json));
+            }
+        }
+        return posts;
+    }
+
+    @Override
+    public long[] ids(long fromId, long toId) {
+        long[] ids = snapshot().ids;
+        int from = MappedSegmentPostReader.lowerBound(ids, fromId);
+        return Arrays.copyOfRange(ids, from, Math.max(from, MappedSegmentPostReader.lowerBound(ids, toId)));
+    }
+
+    /**
+     * The first call reads the {@code userId} of every file, like a scan by user id.
+     */
+    @Override
+    public long[] idsByUserId(long userId) {
+        Snapshot current = snapshot();
+        UserOrder byUser = current.byUser(this);
+        int from = MappedSegmentPostReader.lowerBound(byUser.userIds, userId);
+        int to = from;
+        while (to < byUser.userIds.length && byUser.userIds[to] == userId) {
+            to++;
+        }
+        return Arrays.stream(byUser.positions, from, to).mapToLong(i -> current.ids[i]).toArray();
+    }
+
+    @Override
+    public int size() {
+        return snapshot().ids.length;
+    }
+
+    @Override
+    public void refresh() {
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = open();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot open() {
+        if (!Files.isDirectory(directory)) {
+            log.info("No saved posts in {}, nothing to read", directory);
+            return new Snapshot(new long[0]);
+        }
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (Path postDirectory : postDirectories()) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(postDirectory, "*" + suffix)) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        try {
+                            ids.add(Long.parseLong(name.substring(0, name.length() - suffix.length())));
+                        } catch (NumberFormatException e) {
+                            log.debug("Skipping {}, not a post file", file);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list saved posts in " + directory, e);
+        }
+        long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+        log.info("Found {} post files in {}", sorted.length, directory);
+        return new Snapshot(sorted);
+    }
+
+    /**
+     * A sharded layout keeps posts only in the shard subdirectories.
+     */
+    private List<Path> postDirectories() throws IOException {
+        if (!layout.isSharded()) {
+            return List.of(directory);
+        }
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            entries.forEach(shards::add);
+        }
+        return shards;
+    }
+
+    /**
+     * @return null when the file of {@code id} is gone
+     */
+    private StoredPost read(long id) {
+        ByteBuffer json = map(id);
+        return json != null ? new StoredPost(id, userId(json), json) : null;
+    }
+
+    /**
+     * @return null when the file of {@code id} is gone
+     */
+    private ByteBuffer map(long id) {
+        Path file = layout.pathFor(id);
+        if (compression != Compression.NONE) {
+            return inflate(file.resolveSibling(file.getFileName() + compression.extension()));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer json = ByteBuffer.allocate((int) size);
+            int read;
+            do {
+                read = channel.read(json);
+            } while (read >= 0 && json.hasRemaining());
+            return json.flip().asReadOnlyBuffer();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map saved post " + file, e);
+        }
+    }
+
+    private ByteBuffer inflate(Path file) {
+        try (InputStream json = compression.decompress(Files.newInputStream(file))) {
+            return ByteBuffer.wrap(json.readAllBytes()).asReadOnlyBuffer();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read saved post " + file, e);
+        }
+    }
+
+    /**
+     * Streams the top-level fields up to {@code userId} without building the post.
+     */
+    private Long userId(ByteBuffer json) {
+        try (JsonParser parser = jsonFactory.createParser(new ByteBufferBackedInputStream(json.duplicate()))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("userId".equals(field)) {
+                    return value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read userId of saved post", e);
+        }
+    }
+
+    private record UserOrder(long[] userIds, int[] positions) {
+    }
+
+    private static final class Snapshot {
+
+        final long[] ids;
+        private volatile UserOrder byUser;
+
+        Snapshot(long[] ids) {
+            this.ids = ids;
+        }
+
+        UserOrder byUser(MappedFilePostReader reader) {
+            UserOrder order = byUser;
+            if (order == null) {
+                long[] userIds = new long[ids.length];
+                for (int i = 0; i < ids.length; i++) {
+                    ByteBuffer json = reader.map(ids[i]);
+                    Long userId = json != null ? reader.userId(json) : null;
+                    userIds[i] = userId != null ? userId : Long.MIN_VALUE;
+                }
+                int[] positions = IntStream.range(0, ids.length)
+                        .filter(i -> userIds[i] != Long.MIN_VALUE)
+                        .boxed()
+                        .sorted(Comparator.<Integer>comparingLong(i -> userIds[i]).thenComparingLong(i -> ids[i]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                order = new UserOrder(Arrays.stream(positions).mapToLong(i -> userIds[i]).toArray(), positions);
+                byUser = order;
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.save.posts.domain.model.SegmentIndexEntry;
+import com.save.posts.domain.model.StoredPost;
+import com.save.posts.domain.port.output.PostReader;
+import com.save.posts.domain.service.SegmentWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Reads the {@code segments} output by memory-mapping every segment and the index. The index is loaded into
+ * id-sorted arrays once, so lookups are a binary search and returned JSON is a slice of the mapping. A save
+ * never writes to a file the previous index points into, so a snapshot stays valid while the next save runs; a
+ * segment deleted by a save that finished while the snapshot was being opened means a newer index is in place,
+ * which is opened instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "save.format", havingValue = "segments")
+public class MappedSegmentPostReader implements PostReader {
+
+    private static final int OPEN_ATTEMPTS = 3;
+
+    private final Path directory;
+    private volatile Snapshot snapshot;
+
+    public MappedSegmentPostReader(@Value("${save.directory}") String saveDirectory) {
+        this.directory = Paths.get(saveDirectory);
+    }
+
+    @Override
+    public Optional<StoredPost> findById(long id) {
+        Snapshot current = snapshot();
+        int position = Arrays.binarySearch(current.ids, id);
+        return position >= 0 ? Optional.of(current.post(position)) : Optional.empty();
+    }
+
+    @Override
+    public List<StoredPost> scanById(long fromId, long toId) {
+        Snapshot current = snapshot();
+        List<StoredPost> posts = new ArrayList<>();
+        for (int i = lowerBound(current.ids, fromId); i < current.ids.length && current.ids[i] < toId; i++) {
+            posts.add(current.post(i));
+        }
+        return posts;
+    }
+
+    @Override
+    public List<StoredPost> scanByUserId(long fromUserId, long toUserId) {
+        Snapshot current = snapshot();
+        UserOrder byUser = current.byUser();
+        List<StoredPost> posts = new ArrayList<>();
+        for (int i = lowerBound(byUser.userIds, fromUserId);
+                i < byUser.userIds.length && byUser.userIds[i] < toUserId; i++) {
+            posts.add(current.post(byUser.positions[i]));
+        }
+        return posts;
+    }
+
+    @Override
+    public long[] ids(long fromId, long toId) {
+        long[] ids = snapshot().ids;
+        int from = lowerBound(ids, fromId);
+        return Arrays.copyOfRange(ids, from, Math.max(from, lowerBound(ids, toId)));
+    }
+
+    @Override
+    public long[] idsByUserId(long userId) {
+        Snapshot current = snapshot();
+        UserOrder byUser = current.byUser();
+        int from = lowerBound(byUser.userIds, userId);
+        int to = from;
+        while (to < byUser.userIds.length && byUser.userIds[to] == userId) {
+            to++;
+        }
+        return Arrays.stream(byUser.positions, from, to).mapToLong(i -> current.ids[i]).toArray();
+    }
+
+    @Override
+    public int size() {
+        return snapshot().ids.length;
+    }
+
+    @Override
+    public void refresh() {
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = open();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot open() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return openIndex();
+            } catch (NoSuchFileException e) {
+                if (attempt == OPEN_ATTEMPTS) {
+                    throw new UncheckedIOException("Saved posts in " + directory + " kept changing while opened", e);
+                }
+                log.debug("{} was replaced by a newer save, opening its index", e.getFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map saved posts in " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Segment numbers continue across saves, so the segments of one index are numbered from its lowest one.
+     */
+    private Snapshot openIndex() throws IOException {
+        Path indexPath = directory.resolve(SegmentWriter.INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            log.info("No segment index in {}, nothing to read", directory);
+            return Snapshot.EMPTY;
+        }
+        ByteBuffer index = map(indexPath);
+        int count = index.remaining() / SegmentIndexEntry.BYTES;
+        long[] ids = new long[count];
+        long[] userIds = new long[count];
+        int[] segments = new int[count];
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+        int firstSegment = Integer.MAX_VALUE;
+        int lastSegment = -1;
+        for (int i = 0; i < count; i++) {
+            SegmentIndexEntry entry = SegmentIndexEntry.readFrom(index);
+            ids[i] = entry.id();
+            userIds[i] = entry.userId() != null ? entry.userId() : Long.MIN_VALUE;
+            segments[i] = entry.segment();
+            offsets[i] = Math.toIntExact(entry.offset());
+            lengths[i] = entry.length();
+            firstSegment = Math.min(firstSegment, entry.segment());
+            lastSegment = Math.max(lastSegment, entry.segment());
+        }
+        ByteBuffer[] buffers = new ByteBuffer[count > 0 ? lastSegment - firstSegment + 1 : 0];
+        for (int segment = 0; segment < buffers.length; segment++) {
+            buffers[segment] = map(SegmentWriter.segmentPath(directory, firstSegment + segment));
+        }
+        for (int i = 0; i < count; i++) {
+            segments[i] -= firstSegment;
+        }
+        Snapshot opened = Snapshot.sortedById(ids, userIds, segments, offsets, lengths, buffers);
+        log.info("Mapped {} posts in {} segments from {}", opened.ids.length, buffers.length, directory);
+        return opened;
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    static int lowerBound(long[] sorted, long key) {
+        int position = Arrays.binarySearch(sorted, key);
+        if (position < 0) {
+            return -position - 1;
+        }
+        while (position > 0 && sorted[position - 1] == key) {
+            position--;
+        }
+        return position;
+    }
+
+    private record UserOrder(long[] userIds, int[] positions) {
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new long[0], new int[0], new int[0], new int[0],
+                new ByteBuffer[0]);
+
+        final long[] ids;
+        final long[] userIds;
+        final int[] segments;
+        final int[] offsets;
+        final int[] lengths;
+        final ByteBuffer[] buffers;
+        private volatile UserOrder byUser;
+
+        private Snapshot(long[] ids, long[] userIds, int[] segments, int[] offsets, int[] lengths,
+                ByteBuffer[] buffers) {
+            this.ids = ids;
+            this.userIds = userIds;
+            this.segments = segments;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.buffers = buffers;
+        }
+
+        /**
+         * Index entries are in write order. Sorts them by id when needed and keeps the last entry of a
+         * repeated id, matching what a per-file save would leave on disk.
+         */
+        static Snapshot sortedById(long[] ids, long[] userIds, int[] segments, int[] offsets, int[] lengths,
+                ByteBuffer[] buffers) {
+            boolean strictlyAscending = true;
+            for (int i = 1; i < ids.length && strictlyAscending; i++) {
+                strictlyAscending = ids[i - 1] < ids[i];
+            }
+            if (strictlyAscending) {
+                return new Snapshot(ids, userIds, segments, offsets, lengths, buffers);
+            }
+            int[] sorted = IntStream.range(0, ids.length)
+                    .boxed()
+                    .sorted(Comparator.comparingLong(i -> ids[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int[] order = IntStream.range(0, sorted.length)
+                    .filter(i -> i == sorted.length - 1 || ids[sorted[i]] != ids[sorted[i + 1]])
+                    .map(i -> sorted[i])
+                    .toArray();
+            return new Snapshot(
+                    Arrays.stream(order).mapToLong(i -> ids[i]).toArray(),
+                    Arrays.stream(order).mapToLong(i -> userIds[i]).toArray(),
+                    Arrays.stream(order).map(i -> segments[i]).toArray(),
+                    Arrays.stream(order).map(i -> offsets[i]).toArray(),
+                    Arrays.stream(order).map(i -> lengths[i]).toArray(),
+                    buffers);
+        }
+
+        StoredPost post(int position) {
+            ByteBuffer json = buffers[segments[position]].slice(offsets[position], lengths[position]);
+            long userId = userIds[position];
+            return new StoredPost(ids[position], userId != Long.MIN_VALUE ? userId : null, json);
+        }
+
+        UserOrder byUser() {
+            UserOrder order = byUser;
+            if (order == null) {
+                int[] positions = IntStream.range(0, ids.length)
+                        .filter(i -> userIds[i] != Long.MIN_VALUE)
+                        .boxed()
+                        .sorted(Comparator.<Integer>comparingLong(i -> userIds[i]).thenComparingLong(i -> ids[i]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                order = new UserOrder(Arrays.stream(positions).mapToLong(i -> userIds[i]).toArray(), positions);
+                byUser = order;
+            }
+            return order;
+        }
+    }
+}
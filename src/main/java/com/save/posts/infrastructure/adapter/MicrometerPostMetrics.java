@@ -0,0 +1,265 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.save.posts.domain.port.output.PostMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Component
+public class MicrometerPostMetrics implements PostMetrics {
+
+    public enum Export {
+        NONE, LOG, FILE
+    }
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Export export;
+    private final Path exportFile;
+
+    private final Timer fetchLatency;
+    private final Counter bytesReceived;
+    private final Counter postsDecoded;
+    private final Timer serializationTime;
+    private final Timer fileWriteLatency;
+    private final Counter rawBytesWritten;
+    private final Counter storedBytesWritten;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter cacheEvictions;
+    private final Counter duplicates;
+    private final Map<Stage, Counter> failures = new EnumMap<>(Stage.class);
+    private final Map<String, Timer> queryLatencies = new ConcurrentHashMap<>();
+    private double decodedBeforeRun;
+    private volatile LastRun lastRun = new LastRun(0, 0);
+
+    public MicrometerPostMetrics(MeterRegistry meterRegistry,
+            @Value("${metrics.export:log}") Export export,
+            @Value("${metrics.file:metrics.txt}") String exportFile) {
+        this.meterRegistry = meterRegistry;
+        this.export = export;
+        this.exportFile = Path.of(exportFile);
+
+        this.fetchLatency = Timer.builder("posts.fetch.latency")
+                .description("Time from sending a request to receiving the response headers")
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+        this.bytesReceived = Counter.builder("posts.fetch.bytes")
+                .description("Response body bytes received")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.postsDecoded = Counter.builder("posts.decoded")
+                .description("Posts decoded from responses")
+                .register(meterRegistry);
+        this.serializationTime = Timer.builder("posts.serialize.time")
+                .description("Time to serialize one post to JSON")
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+        this.fileWriteLatency = Timer.builder("posts.write.latency")
+                .description("Time to write one post file")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rawBytesWritten = Counter.builder("posts.write.bytes")
+                .description("Serialized post bytes before and after compression")
+                .baseUnit("bytes")
+                .tag("encoding", "raw")
+                .register(meterRegistry);
+        this.storedBytesWritten = Counter.builder("posts.write.bytes")
+                .description("Serialized post bytes before and after compression")
+                .baseUnit("bytes")
+                .tag("encoding", "stored")
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("posts.cache.requests")
+                .description("Lookups in the serialized post cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("posts.cache.requests")
+                .description("Lookups in the serialized post cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.cacheEvictions = Counter.builder("posts.cache.evictions")
+                .description("Posts evicted from, or not admitted to, the serialized post cache")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("posts.duplicates")
+                .description("Posts dropped before saving because they repeated one already seen")
+                .register(meterRegistry);
+        for (Stage stage : Stage.values()) {
+            failures.put(stage, Counter.builder("posts.failures")
+                    .description("Workflow failures by stage")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void recordFetch(long latencyNanos) {
+        fetchLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBytesReceived(long bytes) {
+        bytesReceived.increment(bytes);
+    }
+
+    @Override
+    public void recordPostDecoded() {
+        postsDecoded.increment();
+    }
+
+    @Override
+    public void recordSerialization(long nanos) {
+        serializationTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFileWrite(long nanos) {
+        fileWriteLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBytesWritten(long rawBytes, long storedBytes) {
+        rawBytesWritten.increment(rawBytes);
+        storedBytesWritten.increment(storedBytes);
+    }
+
+    @Override
+    public void recordFailure(Stage stage) {
+        failures.get(stage).increment();
+    }
+
+    @Override
+    public void recordRun(long durationNanos, boolean success) {
+        synchronized (this) {
+            double decoded = postsDecoded.count();
+            lastRun = new LastRun(durationNanos, decoded - decodedBeforeRun);
+            decodedBeforeRun = decoded;
+        }
+        Timer.builder("posts.run.duration")
+                .description("End-to-end duration of a fetch and save run")
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Timers are kept per route, so a request does not look its timer up in the registry.
+     */
+    @Override
+    public void recordQuery(String route, long latencyNanos) {
+        queryLatencies.computeIfAbsent(route, key -> Timer.builder("posts.query.latency")
+                        .description("Time to answer one query server request")
+                        .tag("route", key)
+                        .publishPercentiles(PERCENTILES)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheLookup(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    @Override
+    public void recordCacheEvictions(long count) {
+        cacheEvictions.increment(count);
+    }
+
+    @Override
+    public void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    /**
+     * Values are cumulative since startup, except the decode rate, which is the posts decoded during the last run
+     * over its duration. Write throughput is stored bytes over the summed write time, so it is per writer thread.
+     */
+    @Override
+    public void publishSummary() {
+        if (export == Export.NONE) {
+            return;
+        }
+        List<String> lines = summary();
+        if (export == Export.LOG) {
+            lines.forEach(line -> log.info("Metrics: {}", line));
+            return;
+        }
+        try {
+            Files.write(exportFile, lines);
+            log.info("Metrics written to {}", exportFile);
+        } catch (IOException e) {
+            log.warn("Failed to write metrics to {}", exportFile, e);
+        }
+    }
+
+    List<String> summary() {
+        LastRun run = lastRun;
+        double runSeconds = run.nanos() / 1e9;
+        List<String> lines = new ArrayList<>();
+        lines.add(timerLine(fetchLatency));
+        lines.add(String.format(Locale.ROOT, "posts.fetch.bytes total=%.0f", bytesReceived.count()));
+        lines.add(String.format(Locale.ROOT, "posts.decoded total=%.0f last-run=%.0f rate=%.1f/s",
+                postsDecoded.count(), run.decoded(), runSeconds > 0 ? run.decoded() / runSeconds : 0));
+        lines.add(timerLine(serializationTime));
+        lines.add(timerLine(fileWriteLatency));
+        lines.add(bytesWrittenLine());
+        lines.add(String.format(Locale.ROOT, "posts.duplicates total=%.0f", duplicates.count()));
+        failures.forEach((stage, counter) -> lines.add(String.format(Locale.ROOT,
+                "posts.failures stage=%s total=%.0f", stage.name().toLowerCase(Locale.ROOT), counter.count())));
+        lines.add(cacheLine());
+        meterRegistry.find("posts.run.duration").timers().forEach(timer -> lines.add(timerLine(timer)));
+        meterRegistry.find("posts.query.latency").timers().forEach(timer -> lines.add(timerLine(timer)));
+        return lines;
+    }
+
+    private String bytesWrittenLine() {
+        double raw = rawBytesWritten.count();
+        double stored = storedBytesWritten.count();
+        double writeSeconds = fileWriteLatency.totalTime(TimeUnit.NANOSECONDS) / 1e9;
+        return String.format(Locale.ROOT, "posts.write.bytes raw=%.0f stored=%.0f ratio=%.2f throughput=%.1fMB/s",
+                raw, stored, stored > 0 ? raw / stored : 0, writeSeconds > 0 ? stored / writeSeconds / 1e6 : 0);
+    }
+
+    private String cacheLine() {
+        double hits = cacheHits.count();
+        double lookups = hits + cacheMisses.count();
+        return String.format(Locale.ROOT, "posts.cache hits=%.0f misses=%.0f ratio=%.3f evictions=%.0f",
+                hits, cacheMisses.count(), lookups > 0 ? hits / lookups : 0, cacheEvictions.count());
+    }
+
+    private static String timerLine(Timer timer) {
+        StringBuilder line = new StringBuilder(timer.getId().getName());
+        timer.getId().getTags().forEach(tag -> line.append(' ').append(tag.getKey()).append('=').append(tag.getValue()));
+        line.append(String.format(Locale.ROOT, " count=%d mean=%.3fms max=%.3fms", timer.count(),
+                timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            line.append(String.format(Locale.ROOT, " p%.0f=%.3fms", percentile.percentile() * 100,
+                    percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        return line.toString();
+    }
+
+    private record LastRun(long nanos, double decoded) {
+    }
+}
@@ -1,17 +1,70 @@
 package com.save.posts.infrastructure.adapter;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.save.posts.domain.port.output.FileSystemService;
 
+import lombok.extern.slf4j.Slf4j;
 
+
+/**
+ * With {@code save.atomic-writes} every write goes to a {@code .tmp} sibling of its own and is renamed over the
+ * target, so a crash never leaves a truncated file, and concurrent writes of the same file never share a
+ * temporary file. With {@code save.fsync.enabled} written files are made durable in
+ * group commits: once {@code save.fsync.batch-size} files are pending, or {@code save.fsync.interval-ms} has
+ * passed since the last commit, the pending files are fsynced, renamed into place when writes are atomic, and
+ * their directories fsynced. {@link #flush()} commits whatever is still pending.
+ */
+@Slf4j
 @Component
 public class NioFileSystemAdapter implements FileSystemService {
 
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final boolean atomicWrites;
+    private final boolean fsync;
+    private final int fsyncBatchSize;
+    private final long fsyncIntervalNanos;
+
+    private final Object commitLock = new Object();
+    private Map<Path, Path> pending = new LinkedHashMap<>();
+    private long lastCommitNanos = System.nanoTime();
+
+    public NioFileSystemAdapter() {
+        this(false, false, 0, 0);
+    }
+
+    @Autowired
+    public NioFileSystemAdapter(@Value("${save.atomic-writes:false}") boolean atomicWrites,
+            @Value("${save.fsync.enabled:false}") boolean fsync,
+            @Value("${save.fsync.batch-size:1000}") int fsyncBatchSize,
+            @Value("${save.fsync.interval-ms:1000}") long fsyncIntervalMs) {
+        this.atomicWrites = atomicWrites;
+        this.fsync = fsync;
+        this.fsyncBatchSize = fsyncBatchSize;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+    }
+
     @Override
     public void createDirectoriesIfNotExists(Path directoryPath) throws IOException {
         if (!Files.exists(directoryPath)) {
@@ -21,11 +74,178 @@ public class NioFileSystemAdapter implements FileSystemService {
 
     @Override
     public void writeStringToFile(Path filePath, String content) throws IOException {
-        Files.writeString(filePath, content);
+        writeBytesToFile(filePath, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeBytesToFile(Path filePath, byte[] content) throws IOException {
+        Path writtenPath = writtenPath(filePath);
+        try {
+            Files.write(writtenPath, content);
+        } catch (IOException e) {
+            discard(writtenPath, filePath, e);
+            throw e;
+        }
+        completeWrite(writtenPath, filePath);
+    }
+
+    @Override
+    public String readStringFromFile(Path filePath) throws IOException {
+        return Files.readString(filePath);
     }
 
     @Override
     public boolean exists(Path path) {
         return Files.exists(path);
     }
+
+    @Override
+    public OutputStream openOutputStream(Path filePath) throws IOException {
+        Path writtenPath = writtenPath(filePath);
+        OutputStream outputStream = Files.newOutputStream(writtenPath);
+        if (!atomicWrites && !fsync) {
+            return outputStream;
+        }
+        return new FilterOutputStream(outputStream) {
+            private boolean closed;
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    super.close();
+                    completeWrite(writtenPath, filePath);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void rename(Path source, Path target) throws IOException {
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (fsync) {
+            forceDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    @Override
+    public List<Path> listFiles(Path directoryPath, String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directoryPath, glob)) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    @Override
+    public void deleteIfExists(Path path) throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fsync) {
+            commit();
+        }
+    }
+
+    private Path writtenPath(Path filePath) throws IOException {
+        if (!atomicWrites) {
+            return filePath;
+        }
+        return Files.createTempFile(filePath.toAbsolutePath().getParent(), filePath.getFileName() + ".",
+                TEMP_SUFFIX);
+    }
+
+    private static void discard(Path writtenPath, Path filePath, IOException failure) {
+        if (!writtenPath.equals(filePath)) {
+            try {
+                Files.deleteIfExists(writtenPath);
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Renames {@code writtenPath} over {@code filePath} when they differ, right away or with the batch it is
+     * committed in. A later write of the same file that completes before the commit replaces the earlier one in
+     * the batch, whose temporary file is deleted.
+     */
+    private void completeWrite(Path writtenPath, Path filePath) throws IOException {
+        if (!fsync) {
+            if (!writtenPath.equals(filePath)) {
+                Files.move(writtenPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return;
+        }
+        boolean due;
+        Path superseded;
+        synchronized (this) {
+            superseded = pending.put(filePath, writtenPath);
+            due = pending.size() >= fsyncBatchSize
+                    || (fsyncIntervalNanos > 0 && System.nanoTime() - lastCommitNanos >= fsyncIntervalNanos);
+        }
+        if (superseded != null && !superseded.equals(filePath)) {
+            Files.deleteIfExists(superseded);
+        }
+        if (due) {
+            commit();
+        }
+    }
+
+    /**
+     * Commits are serialized so a later version of a file is never renamed into place before an earlier one.
+     * Writers keep adding to the next batch while a commit is running.
+     */
+    private void commit() throws IOException {
+        synchronized (commitLock) {
+            Map<Path, Path> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                lastCommitNanos = System.nanoTime();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (Path writtenPath : batch.values()) {
+                force(writtenPath, StandardOpenOption.WRITE);
+            }
+            Set<Path> directories = new LinkedHashSet<>();
+            for (Map.Entry<Path, Path> write : batch.entrySet()) {
+                if (!write.getValue().equals(write.getKey())) {
+                    Files.move(write.getValue(), write.getKey(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+                directories.add(write.getKey().toAbsolutePath().getParent());
+            }
+            for (Path directory : directories) {
+                forceDirectory(directory);
+            }
+            log.debug("Committed {} files in {} directories", batch.size(), directories.size());
+        }
+    }
+
+    private static void force(Path path, StandardOpenOption mode) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, mode)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Makes renames and new entries durable. Not every platform can open a directory for fsync.
+     */
+    private static void forceDirectory(Path directory) {
+        try {
+            force(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            log.debug("Directory fsync not supported for {}", directory, e);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.save.posts.domain.service.PostQueryService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * HTTP endpoints of the query server. Stored JSON is sent as it is, without parsing or re-serializing it.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "serve.enabled", havingValue = "true")
+public class PostQueryHandler {
+
+    private final PostQueryService postQueryService;
+
+    /**
+     * {@code GET /posts/{id}}: the post, or {@code 404}.
+     */
+    public Mono<ServerResponse> findById(ServerRequest request) {
+        long id = parse(request.pathVariable("id"), "id");
+        return postQueryService.findById(id)
+                .flatMap(json -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(json))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * {@code GET /posts?userId=}: the posts of the user as a JSON array, ordered by id.
+     */
+    public Mono<ServerResponse> findByUserId(ServerRequest request) {
+        long userId = parse(request.queryParam("userId")
+                .orElseThrow(() -> new ServerWebInputException("Query parameter userId is required")), "userId");
+        return postQueryService.findByUserId(userId)
+                .collectList()
+                .flatMap(posts -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(array(posts)));
+    }
+
+    /**
+     * {@code GET /posts/stream?fromId=&toId=} or {@code ?userId=}: matching posts as newline-delimited JSON,
+     * written as they are read, so the whole corpus can be streamed in constant memory.
+     */
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        Flux<byte[]> posts = request.queryParam("userId").isPresent()
+                ? postQueryService.findByUserId(parse(request.queryParam("userId").get(), "userId"))
+                : postQueryService.findByIdRange(
+                        parse(request.queryParam("fromId").orElse(String.valueOf(Long.MIN_VALUE)), "fromId"),
+                        parse(request.queryParam("toId").orElse(String.valueOf(Long.MAX_VALUE)), "toId"));
+        Flux<DataBuffer> lines = posts.map(json -> DefaultDataBufferFactory.sharedInstance.wrap(line(json)));
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(BodyInserters.fromDataBuffers(lines));
+    }
+
+    private static long parse(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException(name + " must be a number, was '" + value + "'");
+        }
+    }
+
+    private static byte[] array(List<byte[]> posts) {
+        ByteArrayOutputStream array = new ByteArrayOutputStream(
+                posts.stream().mapToInt(json -> json.length + 1).sum() + 2);
+        array.write('[');
+        for (int i = 0; i < posts.size(); i++) {
+            if (i > 0) {
+                array.write(',');
+            }
+            array.writeBytes(posts.get(i));
+        }
+        array.write(']');
+        return array.toByteArray();
+    }
+
+    /**
+     * A raw line break can only be whitespace between JSON tokens, since strings escape it, so dropping them
+     * turns pretty-printed posts into single lines.
+     */
+    static byte[] line(byte[] json) {
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        int length = 0;
+        for (byte b : json) {
+            if (b != '\n' && b != '\r') {
+                line[length++] = b;
+            }
+        }
+        line[length++] = '\n';
+        return length == line.length ? line : Arrays.copyOf(line, length);
+    }
+}
@@ -0,0 +1,112 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.save.posts.domain.model.CacheValidators;
+import com.save.posts.domain.port.output.FetchStateStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Keeps fetch state in a properties file next to the saved posts, keyed by request URI.
+ */
+@Slf4j
+@Component
+public class PropertiesFetchStateStore implements FetchStateStore {
+
+    static final String FILE_NAME = ".fetch-state.properties";
+
+    private static final String ETAG_SUFFIX = ".etag";
+    private static final String LAST_MODIFIED_SUFFIX = ".last-modified";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private final Path statePath;
+
+    public PropertiesFetchStateStore(@Value("${save.directory}") String saveDirectory) {
+        this.statePath = Paths.get(saveDirectory, FILE_NAME);
+    }
+
+    @Override
+    public synchronized Optional<CacheValidators> loadValidators(String uri) {
+        Properties state = load();
+        CacheValidators validators = new CacheValidators(state.getProperty(uri + ETAG_SUFFIX),
+                state.getProperty(uri + LAST_MODIFIED_SUFFIX));
+        return validators.isEmpty() ? Optional.empty() : Optional.of(validators);
+    }
+
+    @Override
+    public synchronized void storeValidators(String uri, CacheValidators validators) {
+        Properties state = load();
+        setOrRemove(state, uri + ETAG_SUFFIX, validators.etag());
+        setOrRemove(state, uri + LAST_MODIFIED_SUFFIX, validators.lastModified());
+        store(state);
+    }
+
+    @Override
+    public synchronized Optional<String> loadCheckpoint(String key) {
+        return Optional.ofNullable(load().getProperty(key + CHECKPOINT_SUFFIX));
+    }
+
+    @Override
+    public synchronized void storeCheckpoint(String key, String position) {
+        Properties state = load();
+        state.setProperty(key + CHECKPOINT_SUFFIX, position);
+        store(state);
+    }
+
+    @Override
+    public synchronized void clearCheckpoint(String key) {
+        Properties state = load();
+        if (state.remove(key + CHECKPOINT_SUFFIX) != null) {
+            store(state);
+        }
+    }
+
+    private static void setOrRemove(Properties state, String key, String value) {
+        if (value == null) {
+            state.remove(key);
+        } else {
+            state.setProperty(key, value);
+        }
+    }
+
+    private Properties load() {
+        Properties state = new Properties();
+        if (Files.exists(statePath)) {
+            try (Reader reader = Files.newBufferedReader(statePath)) {
+                state.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Ignoring unreadable fetch state {}", statePath, e);
+            }
+        }
+        return state;
+    }
+
+    private void store(Properties state) {
+        try {
+            if (statePath.getParent() != null) {
+                Files.createDirectories(statePath.getParent());
+            }
+            Path tempPath = statePath.resolveSibling(FILE_NAME + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempPath)) {
+                state.store(writer, null);
+            }
+            Files.move(tempPath, statePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store fetch state to " + statePath, e);
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package com.save.posts.infrastructure.adapter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.save.posts.domain.model.CacheValidators;
+import com.save.posts.domain.model.ConditionalResponse;
+import com.save.posts.domain.model.HttpPage;
 import com.save.posts.domain.port.output.HttpClient;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 
 @RequiredArgsConstructor
 @Component
 public class SpringWebClientAdapter implements HttpClient {
 
+    private static final Pattern LINK_ENTRY = Pattern.compile("<([^>]*)>([^<]*)");
+    private static final Pattern REL_PARAM = Pattern.compile("(?i)\\brel\\s*=\\s*\"?([^\";,]*)");
+
     private final WebClient webClient;
 
     @Override
@@ -22,4 +40,79 @@ public class SpringWebClientAdapter implements HttpClient {
                 .retrieve()
                 .bodyToFlux(responseType);
     }
+
+    @Override
+    public <T> Mono<HttpPage<T>> getPage(String uri, Class<T> responseType) {
+        return webClient.get()
+                .uri(uri)
+                .retrieve()
+                .toEntityList(responseType)
+                .map(entity -> new HttpPage<>(
+                        entity.getBody() != null ? entity.getBody() : List.of(),
+                        nextLink(uri, entity.getHeaders())));
+    }
+
+    @Override
+    public <T> Mono<ConditionalResponse<T>> getIfModified(String uri, Class<T> responseType,
+            CacheValidators validators) {
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (validators.etag() != null) {
+                        headers.setIfNoneMatch(validators.etag());
+                    }
+                    if (validators.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+                    }
+                })
+                .retrieve()
+                .toEntityFlux(responseType)
+                .map(entity -> {
+                    if (entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        return ConditionalResponse.<T>notModified(validators);
+                    }
+                    CacheValidators received = new CacheValidators(entity.getHeaders().getETag(),
+                            entity.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+                    return new ConditionalResponse<>(false,
+                            entity.getBody() != null ? entity.getBody() : Flux.<T>empty(), received);
+                });
+    }
+
+    /**
+     * Connection failures, timeouts, dropped connections and {@code 5xx}, {@code 408} and {@code 429} responses.
+     */
+    @Override
+    public boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return response.getStatusCode().is5xxServerError() || status == HttpStatus.REQUEST_TIMEOUT.value()
+                    || status == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof IOException
+                || error instanceof TimeoutException
+                || error instanceof io.netty.handler.timeout.TimeoutException;
+    }
+
+    static String nextLink(String requestUri, HttpHeaders headers) {
+        for (String header : headers.getOrEmpty(HttpHeaders.LINK)) {
+            Matcher entry = LINK_ENTRY.matcher(header);
+            while (entry.find()) {
+                Matcher rel = REL_PARAM.matcher(entry.group(2));
+                if (rel.find() && isNextRelation(rel.group(1))) {
+                    return URI.create(requestUri).resolve(entry.group(1).trim()).toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNextRelation(String relations) {
+        for (String relation : relations.trim().split("\\s+")) {
+            if (relation.equalsIgnoreCase("next")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
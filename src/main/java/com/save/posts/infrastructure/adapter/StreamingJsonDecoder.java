@@ -0,0 +1,217 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decodes a JSON response into a stream of application objects as its bytes arrive. A top-level array is
+ * split into its elements with Jackson's non-blocking parser, fed straight from the received buffers, so only
+ * the tokens of the element being read are held in memory and arrays of any size decode in constant memory.
+ * A single element, or a response that is a single object, may take at most {@code maxElementBytes}.
+ * <p>
+ * Like Spring's default Jackson decoder, which this one replaces, unknown properties are ignored, so a feed
+ * adding a field does not fail the fetch.
+ */
+public class StreamingJsonDecoder extends AbstractDecoder<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final int maxElementBytes;
+
+    public StreamingJsonDecoder(ObjectMapper objectMapper, int maxElementBytes) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        this.maxElementBytes = maxElementBytes;
+    }
+
+    /**
+     * Only application types; strings, buffers, collections and other JDK or Spring types are left to the
+     * default codecs.
+     */
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        return super.canDecode(elementType, mimeType)
+                && !type.isArray() && !type.isPrimitive() && !type.isInterface()
+                && !type.getName().startsWith("java.") && !type.getName().startsWith("org.springframework.");
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+            MimeType mimeType, Map<String, Object> hints) {
+        ObjectReader reader = reader(elementType);
+        return Flux.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer();
+            return Flux.from(input)
+                    .concatMapIterable(tokenizer::feed)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                    .map(tokens -> read(reader, tokens))
+                    .doFinally(signal -> tokenizer.close());
+        });
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
+            MimeType mimeType, Map<String, Object> hints) {
+        return DataBufferUtils.join(input, maxElementBytes)
+                .flatMap(buffer -> Mono.justOrEmpty(decode(buffer, elementType, mimeType, hints)));
+    }
+
+    @Override
+    public Object decode(DataBuffer buffer, ResolvableType targetType, MimeType mimeType,
+            Map<String, Object> hints) {
+        try {
+            return reader(targetType).readValue(buffer.asInputStream());
+        } catch (IOException e) {
+            throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private ObjectReader reader(ResolvableType type) {
+        return objectMapper.readerFor(objectMapper.constructType(type.getType()))
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private static Object read(ObjectReader reader, TokenBuffer tokens) {
+        try (JsonParser parser = tokens.asParser()) {
+            return reader.readValue(parser);
+        } catch (IOException e) {
+            throw Exceptions.propagate(new DecodingException("JSON decoding error: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Collects the tokens of each top-level array element, or of the single top-level value, into a
+     * {@link TokenBuffer} of its own. Every buffer is parsed completely before it is released.
+     */
+    private final class Tokenizer {
+
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private boolean started;
+        private boolean inArray;
+        private boolean finished;
+        private int depth;
+        private TokenBuffer element;
+        private long elementStart;
+
+        Tokenizer() {
+            try {
+                parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Jackson does not support non-blocking parsing", e);
+            }
+            feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<TokenBuffer> feed(DataBuffer buffer) {
+            List<TokenBuffer> elements = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator byteBuffers = buffer.readableByteBuffers()) {
+                while (byteBuffers.hasNext()) {
+                    ByteBuffer byteBuffer = byteBuffers.next();
+                    feeder.feedInput(byteBuffer);
+                    drain(elements);
+                }
+                return elements;
+            } catch (IOException e) {
+                throw Exceptions.propagate(new DecodingException("JSON decoding error: " + e.getMessage(), e));
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<TokenBuffer> endOfInput() {
+            List<TokenBuffer> elements = new ArrayList<>();
+            try {
+                feeder.endOfInput();
+                drain(elements);
+            } catch (IOException e) {
+                throw Exceptions.propagate(new DecodingException("JSON decoding error: " + e.getMessage(), e));
+            }
+            if (started && !finished) {
+                throw new DecodingException("JSON decoding error: response ended in the middle of "
+                        + (inArray ? "the array" : "the value"));
+            }
+            return elements;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // nothing to release beyond the parser's own buffers
+            }
+        }
+
+        private void drain(List<TokenBuffer> elements) throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token, elements);
+            }
+        }
+
+        private void onToken(JsonToken token, List<TokenBuffer> elements) throws IOException {
+            if (finished) {
+                throw new DecodingException("JSON decoding error: unexpected " + token + " after the top-level value");
+            }
+            if (!started) {
+                started = true;
+                if (token == JsonToken.START_ARRAY) {
+                    inArray = true;
+                    depth = 1;
+                    return;
+                }
+            }
+            if (inArray && depth == 1 && token == JsonToken.END_ARRAY) {
+                depth = 0;
+                finished = true;
+                return;
+            }
+            if (element == null) {
+                element = new TokenBuffer(parser, null);
+                elementStart = parser.currentTokenLocation().getByteOffset();
+            }
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (parser.currentLocation().getByteOffset() - elementStart > maxElementBytes) {
+                throw new DataBufferLimitException("Exceeded limit on max bytes per JSON element: " + maxElementBytes);
+            }
+            if (depth == (inArray ? 1 : 0)) {
+                elements.add(element);
+                element = null;
+                finished = !inArray;
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.save.posts.domain.model.SerializedPost;
+import com.save.posts.domain.port.output.PostCache;
+import com.save.posts.domain.port.output.PostMetrics;
+
+
+/**
+ * Serialized posts by id, bounded by {@code cache.max-bytes}, with W-TinyLFU eviction. New posts enter a small
+ * LRU window of 1% of the bytes. Posts leaving the window join the probation segment of the main space only if
+ * they were used more often than the probation post they would push out, as estimated by a count-min sketch of
+ * recent uses, so a one-off scan cannot flush frequently used posts. A probation post used again moves to the
+ * protected segment, 80% of the main space, whose least recently used posts fall back to probation.
+ * <p>
+ * An entry weighs its JSON bytes, twice when it also holds the post it was serialized from, plus a fixed
+ * overhead. All operations take one lock, which is held for a few pointer updates.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.enabled", havingValue = "true")
+public class TinyLfuPostCache implements PostCache {
+
+    private static final int ENTRY_OVERHEAD = 96;
+    private static final int AVERAGE_ENTRY_BYTES = 512;
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final PostMetrics postMetrics;
+    private final long maxBytes;
+    private final long windowMaxBytes;
+    private final long protectedMaxBytes;
+    private final FrequencySketch sketch;
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final Node[] queues = {Node.sentinel(), Node.sentinel(), Node.sentinel()};
+    private final long[] queueBytes = new long[3];
+
+    public TinyLfuPostCache(PostMetrics postMetrics, @Value("${cache.max-bytes:67108864}") long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("cache.max-bytes must be positive, was " + maxBytes);
+        }
+        this.postMetrics = postMetrics;
+        this.maxBytes = maxBytes;
+        this.windowMaxBytes = Math.max(1, maxBytes / 100);
+        this.protectedMaxBytes = (maxBytes - windowMaxBytes) * 8 / 10;
+        this.sketch = new FrequencySketch(maxBytes / AVERAGE_ENTRY_BYTES);
+    }
+
+    @Override
+    public Optional<SerializedPost> get(long id) {
+        SerializedPost post = null;
+        synchronized (this) {
+            sketch.increment(id);
+            Node node = nodes.get(id);
+            if (node != null) {
+                onAccess(node);
+                post = node.post;
+            }
+        }
+        postMetrics.recordCacheLookup(post != null);
+        return Optional.ofNullable(post);
+    }
+
+    /**
+     * Does not count as a use, since callers put what they just failed to get.
+     */
+    @Override
+    public void put(long id, SerializedPost post) {
+        long weight = weight(post);
+        int evicted;
+        synchronized (this) {
+            Node node = nodes.get(id);
+            if (weight > maxBytes) {
+                if (node != null) {
+                    remove(node);
+                }
+                return;
+            }
+            if (node != null) {
+                queueBytes[node.queue] += weight - node.weight;
+                node.post = post;
+                node.weight = weight;
+                onAccess(node);
+            } else {
+                node = new Node(id, post, weight);
+                nodes.put(id, node);
+                append(WINDOW, node);
+            }
+            evicted = evict();
+        }
+        if (evicted > 0) {
+            postMetrics.recordCacheEvictions(evicted);
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        nodes.clear();
+        for (int queue = WINDOW; queue <= PROTECTED; queue++) {
+            queues[queue].next = queues[queue];
+            queues[queue].previous = queues[queue];
+            queueBytes[queue] = 0;
+        }
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized long weightedBytes() {
+        return queueBytes[WINDOW] + queueBytes[PROBATION] + queueBytes[PROTECTED];
+    }
+
+    private static long weight(SerializedPost post) {
+        return (long) post.json().length * (post.post() != null ? 2 : 1) + ENTRY_OVERHEAD;
+    }
+
+    private void onAccess(Node node) {
+        if (node.queue != PROBATION) {
+            unlink(node);
+            append(node.queue, node);
+            return;
+        }
+        unlink(node);
+        append(PROTECTED, node);
+        while (queueBytes[PROTECTED] > protectedMaxBytes && queues[PROTECTED].next != node) {
+            Node demoted = queues[PROTECTED].next;
+            unlink(demoted);
+            append(PROBATION, demoted);
+        }
+    }
+
+    /**
+     * Posts pushed out of the window become candidates at the end of probation. While the cache is too large
+     * the first candidate competes with the least recently used probation post and the less frequent one goes;
+     * without candidates, the least recently used post of probation, protected and window in that order goes.
+     */
+    private int evict() {
+        Node candidate = null;
+        while (queueBytes[WINDOW] > windowMaxBytes) {
+            Node moved = queues[WINDOW].next;
+            unlink(moved);
+            append(PROBATION, moved);
+            if (candidate == null) {
+                candidate = moved;
+            }
+        }
+        int evicted = 0;
+        while (queueBytes[WINDOW] + queueBytes[PROBATION] + queueBytes[PROTECTED] > maxBytes) {
+            Node victim = first(PROBATION);
+            if (victim == null) {
+                victim = first(PROTECTED) != null ? first(PROTECTED) : first(WINDOW);
+            }
+            Node evict = victim;
+            if (candidate != null && candidate != victim && victim.queue == PROBATION
+                    && sketch.frequency(candidate.id) <= sketch.frequency(victim.id)) {
+                evict = candidate;
+            }
+            if (evict == candidate) {
+                candidate = candidate.next != queues[PROBATION] ? candidate.next : null;
+            }
+            remove(evict);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    private Node first(int queue) {
+        Node first = queues[queue].next;
+        return first != queues[queue] ? first : null;
+    }
+
+    private void append(int queue, Node node) {
+        Node sentinel = queues[queue];
+        node.queue = queue;
+        node.previous = sentinel.previous;
+        node.next = sentinel;
+        sentinel.previous.next = node;
+        sentinel.previous = node;
+        queueBytes[queue] += node.weight;
+    }
+
+    private void unlink(Node node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        queueBytes[node.queue] -= node.weight;
+    }
+
+    private void remove(Node node) {
+        unlink(node);
+        nodes.remove(node.id);
+    }
+
+    private static final class Node {
+
+        final long id;
+        SerializedPost post;
+        long weight;
+        int queue;
+        Node previous;
+        Node next;
+
+        Node(long id, SerializedPost post, long weight) {
+            this.id = id;
+            this.post = post;
+            this.weight = weight;
+        }
+
+        static Node sentinel() {
+            Node sentinel = new Node(0, null, 0);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+    }
+
+    /**
+     * Four saturating counters per id in a table sized for the expected number of entries. Once ten times as many
+     * uses as the table has counters were counted, every counter is halved, so the estimate follows recent use.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0x97CB3127B7F6C0F1L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0x9E3779B97F4A7C15L
+        };
+        private static final int MAX_COUNT = 15;
+        private static final int MAX_SIZE = 1 << 24;
+
+        private final byte[] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(long expectedEntries) {
+            int size = 4096;
+            while (size < expectedEntries && size < MAX_SIZE) {
+                size <<= 1;
+            }
+            counters = new byte[size];
+            mask = size - 1;
+            sampleSize = 10 * size;
+        }
+
+        int frequency(long id) {
+            int frequency = MAX_COUNT;
+            for (long seed : SEEDS) {
+                frequency = Math.min(frequency, counters[index(id, seed)]);
+            }
+            return frequency;
+        }
+
+        void increment(long id) {
+            boolean added = false;
+            for (long seed : SEEDS) {
+                int index = index(id, seed);
+                if (counters[index] < MAX_COUNT) {
+                    counters[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        private int index(long id, long seed) {
+            long hash = (id + seed) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+            hash *= 0x94D049BB133111EBL;
+            hash ^= hash >>> 29;
+            return (int) hash & mask;
+        }
+    }
+}
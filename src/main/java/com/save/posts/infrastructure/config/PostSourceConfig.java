@@ -0,0 +1,64 @@
+package com.save.posts.infrastructure.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.save.posts.domain.model.PostSource;
+
+@Configuration
+public class PostSourceConfig {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    /**
+     * The sources listed under {@code api.sources}, or else the single unnamed source of {@code api.url}. A name
+     * becomes a directory under the save directory, so it has to be a single path segment and unique. Sources
+     * without their own {@code rate-limit} get {@code api.rate-limit}.
+     */
+    @Bean
+    public List<PostSource> postSources(Environment environment, @Value("${api.url:}") String apiUrl,
+            @Value("${api.rate-limit:0}") double rateLimit) {
+        List<SourceProperties> configured = Binder.get(environment)
+                .bind("api.sources", Bindable.listOf(SourceProperties.class))
+                .orElse(List.of());
+        if (configured.isEmpty()) {
+            if (apiUrl.isBlank()) {
+                throw new IllegalArgumentException("Either api.url or api.sources must be configured");
+            }
+            return List.of(new PostSource("", apiUrl, rateLimit));
+        }
+
+        Set<String> names = new HashSet<>();
+        List<PostSource> sources = new ArrayList<>(configured.size());
+        for (int i = 0; i < configured.size(); i++) {
+            SourceProperties source = configured.get(i);
+            String property = "api.sources[" + i + "]";
+            if (source.name() == null || !NAME.matcher(source.name()).matches()) {
+                throw new IllegalArgumentException(property + ".name must be a directory name made of letters, "
+                        + "digits, '.', '_' and '-', was " + source.name());
+            }
+            if (!names.add(source.name())) {
+                throw new IllegalArgumentException(property + ".name " + source.name() + " is used twice");
+            }
+            if (source.url() == null || source.url().isBlank()) {
+                throw new IllegalArgumentException(property + ".url must be set");
+            }
+            sources.add(new PostSource(source.name(), source.url(),
+                    source.rateLimit() != null ? source.rateLimit() : rateLimit));
+        }
+        return List.copyOf(sources);
+    }
+
+    record SourceProperties(String name, String url, Double rateLimit) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.save.posts.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.infrastructure.adapter.PostQueryHandler;
+
+@Configuration
+@ConditionalOnProperty(name = "serve.enabled", havingValue = "true")
+public class QueryServerConfig {
+
+    /**
+     * Routes are matched in order, so {@code /posts/stream} is not taken for an id.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> postRoutes(PostQueryHandler postQueryHandler) {
+        return RouterFunctions.route()
+                .GET("/posts/stream", postQueryHandler::stream)
+                .GET("/posts/{id}", postQueryHandler::findById)
+                .GET("/posts", postQueryHandler::findByUserId)
+                .build();
+    }
+
+    /**
+     * Times every request until its response is written, tagged with the route pattern rather than the path so
+     * the number of timers stays fixed.
+     */
+    @Bean
+    public WebFilter queryLatencyFilter(PostMetrics postMetrics) {
+        return (exchange, chain) -> {
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                PathPattern pattern = exchange.getAttribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE);
+                postMetrics.recordQuery(pattern != null ? pattern.getPatternString() : "unmatched",
+                        System.nanoTime() - start);
+            });
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.save.posts.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    private static final int WRITE_QUEUE_CAPACITY = 10_000;
+    private static final int READ_QUEUE_CAPACITY = 100_000;
+
+    /**
+     * Dedicated pool for blocking file writes, sized by {@code save.parallelism} so writes never compete
+     * with the HTTP event loop or the shared bounded elastic scheduler.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler postWriteScheduler(@Value("${save.parallelism:4}") int parallelism) {
+        return Schedulers.newBoundedElastic(parallelism, WRITE_QUEUE_CAPACITY, "post-writer");
+    }
+
+    /**
+     * Blocking reads of the query server, so a cache miss never stalls the event loop that serves cached posts.
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "serve.enabled", havingValue = "true")
+    public Scheduler postReadScheduler(@Value("${serve.read-threads:16}") int readThreads) {
+        return Schedulers.newBoundedElastic(readThreads, READ_QUEUE_CAPACITY, "post-reader");
+    }
+
+    /**
+     * Triggers the scheduled runs of daemon mode. Its thread is not a daemon thread, so it keeps the JVM alive
+     * until the context is closed.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "daemon.enabled", havingValue = "true")
+    public ThreadPoolTaskScheduler postSyncScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("post-sync-");
+        return scheduler;
+    }
+}
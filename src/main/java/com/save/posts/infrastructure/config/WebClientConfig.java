@@ -1,23 +1,101 @@
 package com.save.posts.infrastructure.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.infrastructure.adapter.StreamingJsonDecoder;
+
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * JSON bodies of application types are decoded by {@link StreamingJsonDecoder}, which reads an array
+     * response post by post as it arrives; {@code api.http.max-post-bytes} bounds a single post rather than
+     * the whole response.
+     */
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(HttpClient postsHttpClient, PostMetrics postMetrics, ObjectMapper objectMapper,
+            @Value("${api.http.max-post-bytes:1048576}") int maxPostBytes) {
         return WebClient.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .clientConnector(new ReactorClientHttpConnector(postsHttpClient))
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().maxInMemorySize(maxPostBytes);
+                    configurer.customCodecs().register(new StreamingJsonDecoder(objectMapper, maxPostBytes));
+                })
+                .filter(metricsFilter(postMetrics))
+                .build();
+    }
+
+    /**
+     * Connections to the posts API are kept alive and reused from a dedicated pool of
+     * {@code api.http.max-connections}. Requests beyond that wait for a free connection, at most
+     * {@code api.http.pending-acquire-max-count} of them and for {@code api.http.pending-acquire-timeout-ms}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider postsConnectionProvider(
+            @Value("${api.http.max-connections:64}") int maxConnections,
+            @Value("${api.http.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${api.http.pending-acquire-timeout-ms:45000}") long pendingAcquireTimeoutMs,
+            @Value("${api.http.max-idle-time-ms:30000}") long maxIdleTimeMs) {
+        return ConnectionProvider.builder("posts-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
                 .build();
     }
 
+    /**
+     * {@code h2} is negotiated over TLS and {@code h2c} is spoken with prior knowledge; listing {@code http11}
+     * as well lets the client fall back for servers without HTTP/2. Over HTTP/2 concurrent requests are
+     * multiplexed as streams on the pooled connections. The read timeout applies between reads of one response.
+     */
+    @Bean
+    public HttpClient postsHttpClient(ConnectionProvider postsConnectionProvider,
+            @Value("${api.http.protocols:HTTP11}") HttpProtocol[] protocols,
+            @Value("${api.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${api.http.read-timeout-ms:30000}") long readTimeoutMs,
+            @Value("${api.http.compression:true}") boolean compression) {
+        return HttpClient.create(postsConnectionProvider)
+                .protocol(protocols)
+                .keepAlive(true)
+                .compress(compression)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         return new ObjectMapper();
     }
+
+    /**
+     * Records the time to response headers of every exchange and counts body bytes as they are read.
+     */
+    static ExchangeFilterFunction metricsFilter(PostMetrics postMetrics) {
+        return (request, next) -> Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> postMetrics.recordFetch(System.nanoTime() - start))
+                    .map(response -> response.mutate()
+                            .body(body -> body.doOnNext(
+                                    buffer -> postMetrics.recordBytesReceived(buffer.readableByteCount())))
+                            .build());
+        });
+    }
 }
@@ -0,0 +1,8 @@
+package com.save.posts.infrastructure.exception;
+
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,81 @@
+package com.save.posts.domain.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofNanos(1000), now::get);
+
+    @Test
+    void should_Open_AfterThresholdOfConsecutiveFailures() {
+        failTimes(2);
+        breaker.onSuccess();
+        failTimes(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        failTimes(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void should_LetOneTrialThrough_AfterOpenDuration() {
+        failTimes(3);
+        now.addAndGet(1000);
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void should_Reopen_WhenTrialFails() {
+        failTimes(3);
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void should_AllowNewTrial_WhenTrialIsCancelled() {
+        failTimes(3);
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onCancel();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void should_RejectNonPositiveThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, Duration.ofSeconds(1)));
+    }
+
+    private void failTimes(int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+}
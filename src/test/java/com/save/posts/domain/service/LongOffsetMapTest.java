@@ -0,0 +1,86 @@
+package com.save.posts.domain.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class LongOffsetMapTest {
+
+    @Test
+    void should_ReturnMissing_WhenKeyAbsent() {
+        LongOffsetMap map = new LongOffsetMap(0);
+
+        assertEquals(LongOffsetMap.MISSING, map.get(42));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void should_ReplaceOffset_WhenKeyPutAgain() {
+        LongOffsetMap map = new LongOffsetMap(4);
+
+        assertEquals(LongOffsetMap.MISSING, map.put(7, 100));
+        assertEquals(100, map.put(7, 200));
+
+        assertEquals(200, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void should_StoreEdgeKeys() {
+        LongOffsetMap map = new LongOffsetMap(4);
+
+        map.put(Long.MIN_VALUE, 1);
+        map.put(Long.MAX_VALUE, 2);
+        map.put(0, 3);
+        map.put(-1, 4);
+
+        assertEquals(1, map.get(Long.MIN_VALUE));
+        assertEquals(2, map.get(Long.MAX_VALUE));
+        assertEquals(3, map.get(0));
+        assertEquals(4, map.get(-1));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void should_KeepAllMappings_WhenGrowingPastInitialCapacity() {
+        LongOffsetMap map = new LongOffsetMap(16);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long key = i % 2 == 0 ? i : random.nextLong();
+            long offset = random.nextLong(Long.MAX_VALUE);
+            map.put(key, offset);
+            expected.put(key, offset);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, offset) -> assertEquals(offset, map.get(key)));
+    }
+
+    @Test
+    void should_VisitEveryMapping_IncludingFreeMarkerKey() {
+        LongOffsetMap map = new LongOffsetMap(4);
+        for (long key = 1; key <= 100; key++) {
+            map.put(key, key * 10);
+        }
+        map.put(Long.MIN_VALUE, 7);
+        Map<Long, Long> visited = new HashMap<>();
+
+        map.forEach(visited::put);
+
+        assertEquals(101, visited.size());
+        assertEquals(7L, visited.get(Long.MIN_VALUE));
+        assertEquals(1000L, visited.get(100L));
+    }
+
+    @Test
+    void should_RejectNegativeOffset() {
+        LongOffsetMap map = new LongOffsetMap(4);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, -5));
+    }
+}
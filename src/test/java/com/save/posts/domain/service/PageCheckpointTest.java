@@ -0,0 +1,57 @@
+package com.save.posts.domain.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.save.posts.domain.model.Post;
+
+class PageCheckpointTest {
+
+    private final PageCheckpoint checkpoint = new PageCheckpoint();
+
+    @Test
+    void should_Advance_OnlyWhenEveryEarlierPageIsSaved() {
+        Post first = post(1);
+        Post second = post(2);
+        Post third = post(3);
+        checkpoint.register(0, List.of(first, second), "1");
+        checkpoint.register(1, List.of(third), "2");
+
+        assertEquals(Optional.empty(), checkpoint.acknowledge(third));
+        assertEquals(Optional.empty(), checkpoint.acknowledge(first));
+        assertEquals(Optional.of("2"), checkpoint.acknowledge(second));
+    }
+
+    @Test
+    void should_CompleteEmptyPages_OnRegistration() {
+        Post first = post(1);
+        checkpoint.register(0, List.of(first), "1");
+        checkpoint.acknowledge(first);
+
+        assertEquals(Optional.of("2"), checkpoint.register(1, List.of(), "2"));
+    }
+
+    @Test
+    void should_MatchPostsByIdentity() {
+        Post saved = post(1);
+        checkpoint.register(0, List.of(saved), "1");
+
+        assertEquals(Optional.empty(), checkpoint.acknowledge(post(1)));
+        assertEquals(Optional.of("1"), checkpoint.acknowledge(saved));
+    }
+
+    @Test
+    void should_NotCheckpoint_AfterLastPage() {
+        Post last = post(1);
+        checkpoint.register(0, List.of(last), null);
+
+        assertEquals(Optional.empty(), checkpoint.acknowledge(last));
+    }
+
+    private static Post post(long id) {
+        return new Post(1L, id, "Title " + id, "Body " + id);
+    }
+}
@@ -1,23 +1,40 @@
 package com.save.posts.domain.service;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.save.posts.domain.model.CacheValidators;
+import com.save.posts.domain.model.ConditionalResponse;
+import com.save.posts.domain.model.HttpPage;
+import com.save.posts.domain.model.PaginationStyle;
 import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostSource;
+import com.save.posts.domain.port.output.FetchStateStore;
 import com.save.posts.domain.port.output.HttpClient;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.infrastructure.exception.CircuitOpenException;
 import com.save.posts.infrastructure.exception.PostProcessingException;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +43,12 @@ class PostApiServiceTest {
     @Mock
     private HttpClient httpClient;
 
+    @Mock
+    private FetchStateStore fetchStateStore;
+
+    @Mock
+    private PostMetrics postMetrics;
+
     @InjectMocks
     private PostApiService postApiService;
 
@@ -83,6 +106,339 @@ class PostApiServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void should_StreamPosts_WithoutCollecting() {
+        Post post1 = new Post(1L, 1L, "Test Title 1", "Test Body 1");
+        Post post2 = new Post(1L, 2L, "Test Title 2", "Test Body 2");
+
+        when(httpClient.get(eq(API_URL), eq(Post.class)))
+                .thenReturn(Flux.just(post1, post2));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNext(post1)
+                .expectNext(post2)
+                .verifyComplete();
+
+        verify(postMetrics, times(2)).recordPostDecoded();
+    }
+
+    @Test
+    void should_HonourDemand_WhenStreamingPosts() {
+        when(httpClient.get(eq(API_URL), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(generatePosts(1000)));
+
+        StepVerifier.create(postApiService.streamPosts(), 0)
+                .expectSubscription()
+                .thenRequest(2)
+                .expectNextCount(2)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void should_ThrowPostProcessingException_WhenStreamFails() {
+        RuntimeException httpError = new RuntimeException("HTTP connection failed");
+        when(httpClient.get(anyString(), eq(Post.class)))
+                .thenReturn(Flux.error(httpError));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectErrorMatches(throwable -> throwable instanceof PostProcessingException &&
+                        throwable.getMessage().equals("Failed to fetch posts from API") &&
+                        throwable.getCause() == httpError)
+                .verify();
+
+        verify(postMetrics).recordFailure(PostMetrics.Stage.FETCH);
+    }
+
+    @Test
+    void should_FetchNumberedPagesInOrder_UntilShortPage() {
+        usePagination(PaginationStyle.PAGE, 2);
+        List<Post> posts = generatePosts(5);
+
+        when(httpClient.get(eq(API_URL + "?_page=1&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(0, 2)));
+        when(httpClient.get(eq(API_URL + "?_page=2&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(2, 4)).delaySubscription(Duration.ofMillis(50)));
+        when(httpClient.get(eq(API_URL + "?_page=3&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(4, 5)));
+        lenient().when(httpClient.get(eq(API_URL + "?_page=4&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNextSequence(posts)
+                .verifyComplete();
+
+        verify(httpClient, never()).get(eq(API_URL + "?_page=5&_limit=2"), eq(Post.class));
+    }
+
+    @Test
+    void should_MergeRangePagesUnordered_WhenOrderingDisabled() {
+        usePagination(PaginationStyle.RANGE, 2);
+        ReflectionTestUtils.setField(postApiService, "ordered", false);
+        List<Post> posts = generatePosts(3);
+
+        when(httpClient.get(eq(API_URL + "?_start=0&_end=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(0, 2)).delaySubscription(Duration.ofMillis(50)));
+        when(httpClient.get(eq(API_URL + "?_start=2&_end=4"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(2, 3)));
+        lenient().when(httpClient.get(eq(API_URL + "?_start=4&_end=6"), eq(Post.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNext(posts.get(2))
+                .expectNext(posts.get(0), posts.get(1))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_FollowLinkHeaders_UntilNoNextPage() {
+        usePagination(PaginationStyle.LINK, 2);
+        List<Post> posts = generatePosts(3);
+        String secondPage = API_URL + "?cursor=abc";
+
+        when(httpClient.getPage(eq(API_URL), eq(Post.class)))
+                .thenReturn(Mono.just(new HttpPage<>(posts.subList(0, 2), secondPage)));
+        when(httpClient.getPage(eq(secondPage), eq(Post.class)))
+                .thenReturn(Mono.just(new HttpPage<>(posts.subList(2, 3), null)));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNextSequence(posts)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_CollectAllPages_WhenFetchingPosts() {
+        usePagination(PaginationStyle.PAGE, 2);
+        List<Post> posts = generatePosts(3);
+
+        when(httpClient.get(eq(API_URL + "?_page=1&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(0, 2)));
+        when(httpClient.get(eq(API_URL + "?_page=2&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(2, 3)));
+        lenient().when(httpClient.get(eq(API_URL + "?_page=3&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(postApiService.fetchPosts())
+                .expectNext(posts)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_ThrowPostProcessingException_WhenPageRequestFails() {
+        usePagination(PaginationStyle.PAGE, 2);
+        RuntimeException httpError = new RuntimeException("HTTP connection failed");
+
+        when(httpClient.get(anyString(), eq(Post.class)))
+                .thenReturn(Flux.error(httpError));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectErrorMatches(throwable -> throwable instanceof PostProcessingException &&
+                        throwable.getCause() == httpError)
+                .verify();
+    }
+
+    @Test
+    void should_SkipPosts_WhenUpstreamNotModified() {
+        ReflectionTestUtils.setField(postApiService, "conditionalRequests", true);
+        CacheValidators known = new CacheValidators("\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        when(fetchStateStore.loadValidators(API_URL)).thenReturn(Optional.of(known));
+        when(httpClient.getIfModified(API_URL, Post.class, known))
+                .thenReturn(Mono.just(ConditionalResponse.notModified(known)));
+
+        StepVerifier.create(postApiService.streamPosts().then(postApiService.commit()))
+                .verifyComplete();
+
+        verify(fetchStateStore, never()).storeValidators(anyString(), any());
+    }
+
+    @Test
+    void should_StoreNewValidators_OnlyOnCommit() {
+        ReflectionTestUtils.setField(postApiService, "conditionalRequests", true);
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+        CacheValidators received = new CacheValidators("\"v2\"", null);
+
+        when(fetchStateStore.loadValidators(API_URL)).thenReturn(Optional.empty());
+        when(httpClient.getIfModified(API_URL, Post.class, CacheValidators.NONE))
+                .thenReturn(Mono.just(new ConditionalResponse<>(false, Flux.just(post), received)));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNext(post)
+                .verifyComplete();
+        verify(fetchStateStore, never()).storeValidators(anyString(), any());
+
+        StepVerifier.create(postApiService.commit())
+                .verifyComplete();
+        verify(fetchStateStore).storeValidators(API_URL, received);
+    }
+
+    @Test
+    void should_DropValidatorsOfUncommittedFetch_WhenNextFetchStarts() {
+        ReflectionTestUtils.setField(postApiService, "conditionalRequests", true);
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+        CacheValidators known = new CacheValidators("\"v1\"", null);
+        CacheValidators received = new CacheValidators("\"v2\"", null);
+
+        when(fetchStateStore.loadValidators(API_URL)).thenReturn(Optional.of(known));
+        when(httpClient.getIfModified(API_URL, Post.class, known))
+                .thenReturn(Mono.just(new ConditionalResponse<>(false, Flux.just(post), received)))
+                .thenReturn(Mono.just(ConditionalResponse.notModified(known)));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNext(post)
+                .verifyComplete();
+        StepVerifier.create(postApiService.streamPosts().then(postApiService.commit()))
+                .verifyComplete();
+
+        verify(fetchStateStore, never()).storeValidators(anyString(), any());
+    }
+
+    @Test
+    void should_RetryPage_WhenErrorIsTransient() {
+        usePagination(PaginationStyle.PAGE, 2);
+        useFastRetries(3);
+        RuntimeException unavailable = new RuntimeException("503 Service Unavailable");
+        List<Post> posts = generatePosts(3);
+
+        when(httpClient.isTransient(unavailable)).thenReturn(true);
+        when(httpClient.get(eq(API_URL + "?_page=1&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.error(unavailable), Flux.error(unavailable), Flux.fromIterable(posts.subList(0, 2)));
+        when(httpClient.get(eq(API_URL + "?_page=2&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(2, 3)));
+        lenient().when(httpClient.get(eq(API_URL + "?_page=3&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNextSequence(posts)
+                .verifyComplete();
+
+        verify(httpClient, times(3)).get(eq(API_URL + "?_page=1&_limit=2"), eq(Post.class));
+    }
+
+    @Test
+    void should_NotRetryUnpagedStream_OncePostsWereEmitted() {
+        useFastRetries(3);
+        RuntimeException reset = new RuntimeException("Connection reset");
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+
+        when(httpClient.isTransient(reset)).thenReturn(true);
+        when(httpClient.get(eq(API_URL), eq(Post.class))).thenReturn(Flux.just(post).concatWith(Flux.error(reset)));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNext(post)
+                .expectErrorMatches(throwable -> throwable.getCause() == reset)
+                .verify();
+
+        verify(httpClient, times(1)).get(eq(API_URL), eq(Post.class));
+    }
+
+    @Test
+    void should_FailFast_WhenCircuitIsOpen() {
+        useFastRetries(0);
+        ReflectionTestUtils.setField(postApiService, "failureThreshold", 2);
+        RuntimeException unavailable = new RuntimeException("503 Service Unavailable");
+
+        when(httpClient.isTransient(any())).thenAnswer(invocation -> invocation.getArgument(0) == unavailable);
+        when(httpClient.get(eq(API_URL), eq(Post.class))).thenReturn(Flux.error(unavailable));
+
+        for (int run = 0; run < 2; run++) {
+            StepVerifier.create(postApiService.streamPosts())
+                    .expectErrorMatches(throwable -> throwable.getCause() == unavailable)
+                    .verify();
+        }
+        StepVerifier.create(postApiService.streamPosts())
+                .expectErrorMatches(throwable -> throwable.getCause() instanceof CircuitOpenException)
+                .verify();
+
+        verify(httpClient, times(2)).get(eq(API_URL), eq(Post.class));
+    }
+
+    @Test
+    void should_ResumeFromCheckpointedPage() {
+        usePagination(PaginationStyle.PAGE, 2);
+        ReflectionTestUtils.setField(postApiService, "resume", true);
+        List<Post> posts = generatePosts(3);
+
+        when(fetchStateStore.loadCheckpoint(API_URL + "#page")).thenReturn(Optional.of("1"));
+        when(httpClient.get(eq(API_URL + "?_page=2&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(0, 2)));
+        when(httpClient.get(eq(API_URL + "?_page=3&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.fromIterable(posts.subList(2, 3)));
+        lenient().when(httpClient.get(eq(API_URL + "?_page=4&_limit=2"), eq(Post.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectNextSequence(posts)
+                .verifyComplete();
+
+        verify(httpClient, never()).get(eq(API_URL + "?_page=1&_limit=2"), eq(Post.class));
+    }
+
+    @Test
+    void should_CheckpointSavedPages_AndClearOnCommit() {
+        usePagination(PaginationStyle.LINK, 2);
+        ReflectionTestUtils.setField(postApiService, "resume", true);
+        List<Post> posts = generatePosts(3);
+        String secondPage = API_URL + "?cursor=abc";
+
+        when(fetchStateStore.loadCheckpoint(API_URL + "#link")).thenReturn(Optional.empty());
+        when(httpClient.getPage(eq(API_URL), eq(Post.class)))
+                .thenReturn(Mono.just(new HttpPage<>(posts.subList(0, 2), secondPage)));
+        when(httpClient.getPage(eq(secondPage), eq(Post.class)))
+                .thenReturn(Mono.just(new HttpPage<>(posts.subList(2, 3), null)));
+
+        StepVerifier.create(postApiService.streamPosts().doOnNext(postApiService::acknowledge))
+                .expectNextCount(3)
+                .verifyComplete();
+        verify(fetchStateStore).storeCheckpoint(API_URL + "#link", secondPage);
+
+        StepVerifier.create(postApiService.commit())
+                .verifyComplete();
+        verify(fetchStateStore).clearCheckpoint(API_URL + "#link");
+    }
+
+    @Test
+    void should_FetchSourceUrl_WithItsOwnCircuit() {
+        useFastRetries(0);
+        ReflectionTestUtils.setField(postApiService, "failureThreshold", 1);
+        String otherUrl = "https://other.test/posts";
+        Post post = new Post(1L, 1L, "Title", "Body");
+        RuntimeException unavailable = new RuntimeException("503 Service Unavailable");
+
+        when(httpClient.isTransient(any())).thenAnswer(invocation -> invocation.getArgument(0) == unavailable);
+        when(httpClient.get(eq(API_URL), eq(Post.class))).thenReturn(Flux.error(unavailable));
+        when(httpClient.get(eq(otherUrl), eq(Post.class))).thenReturn(Flux.just(post));
+
+        StepVerifier.create(postApiService.streamPosts())
+                .expectErrorMatches(throwable -> throwable.getCause() == unavailable)
+                .verify();
+        StepVerifier.create(postApiService.forSource(new PostSource("other", otherUrl, 0)).streamPosts())
+                .expectNext(post)
+                .verifyComplete();
+        StepVerifier.create(postApiService.streamPosts())
+                .expectErrorMatches(throwable -> throwable.getCause() instanceof CircuitOpenException)
+                .verify();
+    }
+
+    @Test
+    void should_ReturnSameFetcher_ForSameSource() {
+        PostSource source = new PostSource("other", "https://other.test/posts", 0);
+
+        assertSame(postApiService.forSource(source), postApiService.forSource(source));
+    }
+
+    private void useFastRetries(int maxRetries) {
+        ReflectionTestUtils.setField(postApiService, "maxRetries", maxRetries);
+        ReflectionTestUtils.setField(postApiService, "minBackoffMs", 1L);
+        ReflectionTestUtils.setField(postApiService, "maxBackoffMs", 5L);
+    }
+
+    private void usePagination(PaginationStyle style, int pageSize) {
+        ReflectionTestUtils.setField(postApiService, "paginationStyle", style);
+        ReflectionTestUtils.setField(postApiService, "pageSize", pageSize);
+    }
+
     private List<Post> generatePosts(int count) {
         return java.util.stream.IntStream.range(1, count + 1)
                 .mapToObj(i -> new Post(1L, (long) i, "Title " + i, "Body " + i))
@@ -0,0 +1,143 @@
+package com.save.posts.domain.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostColumn;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.infrastructure.adapter.ColumnFilePostReader;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class PostColumnServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private PostMetrics postMetrics;
+
+    private Scheduler writeScheduler;
+
+    private PostColumnService postColumnService;
+
+    @BeforeEach
+    void setUp() {
+        writeScheduler = Schedulers.newBoundedElastic(1, 1024, "test-column-writer");
+        postColumnService = new PostColumnService(new NioFileSystemAdapter(), writeScheduler, postMetrics, false);
+        ReflectionTestUtils.setField(postColumnService, "saveDirectory", tempDir.resolve("out").toString());
+        ReflectionTestUtils.setField(postColumnService, "blockRows", 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeScheduler.dispose();
+    }
+
+    @Test
+    void should_SavePosts_IntoOneFilePerColumn() {
+        postColumnService.savePosts(generatePosts(3));
+
+        for (PostColumn column : PostColumn.values()) {
+            assertTrue(Files.exists(ColumnWriter.columnPath(tempDir.resolve("out"), column)));
+        }
+        verify(postMetrics, times(3)).recordSerialization(anyLong());
+        verify(postMetrics).recordBytesWritten(anyLong(), anyLong());
+    }
+
+    @Test
+    void should_StreamPosts_AcrossSeveralBlocks() {
+        List<Post> posts = generatePosts(100);
+
+        StepVerifier.create(postColumnService.savePostStream(Flux.fromIterable(posts)))
+                .expectNextCount(100)
+                .verifyComplete();
+
+        ColumnFilePostReader reader = new ColumnFilePostReader(tempDir.resolve("out").toString());
+        List<String> titles = new ArrayList<>();
+        reader.scanText(PostColumn.TITLE, titles::add);
+        assertEquals(posts.stream().map(Post::title).toList(), titles);
+        assertEquals(100, reader.size());
+    }
+
+    @Test
+    void should_ReplacePreviousColumns_OnEverySave() throws IOException {
+        postColumnService.savePosts(generatePosts(100));
+        long largerSave = Files.size(ColumnWriter.columnPath(tempDir.resolve("out"), PostColumn.BODY));
+
+        postColumnService.savePosts(generatePosts(2));
+
+        assertTrue(Files.size(ColumnWriter.columnPath(tempDir.resolve("out"), PostColumn.BODY)) < largerSave);
+        assertEquals(2, new ColumnFilePostReader(tempDir.resolve("out").toString()).size());
+    }
+
+    @Test
+    void should_KeepPreviousColumns_WhenStreamFails() throws IOException {
+        postColumnService.savePosts(generatePosts(100));
+        Path directory = tempDir.resolve("out");
+        RuntimeException upstreamError = new RuntimeException("Connection reset");
+        Flux<Post> posts = Flux.fromIterable(generatePosts(20)).concatWith(Flux.error(upstreamError));
+
+        StepVerifier.create(postColumnService.savePostStream(posts))
+                .expectNextCount(20)
+                .expectErrorMatches(throwable -> throwable == upstreamError)
+                .verify();
+
+        assertEquals(100, new ColumnFilePostReader(directory.toString()).size());
+        assertEquals(List.of(), new NioFileSystemAdapter().listFiles(directory, "*.tmp"));
+    }
+
+    @Test
+    void should_KeepPreviousColumns_WhenStreamIsEmpty() {
+        postColumnService.savePosts(generatePosts(100));
+
+        StepVerifier.create(postColumnService.savePostStream(Flux.empty()))
+                .verifyComplete();
+
+        assertEquals(100, new ColumnFilePostReader(tempDir.resolve("out").toString()).size());
+    }
+
+    @Test
+    void should_RejectResume_SinceEverySaveReplacesTheColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostColumnService(new NioFileSystemAdapter(), writeScheduler, postMetrics, true));
+    }
+
+    @Test
+    void should_SaveIntoNamespaceDirectory() {
+        postColumnService.forNamespace("news").savePosts(generatePosts(2));
+
+        assertEquals(2, new ColumnFilePostReader(tempDir.resolve("out").resolve("news").toString()).size());
+    }
+
+    private List<Post> generatePosts(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(i -> new Post(i % 3 + 1, i, "Title " + i, "Body " + i))
+                .toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.save.posts.domain.service;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.domain.service.PostDeduplicator.Filter;
+import com.save.posts.domain.service.PostDeduplicator.Policy;
+import com.save.posts.domain.service.PostDeduplicator.Scope;
+
+@ExtendWith(MockitoExtension.class)
+class PostDeduplicatorTest {
+
+    @Mock
+    private PostMetrics postMetrics;
+
+    @Test
+    void should_KeepFirstVersion_WhenPolicyIsFirst() {
+        PostDeduplicator.SeenPosts seen = deduplicator(Policy.FIRST, Scope.SOURCE, Filter.EXACT).forRun().get();
+
+        assertFalse(seen.isDuplicate(new Post(1L, 1L, "First", "Body")));
+        assertTrue(seen.isDuplicate(new Post(1L, 1L, "First", "Body")));
+        assertTrue(seen.isDuplicate(new Post(1L, 1L, "Changed", "Body")));
+        assertFalse(seen.isDuplicate(new Post(1L, 2L, "First", "Body")));
+        verify(postMetrics, times(2)).recordDuplicate();
+    }
+
+    @Test
+    void should_DropOnlyRepeatsOfLastVersion_WhenPolicyIsLast() {
+        PostDeduplicator.SeenPosts seen = deduplicator(Policy.LAST, Scope.SOURCE, Filter.EXACT).forRun().get();
+
+        assertFalse(seen.isDuplicate(new Post(1L, 1L, "First", "Body")));
+        assertTrue(seen.isDuplicate(new Post(1L, 1L, "First", "Body")));
+        assertFalse(seen.isDuplicate(new Post(1L, 1L, "Changed", "Body")));
+        assertFalse(seen.isDuplicate(new Post(1L, 1L, "First", "Body")));
+        assertFalse(seen.isDuplicate(new Post(2L, 1L, "First", "Body")));
+    }
+
+    @Test
+    void should_NeverDropPostsWithoutId() {
+        PostDeduplicator.SeenPosts seen = deduplicator(Policy.FIRST, Scope.SOURCE, Filter.EXACT).forRun().get();
+
+        assertFalse(seen.isDuplicate(new Post(1L, null, "Title", "Body")));
+        assertFalse(seen.isDuplicate(new Post(1L, null, "Title", "Body")));
+    }
+
+    @Test
+    void should_TrackIdZero_AndManyIds_WhenTableGrows() {
+        PostDeduplicator.SeenPosts seen = deduplicator(Policy.LAST, Scope.SOURCE, Filter.EXACT).forRun().get();
+
+        for (long id = 0; id < 10_000; id++) {
+            assertFalse(seen.isDuplicate(post(id)));
+        }
+        for (long id = 0; id < 10_000; id++) {
+            assertTrue(seen.isDuplicate(post(id)), "post " + id);
+        }
+        assertFalse(seen.isDuplicate(new Post(1L, 0L, "Changed", "Body")));
+    }
+
+    @Test
+    void should_DropRepeatedIds_WithBloomFilter() {
+        PostDeduplicator.SeenPosts seen = deduplicator(Policy.FIRST, Scope.SOURCE, Filter.BLOOM).forRun().get();
+
+        int dropped = 0;
+        for (long id = 1; id <= 10_000; id++) {
+            dropped += seen.isDuplicate(post(id)) ? 1 : 0;
+        }
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(seen.isDuplicate(post(id)));
+        }
+        assertTrue(dropped < 50, dropped + " distinct posts taken for duplicates");
+    }
+
+    @Test
+    void should_ShareSeenPostsAcrossSources_OnlyWhenScopeIsRun() {
+        Supplier<PostDeduplicator.SeenPosts> run = deduplicator(Policy.FIRST, Scope.RUN, Filter.EXACT).forRun();
+        Supplier<PostDeduplicator.SeenPosts> source = deduplicator(Policy.FIRST, Scope.SOURCE, Filter.EXACT).forRun();
+
+        assertSame(run.get(), run.get());
+        assertNotSame(source.get(), source.get());
+    }
+
+    @Test
+    void should_RejectInvalidBloomSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostDeduplicator(postMetrics, Policy.FIRST, Scope.SOURCE, Filter.BLOOM, 0, 0.01));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostDeduplicator(postMetrics, Policy.FIRST, Scope.SOURCE, Filter.BLOOM, 1000, 1));
+    }
+
+    @Test
+    void should_RejectBloomFilter_WhenPolicyIsLast() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostDeduplicator(postMetrics, Policy.LAST, Scope.SOURCE, Filter.BLOOM, 1000, 0.01));
+    }
+
+    private PostDeduplicator deduplicator(Policy policy, Scope scope, Filter filter) {
+        return new PostDeduplicator(postMetrics, policy, scope, filter, 10_000, 0.001);
+    }
+
+    private static Post post(long id) {
+        return new Post(1L, id, "Title " + id, "Body " + id);
+    }
+}
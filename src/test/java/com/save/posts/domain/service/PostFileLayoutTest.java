@@ -0,0 +1,112 @@
+package com.save.posts.domain.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.save.posts.domain.port.output.FileSystemService;
+
+@ExtendWith(MockitoExtension.class)
+class PostFileLayoutTest {
+
+    private static final Path ROOT = Paths.get("output");
+
+    @Mock
+    private FileSystemService fileSystemService;
+
+    @Test
+    void should_PlaceFilesInRoot_WhenFlat() {
+        PostFileLayout layout = PostFileLayout.flat(ROOT);
+
+        assertEquals(ROOT.resolve("42.json"), layout.pathFor(42L));
+        assertTrue(layout.hashBuckets().isEmpty());
+    }
+
+    @Test
+    void should_SpreadIdsOverFixedWidthHashBuckets_WhenShardedByHash() {
+        PostFileLayout layout = new PostFileLayout(ROOT, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.HASH, 256, 0);
+
+        Set<Path> used = new HashSet<>();
+        for (long id = 1; id <= 10_000; id++) {
+            Path path = layout.pathFor(id);
+            assertEquals(id + ".json", path.getFileName().toString());
+            assertEquals(2, path.getParent().getFileName().toString().length());
+            used.add(path.getParent());
+        }
+        assertEquals(256, used.size());
+        assertEquals(Set.copyOf(layout.hashBuckets()), used);
+        assertEquals(layout.pathFor(7L), layout.pathFor(7L));
+    }
+
+    @Test
+    void should_GroupIdsByRange_WhenShardedByRange() {
+        PostFileLayout layout = new PostFileLayout(ROOT, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.RANGE, 0, 1000);
+
+        assertEquals(ROOT.resolve("0").resolve("999.json"), layout.pathFor(999L));
+        assertEquals(ROOT.resolve("1000").resolve("1000.json"), layout.pathFor(1000L));
+        assertEquals(ROOT.resolve("-1000").resolve("-1.json"), layout.pathFor(-1L));
+    }
+
+    @Test
+    void should_KeepPostsWithoutIdInRoot_WhenSharded() {
+        PostFileLayout layout = new PostFileLayout(ROOT, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.HASH, 16, 0);
+
+        assertEquals(ROOT.resolve("null.json"), layout.pathFor(null));
+    }
+
+    @Test
+    void should_CreateRootAndBucketsOnlyOnce() throws IOException {
+        PostFileLayout layout = new PostFileLayout(ROOT, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.HASH, 16, 0);
+        when(fileSystemService.exists(ROOT)).thenReturn(false);
+
+        assertTrue(layout.prepare(fileSystemService));
+        assertFalse(layout.prepare(fileSystemService));
+        layout.ensureDirectory(layout.directoryFor(5L), fileSystemService);
+
+        verify(fileSystemService).exists(ROOT);
+        verify(fileSystemService).createDirectoriesIfNotExists(ROOT);
+        verify(fileSystemService, times(17)).createDirectoriesIfNotExists(any(Path.class));
+    }
+
+    @Test
+    void should_CreateRangeDirectoryOnFirstUse() throws IOException {
+        PostFileLayout layout = new PostFileLayout(ROOT, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.RANGE, 0, 1000);
+
+        layout.ensureDirectory(layout.directoryFor(1L), fileSystemService);
+        layout.ensureDirectory(layout.directoryFor(2L), fileSystemService);
+        layout.forgetDirectories();
+        layout.ensureDirectory(layout.directoryFor(3L), fileSystemService);
+
+        verify(fileSystemService, times(2)).createDirectoriesIfNotExists(ROOT.resolve("0"));
+        verify(fileSystemService, never()).exists(any(Path.class));
+    }
+
+    @Test
+    void should_RejectNonPositiveShardSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PostFileLayout(ROOT, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.HASH, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PostFileLayout(ROOT, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.RANGE, 0, 0));
+    }
+}
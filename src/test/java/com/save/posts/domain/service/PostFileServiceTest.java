@@ -1,33 +1,66 @@
 package com.save.posts.domain.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.save.posts.domain.model.Compression;
 import com.save.posts.domain.model.Post;
 import com.save.posts.domain.port.output.FileSystemService;
 import com.save.posts.domain.port.output.JsonSerializer;
+import com.save.posts.domain.port.output.PostCache;
+import com.save.posts.domain.port.output.PostIndex;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.infrastructure.adapter.TinyLfuPostCache;
 import com.save.posts.infrastructure.exception.PostProcessingException;
 
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
 @ExtendWith(MockitoExtension.class)
 class PostFileServiceTest {
 
@@ -37,14 +70,34 @@ class PostFileServiceTest {
     @Mock
     private FileSystemService fileSystemService;
 
-    @InjectMocks
+    @Mock
+    private PostMetrics postMetrics;
+
+    @Mock
+    private ObjectProvider<PostIndex> postIndex;
+
+    @Mock
+    private ObjectProvider<PostCache> postCache;
+
+    private Scheduler writeScheduler;
+
     private PostFileService postFileService;
 
     private static final String SAVE_DIRECTORY = "test-output";
+    private static final int PARALLELISM = 4;
 
     @BeforeEach
     void setUp() {
+        writeScheduler = Schedulers.newBoundedElastic(PARALLELISM, 1024, "test-post-writer");
+        postFileService = new PostFileService(jsonSerializer, fileSystemService, writeScheduler, postMetrics,
+                postIndex, postCache);
         ReflectionTestUtils.setField(postFileService, "saveDirectory", SAVE_DIRECTORY);
+        ReflectionTestUtils.setField(postFileService, "parallelism", PARALLELISM);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeScheduler.dispose();
     }
 
     @Test
@@ -55,22 +108,24 @@ class PostFileServiceTest {
 
         Path directoryPath = Paths.get(SAVE_DIRECTORY);
         when(fileSystemService.exists(directoryPath)).thenReturn(true);
-        when(jsonSerializer.toJson(post1)).thenReturn("{\"id\":1,\"title\":\"Test Title 1\"}");
-        when(jsonSerializer.toJson(post2)).thenReturn("{\"id\":2,\"title\":\"Test Title 2\"}");
+        when(jsonSerializer.toJsonBytes(post1)).thenReturn(json("{\"id\":1,\"title\":\"Test Title 1\"}"));
+        when(jsonSerializer.toJsonBytes(post2)).thenReturn(json("{\"id\":2,\"title\":\"Test Title 2\"}"));
 
         postFileService.savePosts(posts);
 
         verify(fileSystemService).exists(directoryPath);
         verify(fileSystemService, never()).createDirectoriesIfNotExists(any());
-        verify(jsonSerializer, times(2)).toJson(any(Post.class));
-        verify(fileSystemService, times(2)).writeStringToFile(any(Path.class), anyString());
+        verify(jsonSerializer, times(2)).toJsonBytes(any(Post.class));
+        verify(fileSystemService, times(2)).writeBytesToFile(any(Path.class), any(byte[].class));
 
-        verify(fileSystemService).writeStringToFile(
+        verify(fileSystemService).writeBytesToFile(
                 eq(Paths.get(SAVE_DIRECTORY, "1.json")),
-                eq("{\"id\":1,\"title\":\"Test Title 1\"}"));
-        verify(fileSystemService).writeStringToFile(
+                eq(json("{\"id\":1,\"title\":\"Test Title 1\"}")));
+        verify(fileSystemService).writeBytesToFile(
                 eq(Paths.get(SAVE_DIRECTORY, "2.json")),
-                eq("{\"id\":2,\"title\":\"Test Title 2\"}"));
+                eq(json("{\"id\":2,\"title\":\"Test Title 2\"}")));
+        verify(postMetrics, times(2)).recordSerialization(anyLong());
+        verify(postMetrics, times(2)).recordFileWrite(anyLong());
     }
 
     @Test
@@ -80,13 +135,13 @@ class PostFileServiceTest {
 
         Path directoryPath = Paths.get(SAVE_DIRECTORY);
         when(fileSystemService.exists(directoryPath)).thenReturn(false);
-        when(jsonSerializer.toJson(post)).thenReturn("{\"id\":1}");
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":1}"));
 
         postFileService.savePosts(posts);
 
         verify(fileSystemService).exists(directoryPath);
         verify(fileSystemService).createDirectoriesIfNotExists(directoryPath);
-        verify(fileSystemService).writeStringToFile(any(Path.class), anyString());
+        verify(fileSystemService).writeBytesToFile(any(Path.class), any(byte[].class));
     }
 
     @Test
@@ -98,8 +153,8 @@ class PostFileServiceTest {
         postFileService.savePosts(emptyPosts);
 
         verify(fileSystemService).exists(directoryPath);
-        verify(jsonSerializer, never()).toJson(any());
-        verify(fileSystemService, never()).writeStringToFile(any(Path.class), anyString());
+        verify(jsonSerializer, never()).toJsonBytes(any());
+        verify(fileSystemService, never()).writeBytesToFile(any(Path.class), any(byte[].class));
     }
 
     @Test
@@ -119,7 +174,7 @@ class PostFileServiceTest {
 
         assertEquals("Failed to save posts due to IO error", exception.getMessage());
         assertEquals(ioException, exception.getCause());
-        verify(jsonSerializer, never()).toJson(any());
+        verify(jsonSerializer, never()).toJsonBytes(any());
     }
 
     @Test
@@ -129,10 +184,10 @@ class PostFileServiceTest {
 
         Path directoryPath = Paths.get(SAVE_DIRECTORY);
         when(fileSystemService.exists(directoryPath)).thenReturn(true);
-        when(jsonSerializer.toJson(post)).thenReturn("{\"id\":1}");
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":1}"));
 
         IOException ioException = new IOException("Disk full");
-        doThrow(ioException).when(fileSystemService).writeStringToFile(any(Path.class), anyString());
+        doThrow(ioException).when(fileSystemService).writeBytesToFile(any(Path.class), any(byte[].class));
 
         PostProcessingException exception = assertThrows(
                 PostProcessingException.class,
@@ -140,6 +195,8 @@ class PostFileServiceTest {
 
         assertEquals("Failed to save posts due to IO error", exception.getMessage());
         assertEquals(ioException, exception.getCause());
+        verify(postMetrics).recordFailure(PostMetrics.Stage.SAVE);
+        verify(postMetrics, never()).recordFileWrite(anyLong());
     }
 
     @Test
@@ -151,7 +208,7 @@ class PostFileServiceTest {
         when(fileSystemService.exists(directoryPath)).thenReturn(true);
 
         RuntimeException jsonException = new RuntimeException("JSON serialization failed");
-        when(jsonSerializer.toJson(post)).thenThrow(jsonException);
+        when(jsonSerializer.toJsonBytes(post)).thenThrow(jsonException);
 
         PostProcessingException exception = assertThrows(
                 PostProcessingException.class,
@@ -159,7 +216,7 @@ class PostFileServiceTest {
 
         assertEquals("Failed to save posts", exception.getMessage());
         assertEquals(jsonException, exception.getCause());
-        verify(fileSystemService, never()).writeStringToFile(any(Path.class), anyString());
+        verify(fileSystemService, never()).writeBytesToFile(any(Path.class), any(byte[].class));
     }
 
     @Test
@@ -169,13 +226,404 @@ class PostFileServiceTest {
         when(fileSystemService.exists(directoryPath)).thenReturn(true);
 
         for (Post post : largeBatch) {
-            when(jsonSerializer.toJson(post)).thenReturn("{\"id\":" + post.id() + "}");
+            when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":" + post.id() + "}"));
         }
 
         postFileService.savePosts(largeBatch);
 
-        verify(jsonSerializer, times(100)).toJson(any(Post.class));
-        verify(fileSystemService, times(100)).writeStringToFile(any(Path.class), anyString());
+        verify(jsonSerializer, times(100)).toJsonBytes(any(Post.class));
+        verify(fileSystemService, times(100)).writeBytesToFile(any(Path.class), any(byte[].class));
+    }
+
+    @Test
+    void should_SavePostStream_AndEmitSavedPosts() throws IOException {
+        Post post1 = new Post(1L, 1L, "Test Title 1", "Test Body 1");
+        Post post2 = new Post(1L, 2L, "Test Title 2", "Test Body 2");
+
+        Path directoryPath = Paths.get(SAVE_DIRECTORY);
+        when(fileSystemService.exists(directoryPath)).thenReturn(false);
+        when(jsonSerializer.toJsonBytes(post1)).thenReturn(json("{\"id\":1}"));
+        when(jsonSerializer.toJsonBytes(post2)).thenReturn(json("{\"id\":2}"));
+
+        StepVerifier.create(postFileService.savePostStream(Flux.just(post1, post2)))
+                .recordWith(ArrayList::new)
+                .expectNextCount(2)
+                .consumeRecordedWith(saved -> assertTrue(saved.containsAll(List.of(post1, post2))))
+                .verifyComplete();
+
+        verify(fileSystemService).createDirectoriesIfNotExists(directoryPath);
+        verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "1.json"), json("{\"id\":1}"));
+        verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "2.json"), json("{\"id\":2}"));
+    }
+
+    @Test
+    void should_RequestBoundedBatches_WhenSavingPostStream() throws IOException {
+        when(fileSystemService.exists(any(Path.class))).thenReturn(true);
+        when(jsonSerializer.toJsonBytes(any(Post.class))).thenReturn(json("{}"));
+        AtomicLong maxRequest = new AtomicLong();
+
+        Flux<Post> posts = Flux.fromIterable(generatePosts(1000))
+                .doOnRequest(n -> maxRequest.accumulateAndGet(n, Math::max));
+
+        StepVerifier.create(postFileService.savePostStream(posts))
+                .expectNextCount(1000)
+                .verifyComplete();
+
+        assertTrue(maxRequest.get() < 1000,
+                "Saver should request posts in bounded batches, requested " + maxRequest.get());
+        verify(fileSystemService, times(1000)).writeBytesToFile(any(Path.class), any(byte[].class));
+    }
+
+    @Test
+    void should_WritePostStreamInParallel_OffTheCallingThread() throws IOException {
+        when(fileSystemService.exists(any(Path.class))).thenReturn(true);
+        when(jsonSerializer.toJsonBytes(any(Post.class))).thenReturn(json("{}"));
+
+        CyclicBarrier allLanesWriting = new CyclicBarrier(PARALLELISM);
+        Set<String> writerThreads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            writerThreads.add(Thread.currentThread().getName());
+            allLanesWriting.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(fileSystemService).writeBytesToFile(any(Path.class), any(byte[].class));
+
+        StepVerifier.create(postFileService.savePostStream(Flux.fromIterable(generatePosts(PARALLELISM))))
+                .expectNextCount(PARALLELISM)
+                .verifyComplete();
+
+        assertEquals(PARALLELISM, writerThreads.size());
+        assertTrue(writerThreads.stream().allMatch(name -> name.startsWith("test-post-writer")));
+    }
+
+    @Test
+    void should_ThrowPostProcessingException_WhenStreamFileWriteFails() throws IOException {
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":1}"));
+        IOException ioException = new IOException("Disk full");
+        doThrow(ioException).when(fileSystemService).writeBytesToFile(any(Path.class), any(byte[].class));
+
+        StepVerifier.create(postFileService.savePostStream(Flux.just(post)))
+                .expectErrorMatches(throwable -> throwable instanceof PostProcessingException &&
+                        throwable.getMessage().equals("Failed to save posts due to IO error") &&
+                        throwable.getCause() == ioException)
+                .verify();
+    }
+
+    @Test
+    void should_NotWrapUpstreamErrors_WhenSavingPostStream() {
+        RuntimeException fetchError = new RuntimeException("Fetch failed");
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+
+        StepVerifier.create(postFileService.savePostStream(Flux.error(fetchError)))
+                .expectErrorMatches(throwable -> throwable == fetchError)
+                .verify();
+    }
+
+    @Test
+    void should_SkipUnchangedPosts_WhenIncremental() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "incremental", true);
+        Post unchanged = new Post(1L, 1L, "Same", "Same");
+        Post updated = new Post(1L, 2L, "New", "New");
+        Post created = new Post(1L, 3L, "Created", "Created");
+        Path manifestPath = Paths.get(SAVE_DIRECTORY, PostManifest.FILE_NAME);
+
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.exists(manifestPath)).thenReturn(true);
+        when(fileSystemService.readStringFromFile(manifestPath)).thenReturn(manifestOf(
+                "1", PostManifest.contentHash(json("{\"id\":1}")), "2", PostManifest.contentHash(json("{\"id\":2,\"old\":true}"))));
+        when(jsonSerializer.toJsonBytes(unchanged)).thenReturn(json("{\"id\":1}"));
+        when(jsonSerializer.toJsonBytes(updated)).thenReturn(json("{\"id\":2}"));
+        when(jsonSerializer.toJsonBytes(created)).thenReturn(json("{\"id\":3}"));
+
+        postFileService.savePosts(List.of(unchanged, updated, created));
+
+        verify(fileSystemService, never()).writeBytesToFile(eq(Paths.get(SAVE_DIRECTORY, "1.json")), any(byte[].class));
+        verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "2.json"), json("{\"id\":2}"));
+        verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "3.json"), json("{\"id\":3}"));
+
+        ArgumentCaptor<String> storedManifest = ArgumentCaptor.forClass(String.class);
+        verify(fileSystemService).writeStringToFile(eq(manifestPath), storedManifest.capture());
+        PostManifest manifest = PostManifest.parse(storedManifest.getValue());
+        assertEquals(3, manifest.size());
+        assertEquals(PostManifest.Change.UNCHANGED, manifest.compare(2L, PostManifest.contentHash(json("{\"id\":2}"))));
+    }
+
+    @Test
+    void should_StoreManifest_AfterIncrementalPostStream() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "incremental", true);
+        Path manifestPath = Paths.get(SAVE_DIRECTORY, PostManifest.FILE_NAME);
+
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.exists(manifestPath)).thenReturn(false);
+        when(jsonSerializer.toJsonBytes(any(Post.class))).thenAnswer(invocation ->
+                json("{\"id\":" + invocation.getArgument(0, Post.class).id() + "}"));
+
+        StepVerifier.create(postFileService.savePostStream(Flux.fromIterable(generatePosts(10))))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        ArgumentCaptor<String> storedManifest = ArgumentCaptor.forClass(String.class);
+        verify(fileSystemService).writeStringToFile(eq(manifestPath), storedManifest.capture());
+        assertEquals(10, PostManifest.parse(storedManifest.getValue()).size());
+        verify(fileSystemService, times(10)).writeBytesToFile(any(Path.class), any(byte[].class));
+    }
+
+    @Test
+    void should_RewriteAllPosts_WhenManifestUnreadable() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "incremental", true);
+        Path manifestPath = Paths.get(SAVE_DIRECTORY, PostManifest.FILE_NAME);
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.exists(manifestPath)).thenReturn(true);
+        when(fileSystemService.readStringFromFile(manifestPath)).thenReturn("garbage");
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":1}"));
+
+        postFileService.savePosts(List.of(post));
+
+        verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "1.json"), json("{\"id\":1}"));
+    }
+
+    @Test
+    void should_RewriteAllPosts_WhenManifestWrittenWithAnotherCodec() throws IOException {
+        assertEveryPostRewritten(manifestOf("codec=GZIP layout=FLAT", "1", PostManifest.contentHash(json("{\"id\":1}")),
+                "2", PostManifest.contentHash(json("{\"id\":2}"))));
+    }
+
+    @Test
+    void should_RewriteAllPosts_WhenManifestWrittenWithAnotherLayout() throws IOException {
+        assertEveryPostRewritten(manifestOf("codec=NONE layout=SHARDED HASH 256",
+                "1", PostManifest.contentHash(json("{\"id\":1}")), "2", PostManifest.contentHash(json("{\"id\":2}"))));
+    }
+
+    @Test
+    void should_RewriteAllPosts_WhenManifestRecordsNoSettings() throws IOException {
+        assertEveryPostRewritten("1 " + Long.toHexString(PostManifest.contentHash(json("{\"id\":1}"))) + "\n");
+    }
+
+    @Test
+    void should_FlushPostsBeforeStoringManifest_WhenIncremental() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "incremental", true);
+        Path manifestPath = Paths.get(SAVE_DIRECTORY, PostManifest.FILE_NAME);
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.exists(manifestPath)).thenReturn(false);
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":1}"));
+
+        postFileService.savePosts(List.of(post));
+
+        InOrder inOrder = inOrder(fileSystemService);
+        inOrder.verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "1.json"), json("{\"id\":1}"));
+        inOrder.verify(fileSystemService).flush();
+        inOrder.verify(fileSystemService).writeStringToFile(eq(manifestPath), anyString());
+        inOrder.verify(fileSystemService).flush();
+    }
+
+    @Test
+    void should_IndexOnlyWrittenPosts_AndCommitIndexBeforeManifest_WhenSearchEnabled() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "incremental", true);
+        PostIndex index = mock(PostIndex.class);
+        PostIndex.Update update = mock(PostIndex.Update.class);
+        Post unchanged = new Post(1L, 1L, "Same", "Same");
+        Post updated = new Post(1L, 2L, "New", "New");
+        Path manifestPath = Paths.get(SAVE_DIRECTORY, PostManifest.FILE_NAME);
+
+        when(postIndex.getIfAvailable()).thenReturn(index);
+        when(index.update(Paths.get(SAVE_DIRECTORY))).thenReturn(update);
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.exists(manifestPath)).thenReturn(true);
+        when(fileSystemService.readStringFromFile(manifestPath)).thenReturn(manifestOf(
+                "1", PostManifest.contentHash(json("{\"id\":1}")), "2", PostManifest.contentHash(json("{}"))));
+        when(jsonSerializer.toJsonBytes(unchanged)).thenReturn(json("{\"id\":1}"));
+        when(jsonSerializer.toJsonBytes(updated)).thenReturn(json("{\"id\":2}"));
+
+        postFileService.savePosts(List.of(unchanged, updated));
+
+        verify(update, never()).add(unchanged);
+        InOrder inOrder = inOrder(update, fileSystemService);
+        inOrder.verify(update).add(updated);
+        inOrder.verify(fileSystemService).flush();
+        inOrder.verify(update).commit();
+        inOrder.verify(fileSystemService).writeStringToFile(eq(manifestPath), anyString());
+    }
+
+    @Test
+    void should_IndexStreamedPosts_WhenSearchEnabled() throws IOException {
+        PostIndex index = mock(PostIndex.class);
+        PostIndex.Update update = mock(PostIndex.Update.class);
+        when(postIndex.getIfAvailable()).thenReturn(index);
+        when(index.update(Paths.get(SAVE_DIRECTORY))).thenReturn(update);
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(jsonSerializer.toJsonBytes(any(Post.class))).thenReturn(json("{}"));
+
+        StepVerifier.create(postFileService.savePostStream(Flux.fromIterable(generatePosts(10))))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        verify(update, times(10)).add(any(Post.class));
+        verify(update).commit();
+    }
+
+    @Test
+    void should_ReuseCachedJson_AndSkipWrite_WhenIdenticalPostSavedAgain() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "incremental", true);
+        Post post = new Post(1L, 1L, "Same", "Same");
+        Post changed = new Post(1L, 1L, "Changed", "Same");
+        Path manifestPath = Paths.get(SAVE_DIRECTORY, PostManifest.FILE_NAME);
+        AtomicReference<String> storedManifest = new AtomicReference<>();
+
+        when(postCache.getIfAvailable()).thenReturn(new TinyLfuPostCache(postMetrics, 1 << 20));
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.exists(manifestPath)).thenAnswer(invocation -> storedManifest.get() != null);
+        when(fileSystemService.readStringFromFile(manifestPath)).thenAnswer(invocation -> storedManifest.get());
+        doAnswer(invocation -> {
+            storedManifest.set(invocation.getArgument(1));
+            return null;
+        }).when(fileSystemService).writeStringToFile(eq(manifestPath), anyString());
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":1}"));
+        when(jsonSerializer.toJsonBytes(changed)).thenReturn(json("{\"id\":1,\"changed\":true}"));
+
+        postFileService.savePosts(List.of(post));
+        postFileService.savePosts(List.of(post));
+        postFileService.savePosts(List.of(changed));
+
+        verify(jsonSerializer, times(1)).toJsonBytes(post);
+        verify(fileSystemService, times(1)).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "1.json"), json("{\"id\":1}"));
+        verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "1.json"),
+                json("{\"id\":1,\"changed\":true}"));
+        verify(postMetrics, times(2)).recordCacheLookup(true);
+        verify(postMetrics, times(1)).recordCacheLookup(false);
+    }
+
+    @Test
+    void should_FlushWrittenPosts_WhenPostStreamFails() throws IOException {
+        RuntimeException fetchError = new RuntimeException("Fetch failed");
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(jsonSerializer.toJsonBytes(any(Post.class))).thenReturn(json("{}"));
+
+        StepVerifier.create(postFileService.savePostStream(
+                        Flux.fromIterable(generatePosts(3)).concatWith(Flux.error(fetchError))))
+                .thenConsumeWhile(post -> true)
+                .expectErrorMatches(throwable -> throwable == fetchError)
+                .verify();
+
+        verify(fileSystemService, timeout(1000)).flush();
+    }
+
+    @Test
+    void should_WriteIntoRangeShards_AndCreateDirectoriesOnce_WhenSharded() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "layout", PostFileLayout.Layout.SHARDED);
+        ReflectionTestUtils.setField(postFileService, "shardStrategy", PostFileLayout.Strategy.RANGE);
+        ReflectionTestUtils.setField(postFileService, "shardRangeSize", 1000L);
+        Post first = new Post(1L, 1L, "Title", "Body");
+        Post second = new Post(1L, 1500L, "Title", "Body");
+        Path directoryPath = Paths.get(SAVE_DIRECTORY);
+
+        when(fileSystemService.exists(directoryPath)).thenReturn(true);
+        when(jsonSerializer.toJsonBytes(any(Post.class))).thenReturn(json("{}"));
+
+        postFileService.savePosts(List.of(first, second));
+        postFileService.savePosts(List.of(first, second));
+
+        verify(fileSystemService).exists(directoryPath);
+        verify(fileSystemService).createDirectoriesIfNotExists(directoryPath.resolve("0"));
+        verify(fileSystemService).createDirectoriesIfNotExists(directoryPath.resolve("1000"));
+        verify(fileSystemService, times(2)).writeBytesToFile(directoryPath.resolve("0").resolve("1.json"), json("{}"));
+        verify(fileSystemService, times(2)).writeBytesToFile(directoryPath.resolve("1000").resolve("1500.json"),
+                json("{}"));
+    }
+
+    @Test
+    void should_SaveIntoNamespaceDirectory_WhenNamespaced() throws IOException {
+        Post post = new Post(1L, 1L, "Title", "Body");
+        Path namespacePath = Paths.get(SAVE_DIRECTORY, "news");
+
+        when(fileSystemService.exists(namespacePath)).thenReturn(false);
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{}"));
+
+        postFileService.forNamespace("news").savePosts(List.of(post));
+
+        verify(fileSystemService).createDirectoriesIfNotExists(namespacePath);
+        verify(fileSystemService).writeBytesToFile(namespacePath.resolve("1.json"), json("{}"));
+        verify(fileSystemService, never()).exists(Paths.get(SAVE_DIRECTORY));
+    }
+
+    @Test
+    void should_RecreateDirectory_WhenItWasRemovedBetweenRuns() throws IOException {
+        Post post = new Post(1L, 1L, "Title", "Body");
+        Path directoryPath = Paths.get(SAVE_DIRECTORY);
+        Path filePath = directoryPath.resolve("1.json");
+
+        when(fileSystemService.exists(directoryPath)).thenReturn(true);
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{}"));
+        doThrow(new NoSuchFileException(filePath.toString())).doNothing()
+                .when(fileSystemService).writeBytesToFile(filePath, json("{}"));
+
+        postFileService.savePosts(List.of(post));
+
+        verify(fileSystemService).createDirectoriesIfNotExists(directoryPath);
+        verify(fileSystemService, times(2)).writeBytesToFile(filePath, json("{}"));
+    }
+
+    @Test
+    void should_StreamSerializedPostThroughCompressor_WhenCompressionEnabled() throws IOException {
+        ReflectionTestUtils.setField(postFileService, "compression", Compression.GZIP);
+        Post post = new Post(1L, 1L, "Title", "Body");
+        byte[] content = json("{\"id\":1,\"title\":\"Title\",\"body\":\"Body\"}");
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.openOutputStream(Paths.get(SAVE_DIRECTORY, "1.json.gz"))).thenReturn(file);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(content);
+            return null;
+        }).when(jsonSerializer).writeJson(eq(post), any(OutputStream.class));
+
+        postFileService.savePosts(List.of(post));
+
+        try (InputStream inflated = Compression.GZIP.decompress(new ByteArrayInputStream(file.toByteArray()))) {
+            assertArrayEquals(content, inflated.readAllBytes());
+        }
+        verify(jsonSerializer, never()).toJsonBytes(any());
+        verify(fileSystemService, never()).writeBytesToFile(any(Path.class), any(byte[].class));
+        verify(postMetrics).recordBytesWritten(content.length, file.size());
+        verify(postMetrics).recordFileWrite(anyLong());
+    }
+
+    private void assertEveryPostRewritten(String previousManifest) throws IOException {
+        ReflectionTestUtils.setField(postFileService, "incremental", true);
+        Path manifestPath = Paths.get(SAVE_DIRECTORY, PostManifest.FILE_NAME);
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+
+        when(fileSystemService.exists(Paths.get(SAVE_DIRECTORY))).thenReturn(true);
+        when(fileSystemService.exists(manifestPath)).thenReturn(true);
+        when(fileSystemService.readStringFromFile(manifestPath)).thenReturn(previousManifest);
+        when(jsonSerializer.toJsonBytes(post)).thenReturn(json("{\"id\":1}"));
+
+        postFileService.savePosts(List.of(post));
+
+        verify(fileSystemService).writeBytesToFile(Paths.get(SAVE_DIRECTORY, "1.json"), json("{\"id\":1}"));
+        ArgumentCaptor<String> storedManifest = ArgumentCaptor.forClass(String.class);
+        verify(fileSystemService).writeStringToFile(eq(manifestPath), storedManifest.capture());
+        PostManifest stored = PostManifest.parse(storedManifest.getValue());
+        assertEquals("codec=NONE layout=FLAT", stored.settings());
+        assertEquals(1, stored.size());
+    }
+
+    private static byte[] json(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String manifestOf(String id1, long hash1, String id2, long hash2) {
+        return manifestOf("codec=NONE layout=FLAT", id1, hash1, id2, hash2);
+    }
+
+    private String manifestOf(String settings, String id1, long hash1, String id2, long hash2) {
+        return "# " + settings + "\n" + id1 + " " + Long.toHexString(hash1) + "\n"
+                + id2 + " " + Long.toHexString(hash2) + "\n";
     }
 
     private List<Post> generatePosts(int count) {
@@ -0,0 +1,86 @@
+package com.save.posts.domain.service;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.save.posts.domain.service.PostManifest.Change;
+
+class PostManifestTest {
+
+    @Test
+    void should_ClassifyPosts_AgainstRecordedHashes() {
+        PostManifest manifest = new PostManifest();
+        manifest.record(1L, 100L);
+        manifest.record(2L, 200L);
+
+        assertEquals(Change.UNCHANGED, manifest.compare(1L, 100L));
+        assertEquals(Change.UPDATED, manifest.compare(2L, 201L));
+        assertEquals(Change.CREATED, manifest.compare(3L, 300L));
+
+        assertEquals(1, manifest.created());
+        assertEquals(1, manifest.updated());
+        assertEquals(1, manifest.unchanged());
+    }
+
+    @Test
+    void should_NotRecordHash_WhenOnlyCompared() {
+        PostManifest manifest = new PostManifest();
+
+        manifest.compare(1L, 100L);
+
+        assertEquals(0, manifest.size());
+        assertEquals(Change.CREATED, manifest.compare(1L, 100L));
+    }
+
+    @Test
+    void should_RoundTripThroughSerializedForm() {
+        PostManifest manifest = new PostManifest();
+        manifest.record(1L, PostManifest.contentHash(json("{\"id\":1}")));
+        manifest.record(42L, -1L);
+
+        PostManifest parsed = PostManifest.parse(manifest.serialize());
+
+        assertEquals(2, parsed.size());
+        assertEquals(Change.UNCHANGED, parsed.compare(1L, PostManifest.contentHash(json("{\"id\":1}"))));
+        assertEquals(Change.UNCHANGED, parsed.compare(42L, -1L));
+    }
+
+    @Test
+    void should_KeepSettings_ThroughSerializedForm() {
+        PostManifest manifest = new PostManifest("codec=GZIP layout=SHARDED HASH 256");
+        manifest.record(1L, 7L);
+
+        PostManifest parsed = PostManifest.parse(manifest.serialize());
+
+        assertEquals("codec=GZIP layout=SHARDED HASH 256", parsed.settings());
+        assertEquals(1, parsed.size());
+        assertEquals(Change.UNCHANGED, parsed.compare(1L, 7L));
+    }
+
+    @Test
+    void should_HaveNoSettings_WhenManifestHasNoSettingsLine() {
+        PostManifest parsed = PostManifest.parse("1 7\n");
+
+        assertNull(parsed.settings());
+        assertEquals(Change.UNCHANGED, parsed.compare(1L, 7L));
+    }
+
+    @Test
+    void should_ProduceDifferentHashes_ForDifferentContent() {
+        assertEquals(PostManifest.contentHash(json("{\"id\":1}")), PostManifest.contentHash(json("{\"id\":1}")));
+        assertNotEquals(PostManifest.contentHash(json("{\"id\":1}")), PostManifest.contentHash(json("{\"id\":2}")));
+    }
+
+    @Test
+    void should_ParseEmptyContent() {
+        assertEquals(0, PostManifest.parse("").size());
+    }
+
+    private static byte[] json(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,152 @@
+package com.save.posts.domain.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.save.posts.domain.model.StoredPost;
+import com.save.posts.domain.port.output.PostCache;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.domain.port.output.PostReader;
+import com.save.posts.infrastructure.adapter.TinyLfuPostCache;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class PostQueryServiceTest {
+
+    @Mock
+    private PostReader postReader;
+
+    @Mock
+    private PostMetrics postMetrics;
+
+    @Mock
+    private ObjectProvider<PostCache> postCache;
+
+    private Scheduler readScheduler;
+
+    private PostQueryService postQueryService;
+
+    @BeforeEach
+    void setUp() {
+        readScheduler = Schedulers.newBoundedElastic(2, 1024, "test-post-reader");
+        lenient().when(postCache.getIfAvailable()).thenReturn(new TinyLfuPostCache(postMetrics, 1 << 20));
+        postQueryService = new PostQueryService(postReader, readScheduler, postMetrics, postCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        readScheduler.dispose();
+    }
+
+    @Test
+    void should_ServePostFromCache_AfterFirstRead() {
+        when(postReader.findById(1L)).thenReturn(Optional.of(stored(1L)));
+
+        StepVerifier.create(postQueryService.findById(1L)).expectNextMatches(json -> same(json, 1L)).verifyComplete();
+        StepVerifier.create(postQueryService.findById(1L)).expectNextMatches(json -> same(json, 1L)).verifyComplete();
+
+        verify(postReader, times(1)).findById(1L);
+    }
+
+    @Test
+    void should_CompleteEmpty_WhenPostNotSaved() {
+        when(postReader.findById(9L)).thenReturn(Optional.empty());
+
+        StepVerifier.create(postQueryService.findById(9L)).verifyComplete();
+    }
+
+    @Test
+    void should_ReadEveryTime_WhenCacheDisabled() {
+        when(postCache.getIfAvailable()).thenReturn(null);
+        when(postReader.findById(1L)).thenReturn(Optional.of(stored(1L)));
+
+        postQueryService.findById(1L).block();
+        postQueryService.findById(1L).block();
+
+        verify(postReader, times(2)).findById(1L);
+        verify(postMetrics, never()).recordCacheLookup(anyBoolean());
+    }
+
+    @Test
+    void should_ListPostsOfUser_InIdOrder_ThroughCache() {
+        when(postReader.idsByUserId(4L)).thenReturn(new long[] {2L, 5L});
+        when(postReader.findById(2L)).thenReturn(Optional.of(stored(2L)));
+        when(postReader.findById(5L)).thenReturn(Optional.of(stored(5L)));
+
+        StepVerifier.create(postQueryService.findByUserId(4L))
+                .expectNextMatches(json -> same(json, 2L))
+                .expectNextMatches(json -> same(json, 5L))
+                .verifyComplete();
+        StepVerifier.create(postQueryService.findById(5L)).expectNextCount(1).verifyComplete();
+
+        verify(postReader, times(1)).findById(5L);
+    }
+
+    @Test
+    void should_StreamIdRange_WithoutFillingCache() {
+        when(postReader.ids(1L, 4L)).thenReturn(new long[] {1L, 2L, 3L});
+        when(postReader.findById(anyLong())).thenAnswer(invocation -> invocation.<Long>getArgument(0) == 2L
+                ? Optional.empty()
+                : Optional.of(stored(invocation.<Long>getArgument(0))));
+
+        StepVerifier.create(postQueryService.findByIdRange(1L, 4L))
+                .expectNextMatches(json -> same(json, 1L))
+                .expectNextMatches(json -> same(json, 3L))
+                .verifyComplete();
+        postQueryService.findById(1L).block();
+
+        verify(postReader, times(2)).findById(1L);
+    }
+
+    @Test
+    void should_ReadAgain_AfterRefresh() {
+        when(postReader.findById(1L)).thenReturn(Optional.of(stored(1L)));
+
+        postQueryService.findById(1L).block();
+        postQueryService.refresh();
+        postQueryService.findById(1L).block();
+
+        verify(postReader).refresh();
+        verify(postReader, times(2)).findById(1L);
+    }
+
+    @Test
+    void should_PublishMetricsSummary_OnShutdown() {
+        postQueryService.destroy();
+
+        verify(postMetrics).publishSummary();
+    }
+
+    private static StoredPost stored(long id) {
+        return new StoredPost(id, 1L, ByteBuffer.wrap(json(id)).asReadOnlyBuffer());
+    }
+
+    private static byte[] json(long id) {
+        return String.format("{\"id\":%03d}", id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean same(byte[] json, long id) {
+        assertArrayEquals(json(id), json);
+        return true;
+    }
+}
@@ -0,0 +1,165 @@
+package com.save.posts.domain.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SegmentIndexEntry;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+import com.save.posts.infrastructure.exception.PostProcessingException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class PostSegmentServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private PostMetrics postMetrics;
+
+    private Scheduler writeScheduler;
+
+    private PostSegmentService postSegmentService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        writeScheduler = Schedulers.newBoundedElastic(1, 1024, "test-segment-writer");
+        postSegmentService = new PostSegmentService(new JacksonJsonAdapter(objectMapper, true),
+                new NioFileSystemAdapter(), writeScheduler, postMetrics, false);
+        ReflectionTestUtils.setField(postSegmentService, "saveDirectory", tempDir.resolve("out").toString());
+        ReflectionTestUtils.setField(postSegmentService, "maxSegmentBytes", 4096L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeScheduler.dispose();
+    }
+
+    @Test
+    void should_SavePosts_AsNdjsonSegments() throws IOException {
+        List<Post> posts = generatePosts(3);
+
+        postSegmentService.savePosts(posts);
+
+        List<String> lines = Files.readAllLines(SegmentWriter.segmentPath(tempDir.resolve("out"), 0));
+        assertEquals(3, lines.size());
+        assertEquals(posts.get(0), objectMapper.readValue(lines.get(0), Post.class));
+        verify(postMetrics, times(3)).recordSerialization(anyLong());
+        verify(postMetrics, times(3)).recordFileWrite(anyLong());
+    }
+
+    @Test
+    void should_LocateEveryPost_ThroughTheIndex() throws IOException {
+        List<Post> posts = generatePosts(200);
+
+        StepVerifier.create(postSegmentService.savePostStream(Flux.fromIterable(posts)))
+                .expectNextCount(200)
+                .verifyComplete();
+
+        Path directory = tempDir.resolve("out");
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(SegmentWriter.INDEX_FILE)));
+        assertEquals(200 * SegmentIndexEntry.BYTES, index.remaining());
+        int segments = 0;
+        for (Post post : posts) {
+            SegmentIndexEntry entry = SegmentIndexEntry.readFrom(index);
+            byte[] segment = Files.readAllBytes(SegmentWriter.segmentPath(directory, entry.segment()));
+            String json = new String(segment, (int) entry.offset(), entry.length(), StandardCharsets.UTF_8);
+            assertEquals(post, objectMapper.readValue(json, Post.class));
+            assertEquals(post.userId(), entry.userId());
+            segments = Math.max(segments, entry.segment() + 1);
+        }
+        assertTrue(segments > 1, "Expected the 4 KiB limit to roll over into several segments");
+    }
+
+    @Test
+    void should_KeepPreviousSave_WhenStreamFails() throws IOException {
+        postSegmentService.savePosts(generatePosts(100));
+        Path directory = tempDir.resolve("out");
+        List<Path> previousSegments = segmentFiles(directory);
+        RuntimeException upstreamError = new RuntimeException("Connection reset");
+        Flux<Post> posts = Flux.fromIterable(generatePosts(3)).concatWith(Flux.error(upstreamError));
+
+        StepVerifier.create(postSegmentService.savePostStream(posts))
+                .expectNextCount(3)
+                .expectErrorMatches(throwable -> throwable == upstreamError)
+                .verify();
+
+        assertEquals(100 * SegmentIndexEntry.BYTES, Files.size(directory.resolve(SegmentWriter.INDEX_FILE)));
+        assertEquals(previousSegments, segmentFiles(directory));
+        assertEquals(List.of(), new NioFileSystemAdapter().listFiles(directory, "*.tmp"));
+    }
+
+    @Test
+    void should_KeepPreviousSave_WhenStreamIsEmpty() throws IOException {
+        postSegmentService.savePosts(generatePosts(100));
+        Path directory = tempDir.resolve("out");
+        List<Path> previousSegments = segmentFiles(directory);
+
+        StepVerifier.create(postSegmentService.savePostStream(Flux.empty()))
+                .verifyComplete();
+
+        assertEquals(100 * SegmentIndexEntry.BYTES, Files.size(directory.resolve(SegmentWriter.INDEX_FILE)));
+        assertEquals(previousSegments, segmentFiles(directory));
+    }
+
+    @Test
+    void should_RejectResume_SinceEverySaveReplacesTheSegments() {
+        assertThrows(IllegalArgumentException.class, () -> new PostSegmentService(
+                new JacksonJsonAdapter(objectMapper, true), new NioFileSystemAdapter(), writeScheduler, postMetrics,
+                true));
+    }
+
+    @Test
+    void should_ThrowPostProcessingException_WhenDirectoryCannotBeCreated() throws IOException {
+        Path blocker = tempDir.resolve("blocker");
+        Files.writeString(blocker, "not a directory");
+        ReflectionTestUtils.setField(postSegmentService, "saveDirectory", blocker.resolve("out").toString());
+
+        PostProcessingException exception = assertThrows(
+                PostProcessingException.class,
+                () -> postSegmentService.savePosts(generatePosts(1)));
+
+        assertEquals("Failed to save posts due to IO error", exception.getMessage());
+        verify(postMetrics).recordFailure(PostMetrics.Stage.SAVE);
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        return new NioFileSystemAdapter().listFiles(directory, "segment-*.ndjson").stream().sorted().toList();
+    }
+
+    private List<Post> generatePosts(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(i -> new Post(i % 10, i, "Title " + i, "Body " + i))
+                .toList();
+    }
+}
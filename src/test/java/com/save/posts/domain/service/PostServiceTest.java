@@ -1,37 +1,81 @@
 package com.save.posts.domain.service;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.CacheValidators;
+import com.save.posts.domain.model.ConditionalResponse;
 import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostSource;
+import com.save.posts.domain.port.output.FetchStateStore;
+import com.save.posts.domain.port.output.HttpClient;
+import com.save.posts.domain.port.output.PostMetrics;
 import com.save.posts.domain.port.output.PostSaver;
 import com.save.posts.domain.port.usecase.PostFetcher;
+import com.save.posts.infrastructure.adapter.JacksonJsonAdapter;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
 import com.save.posts.infrastructure.exception.PostProcessingException;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
 class PostServiceTest {
 
+    private static final PostSource SOURCE = new PostSource("", "https://api.test/posts", 0);
+
     @Mock
     private PostFetcher postFetcher;
 
     @Mock
     private PostSaver postSaver;
 
-    @InjectMocks
+    @Mock
+    private PostMetrics postMetrics;
+
+    @Mock
+    private ObjectProvider<PostDeduplicator> postDeduplicator;
+
     private PostService postService;
 
+    @BeforeEach
+    void setUp() {
+        postService = new PostService(postFetcher, postSaver, postMetrics, List.of(SOURCE), postDeduplicator);
+        lenient().when(postFetcher.forSource(SOURCE)).thenReturn(postFetcher);
+        lenient().when(postSaver.forNamespace("")).thenReturn(postSaver);
+        lenient().when(postFetcher.commit()).thenReturn(Mono.empty());
+    }
+
     @Test
     void should_FetchAndSavePosts_Successfully() {
         Post post1 = new Post(1L, 1L, "Test Title 1", "Test Body 1");
@@ -129,6 +173,247 @@ class PostServiceTest {
                 .verify();
     }
 
+    @Test
+    void should_StreamPostsIntoSaver_WhenStreamingEnabled() {
+        ReflectionTestUtils.setField(postService, "streaming", true);
+        Flux<Post> posts = Flux.fromIterable(generatePosts(3));
+
+        when(postFetcher.streamPosts()).thenReturn(posts);
+        when(postSaver.savePostStream(any())).thenReturn(posts);
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .verifyComplete();
+
+        verify(postSaver).savePostStream(any());
+        verify(postFetcher, never()).fetchPosts();
+        verify(postSaver, never()).savePosts(any());
+    }
+
+    @Test
+    void should_ThrowPostProcessingException_WhenStreamingSaverFails() {
+        ReflectionTestUtils.setField(postService, "streaming", true);
+        Flux<Post> posts = Flux.fromIterable(generatePosts(3));
+        RuntimeException saveError = new RuntimeException("File save failed");
+
+        when(postFetcher.streamPosts()).thenReturn(posts);
+        when(postSaver.savePostStream(any())).thenReturn(Flux.error(saveError));
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .expectErrorMatches(throwable -> throwable instanceof PostProcessingException &&
+                        throwable.getMessage().equals("Failed to complete post processing workflow") &&
+                        throwable.getCause() == saveError)
+                .verify();
+    }
+
+    @Test
+    void should_CommitFetch_AfterPostsAreSaved() {
+        Flux<Post> posts = Flux.fromIterable(generatePosts(3));
+        ReflectionTestUtils.setField(postService, "streaming", true);
+        when(postFetcher.streamPosts()).thenReturn(posts);
+        when(postSaver.savePostStream(any())).thenReturn(posts);
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(postSaver, postFetcher);
+        inOrder.verify(postSaver).savePostStream(any());
+        inOrder.verify(postFetcher).commit();
+    }
+
+    @Test
+    void should_NotCommitFetch_WhenSaverFails() {
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+        List<Post> posts = List.of(post);
+        when(postFetcher.fetchPosts()).thenReturn(Mono.just(posts));
+        doThrow(new RuntimeException("File save failed")).when(postSaver).savePosts(posts);
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .expectError(PostProcessingException.class)
+                .verify();
+
+        verify(postFetcher, never()).commit();
+    }
+
+    @Test
+    void should_RecordRunAndPublishSummary_WhenWorkflowSucceeds() {
+        when(postFetcher.fetchPosts()).thenReturn(Mono.just(List.of()));
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(postMetrics);
+        inOrder.verify(postMetrics).recordRun(anyLong(), eq(true));
+        inOrder.verify(postMetrics).publishSummary();
+    }
+
+    @Test
+    void should_RecordFailedRunAndPublishSummary_WhenWorkflowFails() {
+        when(postFetcher.fetchPosts()).thenReturn(Mono.error(new RuntimeException("API connection failed")));
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .expectError(PostProcessingException.class)
+                .verify();
+
+        verify(postMetrics).recordRun(anyLong(), eq(false));
+        verify(postMetrics).publishSummary();
+    }
+
+    @Test
+    void should_RecordCommitFailure_WhenCommitFails() {
+        when(postFetcher.fetchPosts()).thenReturn(Mono.just(List.of()));
+        when(postFetcher.commit()).thenReturn(Mono.error(new RuntimeException("State store unavailable")));
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .expectError(PostProcessingException.class)
+                .verify();
+
+        verify(postMetrics).recordFailure(PostMetrics.Stage.COMMIT);
+    }
+
+    @Test
+    void should_DropRepeatedPosts_AndAcknowledgeThem_WhenDeduplicating() {
+        ReflectionTestUtils.setField(postService, "streaming", true);
+        Post first = new Post(1L, 1L, "First", "First");
+        Post repeated = new Post(1L, 1L, "Retried", "Retried");
+        Post other = new Post(1L, 2L, "Other", "Other");
+
+        when(postDeduplicator.getIfAvailable()).thenReturn(deduplicator(PostDeduplicator.Scope.SOURCE));
+        when(postFetcher.streamPosts()).thenReturn(Flux.just(first, repeated, other));
+        when(postSaver.savePostStream(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .verifyComplete();
+
+        verify(postFetcher).acknowledge(first);
+        verify(postFetcher).acknowledge(repeated);
+        verify(postFetcher).acknowledge(other);
+        verify(postMetrics).recordDuplicate();
+    }
+
+    @Test
+    void should_DropPostsSavedFromEarlierSource_WhenDeduplicatingAcrossRun() {
+        ReflectionTestUtils.setField(postService, "streaming", false);
+        ReflectionTestUtils.setField(postService, "sourceConcurrency", 1);
+        PostSource first = new PostSource("first", "https://first.test/posts", 0);
+        PostSource mirror = new PostSource("mirror", "https://mirror.test/posts", 0);
+        ReflectionTestUtils.setField(postService, "postSources", List.of(first, mirror));
+        List<Post> posts = generatePosts(3);
+        Post extra = new Post(1L, 4L, "Extra", "Extra");
+        PostFetcher firstFetcher = mock(PostFetcher.class);
+        PostFetcher mirrorFetcher = mock(PostFetcher.class);
+        when(postFetcher.forSource(first)).thenReturn(firstFetcher);
+        when(postFetcher.forSource(mirror)).thenReturn(mirrorFetcher);
+        when(firstFetcher.fetchPosts()).thenReturn(Mono.just(posts));
+        when(mirrorFetcher.fetchPosts()).thenReturn(Mono.just(List.of(posts.get(0), extra, posts.get(2))));
+        when(firstFetcher.commit()).thenReturn(Mono.empty());
+        when(mirrorFetcher.commit()).thenReturn(Mono.empty());
+        PostSaver firstSaver = mock(PostSaver.class);
+        PostSaver mirrorSaver = mock(PostSaver.class);
+        when(postSaver.forNamespace("first")).thenReturn(firstSaver);
+        when(postSaver.forNamespace("mirror")).thenReturn(mirrorSaver);
+        when(postDeduplicator.getIfAvailable()).thenReturn(deduplicator(PostDeduplicator.Scope.RUN));
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .verifyComplete();
+
+        verify(firstSaver).savePosts(posts);
+        verify(mirrorSaver).savePosts(List.of(extra));
+        verify(mirrorFetcher, times(3)).acknowledge(any());
+    }
+
+    @Test
+    void should_SaveEachSourceIntoItsNamespace_WhenSeveralSourcesConfigured() {
+        ReflectionTestUtils.setField(postService, "streaming", true);
+        PostSource first = new PostSource("first", "https://first.test/posts", 0);
+        PostSource second = new PostSource("second", "https://second.test/posts", 0);
+        ReflectionTestUtils.setField(postService, "postSources", List.of(first, second));
+        PostFetcher firstFetcher = sourceFetcher(first, Flux.fromIterable(generatePosts(2)));
+        PostFetcher secondFetcher = sourceFetcher(second, Flux.fromIterable(generatePosts(3)));
+        PostSaver firstSaver = namespaceSaver("first");
+        PostSaver secondSaver = namespaceSaver("second");
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .verifyComplete();
+
+        verify(firstFetcher).commit();
+        verify(secondFetcher).commit();
+        verify(firstFetcher, times(2)).acknowledge(any());
+        verify(secondFetcher, times(3)).acknowledge(any());
+        verify(firstSaver).savePostStream(any());
+        verify(secondSaver).savePostStream(any());
+        verify(postMetrics).recordRun(anyLong(), eq(true));
+    }
+
+    @Test
+    void should_FinishOtherSources_WhenOneSourceFails() {
+        ReflectionTestUtils.setField(postService, "streaming", true);
+        PostSource failing = new PostSource("failing", "https://failing.test/posts", 0);
+        PostSource healthy = new PostSource("healthy", "https://healthy.test/posts", 0);
+        ReflectionTestUtils.setField(postService, "postSources", List.of(failing, healthy));
+        RuntimeException fetchError = new RuntimeException("API connection failed");
+        PostFetcher failingFetcher = sourceFetcher(failing, Flux.error(fetchError));
+        PostFetcher healthyFetcher = sourceFetcher(healthy, Flux.fromIterable(generatePosts(2)));
+        when(postSaver.forNamespace("failing")).thenReturn(mock(PostSaver.class));
+        namespaceSaver("healthy");
+
+        StepVerifier.create(postService.fetchAndSavePosts())
+                .expectErrorMatches(throwable -> throwable instanceof PostProcessingException &&
+                        throwable.getCause() == fetchError)
+                .verify();
+
+        verify(failingFetcher, never()).commit();
+        verify(healthyFetcher).commit();
+        verify(postMetrics).recordRun(anyLong(), eq(false));
+    }
+
+    @Test
+    void should_KeepSavedSegments_WhenSourceIsNotModified(@TempDir Path tempDir) throws IOException {
+        CacheValidators known = new CacheValidators("\"v1\"", null);
+        HttpClient httpClient = mock(HttpClient.class);
+        FetchStateStore fetchStateStore = mock(FetchStateStore.class);
+        when(fetchStateStore.loadValidators(SOURCE.url())).thenReturn(Optional.of(known));
+        when(httpClient.getIfModified(SOURCE.url(), Post.class, known))
+                .thenReturn(Mono.just(ConditionalResponse.notModified(known)));
+        PostApiService postApiService = new PostApiService(httpClient, fetchStateStore, postMetrics);
+        ReflectionTestUtils.setField(postApiService, "conditionalRequests", true);
+        PostSegmentService postSegmentService = spy(new PostSegmentService(
+                new JacksonJsonAdapter(new ObjectMapper(), false), new NioFileSystemAdapter(),
+                Schedulers.immediate(), postMetrics, false));
+        ReflectionTestUtils.setField(postSegmentService, "saveDirectory", tempDir.toString());
+        postSegmentService.savePosts(generatePosts(3));
+        byte[] savedIndex = Files.readAllBytes(tempDir.resolve(SegmentWriter.INDEX_FILE));
+        PostService conditionalService = new PostService(postApiService, postSegmentService, postMetrics,
+                List.of(SOURCE), postDeduplicator);
+        ReflectionTestUtils.setField(conditionalService, "streaming", true);
+
+        StepVerifier.create(conditionalService.fetchAndSavePosts())
+                .verifyComplete();
+
+        verify(postSegmentService, never()).savePostStream(any());
+        assertArrayEquals(savedIndex, Files.readAllBytes(tempDir.resolve(SegmentWriter.INDEX_FILE)));
+        assertTrue(Files.exists(SegmentWriter.segmentPath(tempDir, 0)));
+    }
+
+    private PostDeduplicator deduplicator(PostDeduplicator.Scope scope) {
+        return new PostDeduplicator(postMetrics, PostDeduplicator.Policy.FIRST, scope, PostDeduplicator.Filter.EXACT,
+                1000, 0.01);
+    }
+
+    private PostFetcher sourceFetcher(PostSource source, Flux<Post> posts) {
+        PostFetcher fetcher = mock(PostFetcher.class);
+        when(postFetcher.forSource(source)).thenReturn(fetcher);
+        when(fetcher.streamPosts()).thenReturn(posts);
+        lenient().when(fetcher.commit()).thenReturn(Mono.empty());
+        return fetcher;
+    }
+
+    private PostSaver namespaceSaver(String namespace) {
+        PostSaver saver = mock(PostSaver.class);
+        when(postSaver.forNamespace(namespace)).thenReturn(saver);
+        when(saver.savePostStream(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return saver;
+    }
+
     private List<Post> generatePosts(int count) {
         return java.util.stream.IntStream.range(1, count + 1)
                 .mapToObj(i -> new Post(1L, (long) i, "Title " + i, "Body " + i))
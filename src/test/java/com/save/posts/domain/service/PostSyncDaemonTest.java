@@ -0,0 +1,142 @@
+package com.save.posts.domain.service;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class PostSyncDaemonTest {
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<?> scheduledFuture;
+
+    @Mock
+    private ObjectProvider<PostQueryService> postQueryService;
+
+    private PostSyncDaemon daemon;
+
+    @BeforeEach
+    void setUp() {
+        daemon = new PostSyncDaemon(postService, taskScheduler, postQueryService);
+    }
+
+    @Test
+    void should_ScheduleAtFixedRate_ByDefault() {
+        ReflectionTestUtils.setField(daemon, "intervalMs", 60_000L);
+        doReturn(scheduledFuture).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+
+        daemon.start();
+
+        verify(taskScheduler).scheduleAtFixedRate(any(Runnable.class), eq(Duration.ofMinutes(1)));
+        assertTrue(daemon.isRunning());
+    }
+
+    @Test
+    void should_ScheduleWithCron_WhenConfigured() {
+        ReflectionTestUtils.setField(daemon, "cron", "0 */5 * * * *");
+        doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(CronTrigger.class));
+
+        daemon.start();
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(CronTrigger.class));
+    }
+
+    @Test
+    void should_SkipRun_WhenPreviousRunStillInProgress() {
+        when(postService.fetchAndSavePosts()).thenReturn(Mono.never());
+
+        daemon.runOnce();
+        daemon.runOnce();
+
+        verify(postService, times(1)).fetchAndSavePosts();
+    }
+
+    @Test
+    void should_RefreshQueryServer_OnlyAfterSuccessfulRun() {
+        when(postService.fetchAndSavePosts()).thenReturn(Mono.empty(), Mono.error(new RuntimeException("API down")));
+
+        daemon.runOnce();
+        daemon.runOnce();
+
+        verify(postQueryService, times(1)).ifAvailable(any());
+    }
+
+    @Test
+    void should_RunAgain_AfterFailedRun() {
+        when(postService.fetchAndSavePosts()).thenReturn(Mono.error(new RuntimeException("API down")));
+
+        daemon.runOnce();
+        daemon.runOnce();
+
+        verify(postService, times(2)).fetchAndSavePosts();
+    }
+
+    @Test
+    void should_WaitForRunInProgress_WhenStopping() {
+        AtomicBoolean finished = new AtomicBoolean();
+        doReturn(scheduledFuture).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+        when(postService.fetchAndSavePosts()).thenReturn(Mono.delay(Duration.ofMillis(100))
+                .doOnSuccess(tick -> finished.set(true))
+                .then());
+        daemon.start();
+        daemon.runOnce();
+
+        daemon.stop();
+
+        assertTrue(finished.get());
+        assertFalse(daemon.isRunning());
+        verify(scheduledFuture).cancel(false);
+    }
+
+    @Test
+    void should_NotStartRun_WhenTickComesAfterStop() {
+        doReturn(scheduledFuture).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+        daemon.start();
+        daemon.stop();
+
+        daemon.runOnce();
+
+        verify(postService, never()).fetchAndSavePosts();
+    }
+
+    @Test
+    void should_CancelRun_WhenShutdownTimeoutExpires() {
+        ReflectionTestUtils.setField(daemon, "shutdownTimeoutMs", 10L);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        doReturn(scheduledFuture).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+        when(postService.fetchAndSavePosts()).thenReturn(Mono.<Void>never().doOnCancel(() -> cancelled.set(true)));
+        daemon.start();
+        daemon.runOnce();
+
+        daemon.stop();
+
+        assertTrue(cancelled.get());
+    }
+}
@@ -0,0 +1,47 @@
+package com.save.posts.domain.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(-5_000_000_000L);
+
+    @Test
+    void should_SpaceReservations_ByRate() {
+        RateLimiter limiter = new RateLimiter(4, now::get);
+
+        assertEquals(Duration.ZERO, limiter.reserve());
+        assertEquals(Duration.ofMillis(250), limiter.reserve());
+        assertEquals(Duration.ofMillis(500), limiter.reserve());
+    }
+
+    @Test
+    void should_NotDelay_WhenSlotHasPassed() {
+        RateLimiter limiter = new RateLimiter(4, now::get);
+        limiter.reserve();
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertEquals(Duration.ZERO, limiter.reserve());
+        assertEquals(Duration.ofMillis(250), limiter.reserve());
+    }
+
+    @Test
+    void should_NeverDelay_WhenUnlimited() {
+        RateLimiter limiter = new RateLimiter(0, now::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Duration.ZERO, limiter.reserve());
+        }
+    }
+
+    @Test
+    void should_RejectNegativeRate() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(-1, now::get));
+    }
+}
@@ -0,0 +1,200 @@
+package com.save.posts.domain.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SegmentIndexEntry;
+import com.save.posts.infrastructure.adapter.NioFileSystemAdapter;
+
+class SegmentWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final NioFileSystemAdapter fileSystemAdapter = new NioFileSystemAdapter();
+
+    @Test
+    void should_AppendRecords_AndIndexTheirLocation() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(7L, 1L, "a", "b"), line("{\"id\":1}"));
+            writer.append(new Post(null, 2L, "c", "d"), line("{\"id\":2}"));
+        }
+
+        List<SegmentIndexEntry> entries = readIndex();
+        assertEquals(List.of(
+                new SegmentIndexEntry(1L, 7L, 0, 0, 8),
+                new SegmentIndexEntry(2L, null, 0, 9, 8)), entries);
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", Files.readString(SegmentWriter.segmentPath(tempDir, 0)));
+        assertEquals("{\"id\":2}", record(entries.get(1)));
+    }
+
+    @Test
+    void should_StartNewSegment_WhenSizeLimitReached() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 20)) {
+            for (long id = 1; id <= 5; id++) {
+                writer.append(new Post(1L, id, "t", "b"), line("{\"id\":" + id + "}"));
+            }
+            assertEquals(3, writer.segments());
+            assertEquals(5, writer.records());
+        }
+
+        List<SegmentIndexEntry> entries = readIndex();
+        assertEquals(List.of(0, 0, 1, 1, 2), entries.stream().map(SegmentIndexEntry::segment).toList());
+        for (SegmentIndexEntry entry : entries) {
+            assertEquals("{\"id\":" + entry.id() + "}", record(entry));
+        }
+    }
+
+    @Test
+    void should_StoreOversizedRecord_InItsOwnSegment() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 4)) {
+            writer.append(new Post(1L, 1L, "t", "b"), line("{\"id\":1}"));
+            writer.append(new Post(1L, 2L, "t", "b"), line("{\"id\":2}"));
+        }
+
+        assertEquals(List.of(0, 1), readIndex().stream().map(SegmentIndexEntry::segment).toList());
+    }
+
+    @Test
+    void should_SkipIndexEntry_WhenPostHasNoId() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(1L, null, "t", "b"), line("{}"));
+            assertEquals(1, writer.records());
+        }
+
+        assertTrue(readIndex().isEmpty());
+        assertEquals("{}\n", Files.readString(SegmentWriter.segmentPath(tempDir, 0)));
+    }
+
+    @Test
+    void should_NumberSegmentsOnFromPreviousSave_AndRemoveItsSegments() throws IOException {
+        Files.writeString(SegmentWriter.segmentPath(tempDir, 0), "old");
+        Files.writeString(SegmentWriter.segmentPath(tempDir, 1), "old");
+        Files.writeString(SegmentWriter.segmentPath(tempDir, 2), "old");
+
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(1L, 1L, "t", "b"), line("{\"id\":1}"));
+            assertEquals(1, writer.segments());
+            assertTrue(Files.exists(SegmentWriter.segmentPath(tempDir, 0)));
+        }
+
+        assertEquals(List.of(3), readIndex().stream().map(SegmentIndexEntry::segment).toList());
+        assertEquals("{\"id\":1}\n", Files.readString(SegmentWriter.segmentPath(tempDir, 3)));
+        assertEquals(List.of(SegmentWriter.segmentPath(tempDir, 3)),
+                fileSystemAdapter.listFiles(tempDir, "segment-*.ndjson"));
+    }
+
+    @Test
+    void should_KeepPreviousIndex_UntilClosed() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(1L, 1L, "t", "b"), line("{\"id\":1}"));
+        }
+
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(1L, 2L, "t", "b"), line("{\"id\":2}"));
+            assertEquals(List.of(1L), readIndex().stream().map(SegmentIndexEntry::id).toList());
+        }
+
+        assertEquals(List.of(2L), readIndex().stream().map(SegmentIndexEntry::id).toList());
+        assertFalse(Files.exists(tempDir.resolve(SegmentWriter.INDEX_FILE + ".tmp")));
+    }
+
+    @Test
+    void should_DeleteOwnFiles_AndKeepPreviousSave_WhenAborted() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(1L, 1L, "t", "b"), line("{\"id\":1}"));
+        }
+
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(1L, 2L, "t", "b"), line("{\"id\":2}"));
+            writer.abort();
+        }
+
+        assertEquals(List.of(1L), readIndex().stream().map(SegmentIndexEntry::id).toList());
+        assertEquals(List.of(SegmentWriter.segmentPath(tempDir, 0)),
+                fileSystemAdapter.listFiles(tempDir, "segment-*.ndjson"));
+        assertFalse(Files.exists(tempDir.resolve(SegmentWriter.INDEX_FILE + ".tmp")));
+    }
+
+    @Test
+    void should_KeepPreviousSave_WhenClosedWithoutRecords() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, 1024)) {
+            writer.append(new Post(1L, 1L, "t", "b"), line("{\"id\":1}"));
+        }
+
+        new SegmentWriter(fileSystemAdapter, tempDir, 1024).close();
+
+        assertEquals(List.of(1L), readIndex().stream().map(SegmentIndexEntry::id).toList());
+        assertFalse(Files.exists(tempDir.resolve(SegmentWriter.INDEX_FILE + ".tmp")));
+    }
+
+    @Test
+    void should_CommitSegmentsAndIndex_WhenClosedWithBatchedAtomicWrites() throws IOException {
+        NioFileSystemAdapter batchingAdapter = new NioFileSystemAdapter(true, true, 1000, 0);
+        Files.writeString(SegmentWriter.segmentPath(tempDir, 0), "old");
+
+        try (SegmentWriter writer = new SegmentWriter(batchingAdapter, tempDir, 20)) {
+            for (long id = 1; id <= 3; id++) {
+                writer.append(new Post(1L, id, "t", "b"), line("{\"id\":" + id + "}"));
+            }
+        }
+
+        assertEquals(3, readIndex().size());
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", Files.readString(SegmentWriter.segmentPath(tempDir, 1)));
+        assertFalse(Files.exists(SegmentWriter.segmentPath(tempDir, 0)));
+        assertTrue(batchingAdapter.listFiles(tempDir, "*.tmp").isEmpty());
+    }
+
+    @Test
+    void should_RejectSizeLimit_ThatCannotBeMappedWhole() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SegmentWriter(fileSystemAdapter, tempDir, Integer.MAX_VALUE + 1L));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentWriter(fileSystemAdapter, tempDir, 0));
+        assertFalse(Files.exists(tempDir.resolve(SegmentWriter.INDEX_FILE)));
+    }
+
+    @Test
+    void should_RoundTripIndexEntry_WithoutUserId() {
+        ByteBuffer buffer = ByteBuffer.allocate(SegmentIndexEntry.BYTES);
+        new SegmentIndexEntry(42L, null, 3, 1L << 33, 120).writeTo(buffer);
+        buffer.flip();
+
+        SegmentIndexEntry entry = SegmentIndexEntry.readFrom(buffer);
+
+        assertEquals(42L, entry.id());
+        assertNull(entry.userId());
+        assertEquals(1L << 33, entry.offset());
+    }
+
+    private List<SegmentIndexEntry> readIndex() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(tempDir.resolve(SegmentWriter.INDEX_FILE)));
+        List<SegmentIndexEntry> entries = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            entries.add(SegmentIndexEntry.readFrom(buffer));
+        }
+        return entries;
+    }
+
+    private String record(SegmentIndexEntry entry) throws IOException {
+        byte[] segment = Files.readAllBytes(SegmentWriter.segmentPath(tempDir, entry.segment()));
+        return new String(segment, (int) entry.offset(), entry.length(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] line(String json) {
+        return (json + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,147 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.PostColumn;
+import com.save.posts.domain.service.ColumnWriter;
+
+class ColumnFilePostReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final NioFileSystemAdapter fileSystemAdapter = new NioFileSystemAdapter();
+
+    private ColumnFilePostReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new ColumnFilePostReader(tempDir.toString());
+    }
+
+    @Test
+    void should_ScanEveryLongColumn_InSaveOrder() throws IOException {
+        List<Post> posts = List.of(new Post(4L, 10L, "a", "b"), new Post(null, 11L, "c", "d"),
+                new Post(4L, 15L, "e", "f"), new Post(5L, null, "g", "h"));
+        save(posts, 3);
+
+        List<Long> ids = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>();
+        reader.scanLongs(PostColumn.ID, ids::add);
+        reader.scanLongs(PostColumn.USER_ID, userIds::add);
+
+        assertEquals(List.of(10L, 11L, 15L, PostColumn.NO_VALUE), ids);
+        assertEquals(List.of(4L, PostColumn.NO_VALUE, 4L, 5L), userIds);
+    }
+
+    @Test
+    void should_ScanTextColumn_WithNullsAndMultibyteCharacters() throws IOException {
+        save(List.of(new Post(1L, 1L, "Grüße", "x".repeat(300)), new Post(1L, 2L, null, ""),
+                new Post(1L, 3L, "日本語", null)), 2);
+
+        List<String> titles = new ArrayList<>();
+        List<String> bodies = new ArrayList<>();
+        reader.scanText(PostColumn.TITLE, titles::add);
+        reader.scanText(PostColumn.BODY, bodies::add);
+
+        assertEquals(Arrays.asList("Grüße", null, "日本語"), titles);
+        assertEquals(Arrays.asList("x".repeat(300), "", null), bodies);
+    }
+
+    @Test
+    void should_CountPostsPerUser_AcrossBlocks() throws IOException {
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            posts.add(new Post(id % 7, id, "t", "b"));
+        }
+        posts.add(new Post(null, 1001L, "t", "b"));
+        save(posts, 128);
+
+        Map<Long, Long> counts = reader.countByUserId();
+
+        assertEquals(7, counts.size());
+        assertEquals(143L, counts.get(1L));
+        assertEquals(142L, counts.get(0L));
+        assertEquals(1000L, counts.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(1001, reader.size());
+    }
+
+    @Test
+    void should_CountPostsPerUser_WhenEveryUserIsDistinct() throws IOException {
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            posts.add(new Post(id * 1_000_003, id, "t", "b"));
+        }
+        save(posts, 64);
+
+        Map<Long, Long> counts = reader.countByUserId();
+
+        assertEquals(100, counts.size());
+        assertEquals(1L, counts.get(1_000_003L));
+    }
+
+    @Test
+    void should_KeepLongColumnsSmallerThanPlain_ForSequentialIdsAndFewUsers() throws IOException {
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            posts.add(new Post(id % 10, id, "t", "b"));
+        }
+        save(posts, 4096);
+
+        assertTrue(Files.size(ColumnWriter.columnPath(tempDir, PostColumn.ID)) < 10_000 * 2);
+        assertTrue(Files.size(ColumnWriter.columnPath(tempDir, PostColumn.USER_ID)) < 10_000 * 2);
+        List<Long> ids = new ArrayList<>();
+        reader.scanLongs(PostColumn.ID, ids::add);
+        assertEquals(10_000, ids.size());
+        assertEquals(10_000L, ids.get(9_999));
+    }
+
+    @Test
+    void should_ReadNothing_WhenNothingSaved() {
+        List<String> titles = new ArrayList<>();
+        reader.scanText(PostColumn.TITLE, titles::add);
+
+        assertTrue(titles.isEmpty());
+        assertEquals(0, reader.size());
+        assertTrue(reader.countByUserId().isEmpty());
+    }
+
+    @Test
+    void should_RejectColumnOfOtherType() {
+        assertThrows(IllegalArgumentException.class, () -> reader.scanText(PostColumn.ID, value -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> reader.scanLongs(PostColumn.BODY, value -> {
+        }));
+    }
+
+    @Test
+    void should_Fail_WhenFileIsNotAColumnFile() throws IOException {
+        Files.write(ColumnWriter.columnPath(tempDir, PostColumn.TITLE), "not a column".getBytes());
+
+        assertThrows(UncheckedIOException.class, () -> reader.scanText(PostColumn.TITLE, value -> {
+        }));
+    }
+
+    private void save(List<Post> posts, int blockRows) throws IOException {
+        try (ColumnWriter writer = new ColumnWriter(fileSystemAdapter, tempDir, blockRows)) {
+            for (Post post : posts) {
+                writer.append(post);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SearchHit;
+import com.save.posts.domain.port.output.PostIndex;
+
+class InvertedPostIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final InvertedPostIndex index = new InvertedPostIndex(1000);
+
+    @Test
+    void should_RankPostsByBm25_AcrossTitleAndBody() throws IOException {
+        index(index, new Post(1L, 1L, "Reactive streams", "Backpressure in reactive streams, reactive all the way"),
+                new Post(1L, 2L, "Blocking IO", "Threads wait on reactive sockets"),
+                new Post(2L, 3L, "Cooking", "Pasta and sauce"));
+
+        List<SearchHit> hits = index.search(tempDir, "Reactive", 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(SearchHit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void should_MatchAnyQueryTerm_AndRespectLimit() throws IOException {
+        index(index, new Post(1L, 1L, "alpha", "one"), new Post(1L, 2L, "beta", "two"),
+                new Post(1L, 3L, "gamma", "three"));
+
+        assertEquals(List.of(1L, 2L), index.search(tempDir, "alpha beta", 10).stream().map(SearchHit::id).sorted()
+                .toList());
+        assertEquals(1, index.search(tempDir, "alpha beta gamma", 1).size());
+        assertTrue(index.search(tempDir, "delta", 10).isEmpty());
+    }
+
+    @Test
+    void should_ReplaceReindexedPost_AndKeepOthers() throws IOException {
+        index(index, new Post(1L, 1L, "apples", "fruit"), new Post(1L, 2L, "pears", "fruit"));
+
+        index(index, new Post(1L, 1L, "carrots", "vegetable"));
+
+        assertTrue(index.search(tempDir, "apples", 10).isEmpty());
+        assertEquals(List.of(1L), index.search(tempDir, "carrots", 10).stream().map(SearchHit::id).toList());
+        assertEquals(List.of(2L), index.search(tempDir, "fruit", 10).stream().map(SearchHit::id).toList());
+    }
+
+    @Test
+    void should_MergeInBatches_WhenMoreThanMaxBufferedPosts() throws IOException {
+        InvertedPostIndex smallBuffer = new InvertedPostIndex(7);
+        PostIndex.Update update = smallBuffer.update(tempDir);
+        for (long id = 1; id <= 100; id++) {
+            update.add(new Post(1L, id, "post " + id, id % 2 == 0 ? "even" : "odd"));
+        }
+        update.commit();
+
+        assertEquals(50, smallBuffer.search(tempDir, "even", 100).size());
+        assertEquals(List.of(42L), smallBuffer.search(tempDir, "42", 10).stream().map(SearchHit::id).toList());
+        assertEquals(100, smallBuffer.search(tempDir, "post", 1000).size());
+    }
+
+    @Test
+    void should_SearchIndexWrittenByAnotherInstance() throws IOException {
+        index(index, new Post(1L, 5L, "Persistent", "Stored on disk"));
+
+        InvertedPostIndex reopened = new InvertedPostIndex(1000);
+
+        assertEquals(List.of(5L), reopened.search(tempDir, "DISK", 10).stream().map(SearchHit::id).toList());
+        assertFalse(Files.exists(tempDir.resolve(InvertedPostIndex.FILE_NAME + ".tmp")));
+    }
+
+    @Test
+    void should_IgnorePostsWithoutId_AndNullText() throws IOException {
+        index(index, new Post(1L, null, "orphan", "orphan"), new Post(1L, 1L, null, null));
+
+        assertTrue(index.search(tempDir, "orphan", 10).isEmpty());
+    }
+
+    @Test
+    void should_FindNothing_WhenNothingIndexed() {
+        assertTrue(index.search(tempDir, "anything", 10).isEmpty());
+    }
+
+    @Test
+    void should_Fail_WhenFileIsNotASearchIndex() throws IOException {
+        Files.writeString(tempDir.resolve(InvertedPostIndex.FILE_NAME), "not an index");
+
+        assertThrows(UncheckedIOException.class, () -> index.search(tempDir, "anything", 10));
+    }
+
+    @Test
+    void should_SplitTextIntoLowercaseTerms() {
+        assertEquals(List.of("grüße", "aus", "köln", "2024", "it", "s"),
+                InvertedPostIndex.terms("Grüße aus KÖLN, 2024 -- it's"));
+        assertTrue(InvertedPostIndex.terms("x".repeat(65)).isEmpty());
+    }
+
+    @Test
+    void should_RejectNonPositiveBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> new InvertedPostIndex(0));
+    }
+
+    private void index(InvertedPostIndex target, Post... posts) throws IOException {
+        PostIndex.Update update = target.update(tempDir);
+        for (Post post : posts) {
+            update.add(post);
+        }
+        update.commit();
+    }
+}
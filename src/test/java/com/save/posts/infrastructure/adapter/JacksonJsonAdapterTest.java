@@ -1,15 +1,23 @@
 package com.save.posts.infrastructure.adapter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -24,15 +32,21 @@ class JacksonJsonAdapterTest {
     @Mock
     private ObjectWriter objectWriter;
 
-    @InjectMocks
     private JacksonJsonAdapter jsonAdapter;
 
+    @BeforeEach
+    void setUp() {
+        when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(objectWriter);
+        when(objectMapper.writer()).thenReturn(objectWriter);
+        when(objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)).thenReturn(objectWriter);
+        jsonAdapter = new JacksonJsonAdapter(objectMapper, true);
+    }
+
     @Test
     void should_SerializeObjectToJson_Successfully() throws JsonProcessingException {
         Post post = new Post(1L, 1L, "Test Title", "Test Body");
         String expectedJson = "{\n  \"userId\" : 1,\n  \"id\" : 1,\n  \"title\" : \"Test Title\",\n  \"body\" : \"Test Body\"\n}";
 
-        when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(objectWriter);
         when(objectWriter.writeValueAsString(post)).thenReturn(expectedJson);
 
         String result = jsonAdapter.toJson(post);
@@ -42,7 +56,6 @@ class JacksonJsonAdapterTest {
 
     @Test
     void should_SerializeNullObject() throws JsonProcessingException {
-        when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(objectWriter);
         when(objectWriter.writeValueAsString(null)).thenReturn("null");
 
         String result = jsonAdapter.toJson(null);
@@ -56,7 +69,6 @@ class JacksonJsonAdapterTest {
         JsonProcessingException jsonException = new JsonProcessingException("Serialization failed") {
         };
 
-        when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(objectWriter);
         when(objectWriter.writeValueAsString(any())).thenThrow(jsonException);
 
         RuntimeException exception = assertThrows(
@@ -80,11 +92,73 @@ class JacksonJsonAdapterTest {
         };
         String expectedJson = "{\n  \"name\" : \"object\",\n  \"value\" : 56\n}";
 
-        when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(objectWriter);
         when(objectWriter.writeValueAsString(object)).thenReturn(expectedJson);
 
         String result = jsonAdapter.toJson(object);
 
         assertEquals(expectedJson, result);
     }
+
+    @Test
+    void should_ReuseSingleWriter_AcrossCalls() throws JsonProcessingException {
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+        when(objectWriter.writeValueAsBytes(post)).thenReturn(new byte[0]);
+
+        jsonAdapter.toJsonBytes(post);
+        jsonAdapter.toJsonBytes(post);
+
+        verify(objectMapper, times(1)).writerWithDefaultPrettyPrinter();
+    }
+
+    @Test
+    void should_ThrowRuntimeException_WhenByteSerializationFails() throws JsonProcessingException {
+        JsonProcessingException jsonException = new JsonProcessingException("Serialization failed") {
+        };
+        when(objectWriter.writeValueAsBytes(any())).thenThrow(jsonException);
+
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> jsonAdapter.toJsonBytes(new Post(1L, 1L, "Test Title", "Test Body")));
+
+        assertEquals("Failed to serialize object to JSON", exception.getMessage());
+        assertEquals(jsonException, exception.getCause());
+    }
+
+    @Test
+    void should_ProducePrettyAndCompactBytes_WithRealMapper() {
+        Post post = new Post(1L, 2L, "Test Title", "Test Body");
+
+        JacksonJsonAdapter pretty = new JacksonJsonAdapter(new ObjectMapper(), true);
+        JacksonJsonAdapter compact = new JacksonJsonAdapter(new ObjectMapper(), false);
+
+        assertEquals("{\n  \"userId\" : 1,\n  \"id\" : 2,\n  \"title\" : \"Test Title\",\n  \"body\" : \"Test Body\"\n}",
+                new String(pretty.toJsonBytes(post), StandardCharsets.UTF_8));
+        assertEquals("{\"userId\":1,\"id\":2,\"title\":\"Test Title\",\"body\":\"Test Body\"}",
+                new String(compact.toJsonBytes(post), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void should_StreamJsonIntoOutputStream_WithoutClosingIt() throws IOException {
+        Post post = new Post(1L, 2L, "Zażółć", "Test Body");
+        JacksonJsonAdapter compact = new JacksonJsonAdapter(new ObjectMapper(), false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("Stream must stay open");
+            }
+        };
+
+        compact.writeJson(post, outputStream);
+
+        assertArrayEquals(compact.toJsonBytes(post), outputStream.toByteArray());
+    }
+
+    @Test
+    void should_WriteCompactJsonLine_EvenWhenPrettyPrinting() {
+        Post post = new Post(1L, 2L, "Test Title", "Line 1\nLine 2");
+        JacksonJsonAdapter pretty = new JacksonJsonAdapter(new ObjectMapper(), true);
+
+        assertEquals("{\"userId\":1,\"id\":2,\"title\":\"Test Title\",\"body\":\"Line 1\\nLine 2\"}\n",
+                new String(pretty.toJsonLine(post), StandardCharsets.UTF_8));
+    }
 }
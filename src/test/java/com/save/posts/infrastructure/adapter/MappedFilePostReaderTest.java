@@ -0,0 +1,181 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Compression;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.StoredPost;
+import com.save.posts.domain.service.PostFileLayout;
+
+class MappedFilePostReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JacksonJsonAdapter jsonAdapter = new JacksonJsonAdapter(objectMapper, true);
+
+    private MappedFilePostReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new MappedFilePostReader(objectMapper, tempDir.toString());
+    }
+
+    @Test
+    void should_FindPostById_WithUserId() throws IOException {
+        save(new Post(4L, 12L, "Title", "Body"));
+
+        StoredPost stored = reader.findById(12L).orElseThrow();
+
+        assertEquals(4L, stored.userId());
+        assertEquals(new Post(4L, 12L, "Title", "Body"), objectMapper.readValue(text(stored.json()), Post.class));
+    }
+
+    @Test
+    void should_ReadLargePost_ThroughMapping() throws IOException {
+        Post post = new Post(1L, 3L, "Title", "x".repeat(100_000));
+        save(post);
+
+        StoredPost stored = reader.findById(3L).orElseThrow();
+
+        assertTrue(stored.json().isReadOnly());
+        assertEquals(post, objectMapper.readValue(text(stored.json()), Post.class));
+    }
+
+    @Test
+    void should_IgnoreFilesThatAreNotPosts() throws IOException {
+        save(new Post(1L, 1L, "Title", "Body"));
+        Files.writeString(tempDir.resolve("metrics.json"), "{}");
+        Files.writeString(tempDir.resolve(".manifest"), "1 abc");
+
+        assertEquals(1, reader.size());
+        assertTrue(reader.findById(2L).isEmpty());
+    }
+
+    @Test
+    void should_ScanIdRange_InNumericOrder() throws IOException {
+        for (long id : new long[] {2, 10, 9, 100}) {
+            save(new Post(1L, id, "Title", "Body"));
+        }
+
+        List<Long> ids = reader.scanById(2L, 100L).stream().map(StoredPost::id).toList();
+
+        assertEquals(List.of(2L, 9L, 10L), ids);
+        assertArrayEquals(new long[] {2L, 9L, 10L}, reader.ids(2L, 100L));
+        assertArrayEquals(new long[0], reader.ids(101L, 50L));
+    }
+
+    @Test
+    void should_ScanUserIdRange_OrderedByUserThenId() throws IOException {
+        save(new Post(2L, 1L, "Title", "Body"));
+        save(new Post(1L, 2L, "Title", "Body"));
+        save(new Post(1L, 3L, "Title", "Body"));
+        save(new Post(7L, 4L, "Title", "Body"));
+
+        List<StoredPost> posts = reader.scanByUserId(1L, 3L);
+
+        assertEquals(List.of(2L, 3L, 1L), posts.stream().map(StoredPost::id).toList());
+        assertEquals(List.of(1L, 1L, 2L), posts.stream().map(StoredPost::userId).toList());
+        assertArrayEquals(new long[] {2L, 3L}, reader.idsByUserId(1L));
+        assertArrayEquals(new long[0], reader.idsByUserId(5L));
+    }
+
+    @Test
+    void should_ReturnNullUserId_WhenFieldMissing() throws IOException {
+        Files.writeString(tempDir.resolve("5.json"), "{\"id\":5,\"title\":{\"nested\":1}}");
+
+        assertNull(reader.findById(5L).orElseThrow().userId());
+    }
+
+    @Test
+    void should_BeEmpty_WhenDirectoryMissing() {
+        MappedFilePostReader missing = new MappedFilePostReader(objectMapper, tempDir.resolve("missing").toString());
+
+        assertEquals(0, missing.size());
+    }
+
+    @Test
+    void should_TreatPostAsMissing_WhenFileDeletedSinceListing() throws IOException {
+        save(new Post(1L, 1L, "Title", "Body"));
+        save(new Post(1L, 2L, "Title", "Body"));
+        assertEquals(2, reader.size());
+
+        Files.delete(tempDir.resolve("2.json"));
+
+        assertTrue(reader.findById(2L).isEmpty());
+        assertEquals(List.of(1L), reader.scanById(1L, 10L).stream().map(StoredPost::id).toList());
+        assertEquals(List.of(1L), reader.scanByUserId(1L, 2L).stream().map(StoredPost::id).toList());
+    }
+
+    @Test
+    void should_PickUpNewFiles_AfterRefresh() throws IOException {
+        save(new Post(1L, 1L, "Title", "Body"));
+        assertEquals(1, reader.size());
+
+        save(new Post(1L, 2L, "Title", "Body"));
+        reader.refresh();
+
+        assertEquals(2, reader.size());
+    }
+
+    @Test
+    void should_FindAndScanPosts_WhenSharded() throws IOException {
+        PostFileLayout layout = new PostFileLayout(tempDir, PostFileLayout.Layout.SHARDED,
+                PostFileLayout.Strategy.HASH, 16, 0);
+        MappedFilePostReader shardedReader = new MappedFilePostReader(objectMapper, layout);
+        for (long id = 1; id <= 20; id++) {
+            Path file = layout.pathFor(id);
+            Files.createDirectories(file.getParent());
+            Files.write(file, jsonAdapter.toJsonBytes(new Post(id % 3, id, "Title", "Body")));
+        }
+
+        assertEquals(20, shardedReader.size());
+        assertEquals(5L, shardedReader.findById(5L).orElseThrow().id());
+        assertEquals(List.of(3L, 4L, 5L), shardedReader.scanById(3, 6).stream().map(StoredPost::id).toList());
+        assertEquals(6, shardedReader.scanByUserId(0, 1).size());
+    }
+
+    @Test
+    void should_InflatePosts_WhenCompressed() throws IOException {
+        MappedFilePostReader gzipReader = new MappedFilePostReader(objectMapper, PostFileLayout.flat(tempDir),
+                Compression.GZIP);
+        save(new Post(1L, 1L, "Plain", "Body"));
+        for (long id = 2; id <= 3; id++) {
+            try (OutputStream file = Compression.GZIP.compress(
+                    Files.newOutputStream(tempDir.resolve(id + ".json.gz")), 6)) {
+                jsonAdapter.writeJson(new Post(7L, id, "Title " + id, "Body"), file);
+            }
+        }
+
+        assertEquals(2, gzipReader.size());
+        StoredPost post = gzipReader.findById(3L).orElseThrow();
+        assertEquals(7L, post.userId());
+        assertEquals(new Post(7L, 3L, "Title 3", "Body"), objectMapper.readValue(text(post.json()), Post.class));
+        assertTrue(gzipReader.findById(1L).isEmpty());
+        assertEquals(2, gzipReader.scanByUserId(7, 8).size());
+    }
+
+    private void save(Post post) throws IOException {
+        Files.write(tempDir.resolve(post.id() + ".json"), jsonAdapter.toJsonBytes(post));
+    }
+
+    private static String text(ByteBuffer json) {
+        return StandardCharsets.UTF_8.decode(json.duplicate()).toString();
+    }
+}
@@ -0,0 +1,158 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.StoredPost;
+import com.save.posts.domain.service.SegmentWriter;
+
+class MappedSegmentPostReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JacksonJsonAdapter jsonAdapter = new JacksonJsonAdapter(objectMapper, false);
+    private final NioFileSystemAdapter fileSystemAdapter = new NioFileSystemAdapter();
+
+    private MappedSegmentPostReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new MappedSegmentPostReader(tempDir.toString());
+    }
+
+    @Test
+    void should_FindPostById_AsReadOnlyJsonView() throws IOException {
+        save(List.of(new Post(1L, 1L, "a", "b"), new Post(2L, 2L, "c", "d")), 1024);
+
+        StoredPost stored = reader.findById(2L).orElseThrow();
+
+        assertEquals(2L, stored.id());
+        assertEquals(2L, stored.userId());
+        assertEquals(new Post(2L, 2L, "c", "d"), objectMapper.readValue(text(stored.json()), Post.class));
+        assertThrows(ReadOnlyBufferException.class, () -> stored.json().put(0, (byte) 'x'));
+    }
+
+    @Test
+    void should_ReturnEmpty_WhenIdNotSaved() throws IOException {
+        save(List.of(new Post(1L, 1L, "a", "b")), 1024);
+
+        assertTrue(reader.findById(3L).isEmpty());
+    }
+
+    @Test
+    void should_ReadAcrossSegments() throws IOException {
+        save(posts(50), 256);
+
+        assertEquals(50, reader.size());
+        for (long id = 1; id <= 50; id++) {
+            assertEquals(id, objectMapper.readTree(text(reader.findById(id).orElseThrow().json())).get("id").asLong());
+        }
+    }
+
+    @Test
+    void should_ScanIdRange_InIdOrder() throws IOException {
+        save(List.of(new Post(1L, 5L, "a", "b"), new Post(1L, 3L, "a", "b"), new Post(1L, 9L, "a", "b"),
+                new Post(1L, 4L, "a", "b")), 1024);
+
+        List<Long> ids = reader.scanById(3L, 9L).stream().map(StoredPost::id).toList();
+
+        assertEquals(List.of(3L, 4L, 5L), ids);
+        assertArrayEquals(new long[] {3L, 4L, 5L, 9L}, reader.ids(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void should_ScanUserIdRange_OrderedByUserThenId() throws IOException {
+        save(List.of(new Post(2L, 1L, "a", "b"), new Post(1L, 2L, "a", "b"), new Post(3L, 3L, "a", "b"),
+                new Post(1L, 4L, "a", "b"), new Post(null, 5L, "a", "b")), 1024);
+
+        List<Long> ids = reader.scanByUserId(1L, 3L).stream().map(StoredPost::id).toList();
+
+        assertEquals(List.of(2L, 4L, 1L), ids);
+        assertArrayEquals(new long[] {2L, 4L}, reader.idsByUserId(1L));
+        assertArrayEquals(new long[] {3L}, reader.idsByUserId(3L));
+    }
+
+    @Test
+    void should_KeepLastEntry_WhenIdSavedTwice() throws IOException {
+        save(List.of(new Post(1L, 7L, "old", "b"), new Post(1L, 8L, "a", "b"), new Post(1L, 7L, "new", "b")), 1024);
+
+        StoredPost stored = reader.findById(7L).orElseThrow();
+
+        assertEquals(2, reader.size());
+        assertEquals("new", objectMapper.readTree(text(stored.json())).get("title").asText());
+    }
+
+    @Test
+    void should_ReturnNullUserId_WhenNotSaved() throws IOException {
+        save(List.of(new Post(null, 1L, "a", "b")), 1024);
+
+        assertNull(reader.findById(1L).orElseThrow().userId());
+    }
+
+    @Test
+    void should_BeEmpty_WhenNothingSaved() {
+        assertEquals(0, reader.size());
+        assertTrue(reader.scanById(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void should_PickUpNewSave_AfterRefresh() throws IOException {
+        save(posts(2), 1024);
+        assertEquals(2, reader.size());
+
+        save(posts(5), 1024);
+        reader.refresh();
+
+        assertEquals(5, reader.size());
+    }
+
+    @Test
+    void should_KeepServingMappedSave_WhileNextSaveReplacesIt() throws IOException {
+        save(List.of(new Post(1L, 1L, "Old title", "Old body")), 1024);
+        assertEquals(1, reader.size());
+
+        save(List.of(new Post(1L, 1L, "New", "New"), new Post(1L, 2L, "New", "New")), 1024);
+
+        assertEquals(new Post(1L, 1L, "Old title", "Old body"),
+                objectMapper.readValue(text(reader.findById(1L).orElseThrow().json()), Post.class));
+        reader.refresh();
+        assertEquals(new Post(1L, 1L, "New", "New"),
+                objectMapper.readValue(text(reader.findById(1L).orElseThrow().json()), Post.class));
+        assertEquals(2, reader.size());
+    }
+
+    private void save(List<Post> posts, long maxSegmentBytes) throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(fileSystemAdapter, tempDir, maxSegmentBytes)) {
+            for (Post post : posts) {
+                writer.append(post, jsonAdapter.toJsonLine(post));
+            }
+        }
+    }
+
+    private static List<Post> posts(int count) {
+        return java.util.stream.LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new Post(id % 3, id, "Title " + id, "Body " + id))
+                .toList();
+    }
+
+    private static String text(ByteBuffer json) {
+        return StandardCharsets.UTF_8.decode(json.duplicate()).toString();
+    }
+}
@@ -0,0 +1,167 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.save.posts.domain.port.output.PostMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerPostMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MicrometerPostMetrics postMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        postMetrics = new MicrometerPostMetrics(meterRegistry, MicrometerPostMetrics.Export.LOG, "metrics.txt");
+    }
+
+    @Test
+    void should_RegisterMeters_ForEachRecordedValue() {
+        postMetrics.recordFetch(TimeUnit.MILLISECONDS.toNanos(120));
+        postMetrics.recordBytesReceived(2048);
+        postMetrics.recordBytesReceived(1024);
+        postMetrics.recordPostDecoded();
+        postMetrics.recordPostDecoded();
+        postMetrics.recordSerialization(5_000);
+        postMetrics.recordFileWrite(50_000);
+        postMetrics.recordFailure(PostMetrics.Stage.SAVE);
+
+        assertEquals(1, meterRegistry.get("posts.fetch.latency").timer().count());
+        assertEquals(3072, meterRegistry.get("posts.fetch.bytes").counter().count());
+        assertEquals(2, meterRegistry.get("posts.decoded").counter().count());
+        assertEquals(1, meterRegistry.get("posts.serialize.time").timer().count());
+        assertEquals(1, meterRegistry.get("posts.write.latency").timer().count());
+        assertEquals(1, meterRegistry.get("posts.failures").tag("stage", "save").counter().count());
+        assertEquals(0, meterRegistry.get("posts.failures").tag("stage", "fetch").counter().count());
+    }
+
+    @Test
+    void should_TagRunDuration_ByOutcome() {
+        postMetrics.recordRun(TimeUnit.SECONDS.toNanos(2), true);
+        postMetrics.recordRun(TimeUnit.SECONDS.toNanos(1), true);
+        postMetrics.recordRun(TimeUnit.SECONDS.toNanos(3), false);
+
+        assertEquals(2, meterRegistry.get("posts.run.duration").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("posts.run.duration").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void should_TagQueryLatency_ByRoute() {
+        postMetrics.recordQuery("/posts/{id}", 200_000);
+        postMetrics.recordQuery("/posts/{id}", 300_000);
+        postMetrics.recordQuery("/posts", 900_000);
+
+        assertEquals(2, meterRegistry.get("posts.query.latency").tag("route", "/posts/{id}").timer().count());
+        assertEquals(1, meterRegistry.get("posts.query.latency").tag("route", "/posts").timer().count());
+        assertTrue(postMetrics.summary().stream()
+                .anyMatch(line -> line.startsWith("posts.query.latency route=/posts/{id} count=2")
+                        && line.contains(" p99=")));
+    }
+
+    @Test
+    void should_ReportDecodeRate_RelativeToLastRun() {
+        for (int i = 0; i < 500; i++) {
+            postMetrics.recordPostDecoded();
+        }
+        postMetrics.recordRun(TimeUnit.SECONDS.toNanos(2), true);
+
+        assertTrue(postMetrics.summary().contains("posts.decoded total=500 last-run=500 rate=250.0/s"));
+    }
+
+    @Test
+    void should_ReportDecodeRate_OfLastRunOnly_WhenRunsRepeat() {
+        for (int i = 0; i < 500; i++) {
+            postMetrics.recordPostDecoded();
+        }
+        postMetrics.recordRun(TimeUnit.SECONDS.toNanos(2), true);
+        for (int i = 0; i < 100; i++) {
+            postMetrics.recordPostDecoded();
+        }
+        postMetrics.recordRun(TimeUnit.SECONDS.toNanos(1), true);
+
+        assertTrue(postMetrics.summary().contains("posts.decoded total=600 last-run=100 rate=100.0/s"));
+    }
+
+    @Test
+    void should_IncludePercentiles_InSummary() {
+        postMetrics.recordFileWrite(TimeUnit.MILLISECONDS.toNanos(1));
+
+        String writeLine = postMetrics.summary().stream()
+                .filter(line -> line.startsWith("posts.write.latency"))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(writeLine.contains("count=1"));
+        assertTrue(writeLine.contains("p50="));
+        assertTrue(writeLine.contains("p99="));
+    }
+
+    @Test
+    void should_ReportCompressionRatioAndThroughput_InSummary() {
+        postMetrics.recordFileWrite(TimeUnit.MILLISECONDS.toNanos(1));
+        postMetrics.recordBytesWritten(3000, 1000);
+        postMetrics.recordFileWrite(TimeUnit.MILLISECONDS.toNanos(1));
+        postMetrics.recordBytesWritten(1000, 1000);
+
+        assertEquals(4000, meterRegistry.get("posts.write.bytes").tag("encoding", "raw").counter().count());
+        assertEquals(2000, meterRegistry.get("posts.write.bytes").tag("encoding", "stored").counter().count());
+        assertTrue(postMetrics.summary()
+                .contains("posts.write.bytes raw=4000 stored=2000 ratio=2.00 throughput=1.0MB/s"));
+    }
+
+    @Test
+    void should_ReportCacheHitRatioAndEvictions_InSummary() {
+        postMetrics.recordCacheLookup(true);
+        postMetrics.recordCacheLookup(true);
+        postMetrics.recordCacheLookup(true);
+        postMetrics.recordCacheLookup(false);
+        postMetrics.recordCacheEvictions(2);
+
+        assertEquals(3, meterRegistry.get("posts.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("posts.cache.requests").tag("result", "miss").counter().count());
+        assertTrue(postMetrics.summary().contains("posts.cache hits=3 misses=1 ratio=0.750 evictions=2"));
+    }
+
+    @Test
+    void should_WriteSummaryToFile_WhenFileExportSelected() throws IOException {
+        Path file = tempDir.resolve("metrics.txt");
+        MicrometerPostMetrics fileMetrics = new MicrometerPostMetrics(new SimpleMeterRegistry(),
+                MicrometerPostMetrics.Export.FILE, file.toString());
+        fileMetrics.recordPostDecoded();
+        fileMetrics.recordRun(TimeUnit.SECONDS.toNanos(1), true);
+
+        fileMetrics.publishSummary();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(fileMetrics.summary(), lines);
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("posts.run.duration outcome=success count=1")));
+    }
+
+    @Test
+    void should_NotWriteFile_WhenExportDisabled() {
+        Path file = tempDir.resolve("metrics.txt");
+        MicrometerPostMetrics disabled = new MicrometerPostMetrics(new SimpleMeterRegistry(),
+                MicrometerPostMetrics.Export.NONE, file.toString());
+
+        disabled.publishSummary();
+
+        assertFalse(Files.exists(file));
+    }
+}
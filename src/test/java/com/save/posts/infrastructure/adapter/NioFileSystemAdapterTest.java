@@ -1,9 +1,15 @@
 package com.save.posts.infrastructure.adapter;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -84,6 +90,26 @@ class NioFileSystemAdapterTest {
         assertTrue(actualContent.equals(emptyContent));
     }
 
+    @Test
+    void should_WriteBytesToFile_Successfully() throws IOException {
+        Path filePath = tempDir.resolve("bytes.json");
+        byte[] content = "{\"title\":\"zażółć\"}".getBytes(StandardCharsets.UTF_8);
+
+        fileSystemAdapter.writeBytesToFile(filePath, content);
+
+        assertArrayEquals(content, Files.readAllBytes(filePath));
+    }
+
+    @Test
+    void should_ReadStringFromFile_Successfully() throws IOException {
+        Path filePath = tempDir.resolve("read.txt");
+        Files.writeString(filePath, "Stored content");
+
+        String actualContent = fileSystemAdapter.readStringFromFile(filePath);
+
+        assertTrue(actualContent.equals("Stored content"));
+    }
+
     @Test
     void should_ReturnTrue_WhenPathExists() throws IOException {
         Path existingFile = tempDir.resolve("existing.txt");
@@ -140,4 +166,153 @@ class NioFileSystemAdapterTest {
         String actualContent = Files.readString(filePath);
         assertTrue(actualContent.equals(specialContent));
     }
+
+    @Test
+    void should_TruncateAndWrite_WhenOpeningOutputStream() throws IOException {
+        Path filePath = tempDir.resolve("segment.ndjson");
+        Files.writeString(filePath, "previous content that is longer");
+
+        try (OutputStream outputStream = fileSystemAdapter.openOutputStream(filePath)) {
+            outputStream.write("new".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("new", Files.readString(filePath));
+    }
+
+    @Test
+    void should_ListOnlyMatchingFiles() throws IOException {
+        Files.writeString(tempDir.resolve("segment-00000.ndjson"), "");
+        Files.writeString(tempDir.resolve("segment-00001.ndjson"), "");
+        Files.writeString(tempDir.resolve("segments.idx"), "");
+
+        List<Path> files = fileSystemAdapter.listFiles(tempDir, "segment-*.ndjson");
+
+        assertEquals(Set.of(tempDir.resolve("segment-00000.ndjson"), tempDir.resolve("segment-00001.ndjson")),
+                Set.copyOf(files));
+    }
+
+    @Test
+    void should_DeleteFile_AndIgnoreMissingFile() throws IOException {
+        Path filePath = tempDir.resolve("stale.ndjson");
+        Files.writeString(filePath, "stale");
+
+        fileSystemAdapter.deleteIfExists(filePath);
+        fileSystemAdapter.deleteIfExists(filePath);
+
+        assertFalse(Files.exists(filePath));
+    }
+
+    @Test
+    void should_ReplaceFileWithoutLeavingTempFile_WhenWritesAreAtomic() throws IOException {
+        NioFileSystemAdapter atomicAdapter = new NioFileSystemAdapter(true, false, 0, 0);
+        Path filePath = tempDir.resolve("1.json");
+        Files.writeString(filePath, "previous content that is longer");
+
+        atomicAdapter.writeStringToFile(filePath, "new");
+
+        assertEquals("new", Files.readString(filePath));
+        assertEquals(List.of(filePath), fileSystemAdapter.listFiles(tempDir, "*"));
+    }
+
+    @Test
+    void should_KeepTargetUntilStreamIsClosed_WhenWritesAreAtomic() throws IOException {
+        NioFileSystemAdapter atomicAdapter = new NioFileSystemAdapter(true, false, 0, 0);
+        Path filePath = tempDir.resolve("segment-00000.ndjson");
+        Files.writeString(filePath, "previous");
+
+        try (OutputStream outputStream = atomicAdapter.openOutputStream(filePath)) {
+            outputStream.write("new".getBytes(StandardCharsets.UTF_8));
+            assertEquals("previous", Files.readString(filePath));
+        }
+
+        assertEquals("new", Files.readString(filePath));
+        assertEquals(List.of(), fileSystemAdapter.listFiles(tempDir, "*.tmp"));
+    }
+
+    @Test
+    void should_ReplaceTarget_WhenRenamed() throws IOException {
+        Path source = tempDir.resolve("segments.idx.tmp");
+        Path target = tempDir.resolve("segments.idx");
+        Files.writeString(source, "new");
+        Files.writeString(target, "previous");
+
+        fileSystemAdapter.rename(source, target);
+
+        assertEquals("new", Files.readString(target));
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    void should_RenameAtomicWritesInBatches_WhenFsyncEnabled() throws IOException {
+        NioFileSystemAdapter batchingAdapter = new NioFileSystemAdapter(true, true, 3, 0);
+
+        batchingAdapter.writeStringToFile(tempDir.resolve("1.json"), "1");
+        batchingAdapter.writeStringToFile(tempDir.resolve("2.json"), "2");
+        assertEquals(List.of(), fileSystemAdapter.listFiles(tempDir, "*.json"));
+
+        batchingAdapter.writeStringToFile(tempDir.resolve("3.json"), "3");
+        assertEquals(3, fileSystemAdapter.listFiles(tempDir, "*.json").size());
+
+        batchingAdapter.writeStringToFile(tempDir.resolve("4.json"), "4");
+        assertFalse(Files.exists(tempDir.resolve("4.json")));
+        batchingAdapter.flush();
+
+        assertEquals("4", Files.readString(tempDir.resolve("4.json")));
+        assertEquals(List.of(), fileSystemAdapter.listFiles(tempDir, "*.tmp"));
+    }
+
+    @Test
+    void should_KeepLatestContent_WhenSameFileIsWrittenTwiceInOneBatch() throws IOException {
+        NioFileSystemAdapter batchingAdapter = new NioFileSystemAdapter(true, true, 100, 0);
+        Path filePath = tempDir.resolve("1.json");
+
+        batchingAdapter.writeStringToFile(filePath, "first");
+        batchingAdapter.writeStringToFile(filePath, "second");
+        batchingAdapter.flush();
+
+        assertEquals("second", Files.readString(filePath));
+        assertEquals(List.of(filePath), fileSystemAdapter.listFiles(tempDir, "*"));
+    }
+
+    @Test
+    void should_PublishOnlyCompleteVersions_WhenSameFileIsWrittenConcurrently() throws IOException {
+        NioFileSystemAdapter batchingAdapter = new NioFileSystemAdapter(true, true, 100, 0);
+        Path filePath = tempDir.resolve("1.json");
+
+        try (OutputStream first = batchingAdapter.openOutputStream(filePath);
+                OutputStream second = batchingAdapter.openOutputStream(filePath)) {
+            first.write("first".getBytes(StandardCharsets.UTF_8));
+            second.write("second".getBytes(StandardCharsets.UTF_8));
+            first.close();
+            batchingAdapter.flush();
+            assertEquals("first", Files.readString(filePath));
+            second.write(" version".getBytes(StandardCharsets.UTF_8));
+        }
+        batchingAdapter.flush();
+
+        assertEquals("second version", Files.readString(filePath));
+        assertEquals(List.of(filePath), fileSystemAdapter.listFiles(tempDir, "*"));
+    }
+
+    @Test
+    void should_CommitBatch_WhenIntervalElapsed() throws Exception {
+        NioFileSystemAdapter batchingAdapter = new NioFileSystemAdapter(true, true, 100, 1);
+
+        Thread.sleep(5);
+        batchingAdapter.writeStringToFile(tempDir.resolve("1.json"), "1");
+
+        assertEquals("1", Files.readString(tempDir.resolve("1.json")));
+    }
+
+    @Test
+    void should_WriteInPlace_WhenFsyncEnabledWithoutAtomicWrites() throws IOException {
+        NioFileSystemAdapter syncingAdapter = new NioFileSystemAdapter(false, true, 100, 0);
+        Path filePath = tempDir.resolve("1.json");
+
+        syncingAdapter.writeStringToFile(filePath, "content");
+
+        assertEquals("content", Files.readString(filePath));
+        syncingAdapter.flush();
+        assertEquals(List.of(filePath), fileSystemAdapter.listFiles(tempDir, "*"));
+    }
 }
@@ -0,0 +1,108 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.save.posts.domain.service.PostQueryService;
+import com.save.posts.infrastructure.config.QueryServerConfig;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class PostQueryHandlerTest {
+
+    @Mock
+    private PostQueryService postQueryService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient
+                .bindToRouterFunction(new QueryServerConfig().postRoutes(new PostQueryHandler(postQueryService)))
+                .build();
+    }
+
+    @Test
+    void should_ReturnStoredJson_WhenPostFound() {
+        when(postQueryService.findById(7L)).thenReturn(Mono.just(json("{\"id\":7}")));
+
+        client.get().uri("/posts/7").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo("{\"id\":7}");
+    }
+
+    @Test
+    void should_Return404_WhenPostNotFound() {
+        when(postQueryService.findById(8L)).thenReturn(Mono.empty());
+
+        client.get().uri("/posts/8").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void should_Return400_WhenIdIsNotANumber() {
+        client.get().uri("/posts/abc").exchange().expectStatus().isBadRequest();
+
+        verify(postQueryService, never()).findById(anyLong());
+    }
+
+    @Test
+    void should_ReturnPostsOfUser_AsJsonArray() {
+        when(postQueryService.findByUserId(3L)).thenReturn(Flux.just(json("{\"id\":1}"), json("{\"id\":4}")));
+
+        client.get().uri("/posts?userId=3").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("[{\"id\":1},{\"id\":4}]");
+    }
+
+    @Test
+    void should_ReturnEmptyArray_WhenUserHasNoPosts() {
+        when(postQueryService.findByUserId(5L)).thenReturn(Flux.empty());
+
+        client.get().uri("/posts?userId=5").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("[]");
+    }
+
+    @Test
+    void should_Return400_WhenUserIdMissing() {
+        client.get().uri("/posts").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_StreamIdRange_AsSingleLineNdjson() {
+        when(postQueryService.findByIdRange(Long.MIN_VALUE, 10L))
+                .thenReturn(Flux.just(json("{\n  \"id\" : 1,\n  \"body\" : \"a\\nb\"\r\n}"), json("{\"id\":2}")));
+
+        client.get().uri("/posts/stream?toId=10").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo("{  \"id\" : 1,  \"body\" : \"a\\nb\"}\n{\"id\":2}\n");
+    }
+
+    @Test
+    void should_StreamPostsOfUser_WhenUserIdGiven() {
+        when(postQueryService.findByUserId(2L)).thenReturn(Flux.just(json("{\"id\":3}")));
+
+        client.get().uri("/posts/stream?userId=2").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("{\"id\":3}\n");
+    }
+
+    private static byte[] json(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.save.posts.domain.model.CacheValidators;
+
+class PropertiesFetchStateStoreTest {
+
+    private static final String URI = "https://jsonplaceholder.typicode.com/posts";
+
+    @TempDir
+    Path tempDir;
+
+    private PropertiesFetchStateStore stateStore;
+
+    @BeforeEach
+    void setUp() {
+        stateStore = new PropertiesFetchStateStore(tempDir.resolve("output").toString());
+    }
+
+    @Test
+    void should_ReturnEmpty_WhenNothingStored() {
+        assertEquals(Optional.empty(), stateStore.loadValidators(URI));
+    }
+
+    @Test
+    void should_PersistValidators_AcrossInstances() {
+        CacheValidators validators = new CacheValidators("\"abc\"", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        stateStore.storeValidators(URI, validators);
+
+        PropertiesFetchStateStore reopened = new PropertiesFetchStateStore(tempDir.resolve("output").toString());
+        assertEquals(Optional.of(validators), reopened.loadValidators(URI));
+    }
+
+    @Test
+    void should_KeepValidatorsPerUri() {
+        stateStore.storeValidators(URI, new CacheValidators("\"a\"", null));
+        stateStore.storeValidators(URI + "?other", new CacheValidators(null, "Thu, 22 Oct 2015 07:28:00 GMT"));
+
+        assertEquals(Optional.of(new CacheValidators("\"a\"", null)), stateStore.loadValidators(URI));
+        assertEquals(Optional.of(new CacheValidators(null, "Thu, 22 Oct 2015 07:28:00 GMT")),
+                stateStore.loadValidators(URI + "?other"));
+    }
+
+    @Test
+    void should_IgnoreUnreadableState() throws IOException {
+        Path stateFile = tempDir.resolve("output").resolve(PropertiesFetchStateStore.FILE_NAME);
+        Files.createDirectories(stateFile.getParent());
+        Files.writeString(stateFile, "broken\\u00");
+
+        assertTrue(stateStore.loadValidators(URI).isEmpty());
+    }
+
+    @Test
+    void should_StoreAndClearCheckpoint_WithoutTouchingValidators() {
+        CacheValidators validators = new CacheValidators("\"abc\"", null);
+        stateStore.storeValidators(URI, validators);
+
+        stateStore.storeCheckpoint(URI + "#page", "42");
+        PropertiesFetchStateStore reopened = new PropertiesFetchStateStore(tempDir.resolve("output").toString());
+        assertEquals(Optional.of("42"), reopened.loadCheckpoint(URI + "#page"));
+
+        reopened.clearCheckpoint(URI + "#page");
+
+        assertEquals(Optional.empty(), stateStore.loadCheckpoint(URI + "#page"));
+        assertEquals(Optional.of(validators), stateStore.loadValidators(URI));
+    }
+}
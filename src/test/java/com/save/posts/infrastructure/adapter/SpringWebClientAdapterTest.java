@@ -1,17 +1,36 @@
 package com.save.posts.infrastructure.adapter;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.save.posts.domain.model.CacheValidators;
+import com.save.posts.domain.model.ConditionalResponse;
+import com.save.posts.domain.model.HttpPage;
 import com.save.posts.domain.model.Post;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -125,4 +144,134 @@ class SpringWebClientAdapterTest {
                 .expectNextCount(1000)
                 .verifyComplete();
     }
+
+    @Test
+    void should_FetchPage_WithNextLink() {
+        String uri = "https://api.example.com/posts?page=1";
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK,
+                "<https://api.example.com/posts?page=2>; rel=\"next\", <https://api.example.com/posts?page=9>; rel=\"last\"");
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(uri)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(Post.class)).thenReturn(Mono.just(ResponseEntity.ok().headers(headers).body(List.of(post))));
+
+        StepVerifier.create(webClientAdapter.getPage(uri, Post.class))
+                .expectNext(new HttpPage<>(List.of(post), "https://api.example.com/posts?page=2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_FetchLastPage_WithoutNextLink() {
+        String uri = "https://api.example.com/posts?page=9";
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(uri)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(Post.class)).thenReturn(Mono.just(ResponseEntity.ok().body(List.of())));
+
+        StepVerifier.create(webClientAdapter.getPage(uri, Post.class))
+                .expectNext(new HttpPage<>(List.of(), null))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_ResolveRelativeNextLink_AgainstRequestUri() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "</posts?cursor=xyz>; rel=\"prev next\"");
+
+        assertEquals("https://api.example.com/posts?cursor=xyz",
+                SpringWebClientAdapter.nextLink("https://api.example.com/posts?cursor=abc", headers));
+    }
+
+    @Test
+    void should_MatchNextRelation_IgnoringCase() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<https://api.example.com/posts?page=2>; REL=\"prefetch Next\"");
+
+        assertEquals("https://api.example.com/posts?page=2",
+                SpringWebClientAdapter.nextLink("https://api.example.com/posts?page=1", headers));
+    }
+
+    @Test
+    void should_NotMatchRelationsOnlyContainingNext() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<https://api.example.com/posts?page=2>; rel=\"nextpage next-archive\"");
+
+        assertNull(SpringWebClientAdapter.nextLink("https://api.example.com/posts?page=1", headers));
+    }
+
+    @Test
+    void should_IgnoreLinksWithoutNextRelation() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<https://api.example.com/posts?page=1>; rel=first, <https://api.example.com/nextpage>; rel=last");
+
+        assertNull(SpringWebClientAdapter.nextLink("https://api.example.com/posts", headers));
+    }
+
+    @Test
+    void should_SendValidators_AndReportNotModified() {
+        String uri = "https://jsonplaceholder.typicode.com/posts";
+        CacheValidators known = new CacheValidators("\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(uri)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(Post.class))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).body(Flux.<Post>empty())));
+
+        StepVerifier.create(webClientAdapter.getIfModified(uri, Post.class, known))
+                .assertNext(response -> {
+                    assertTrue(response.notModified());
+                    assertEquals(known, response.validators());
+                })
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<HttpHeaders>> headersCustomizer = ArgumentCaptor.forClass(Consumer.class);
+        verify(requestHeadersSpec).headers(headersCustomizer.capture());
+        HttpHeaders sent = new HttpHeaders();
+        headersCustomizer.getValue().accept(sent);
+        assertEquals(List.of("\"v1\""), sent.getIfNoneMatch());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", sent.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    void should_ReturnBodyAndNewValidators_WhenModified() {
+        String uri = "https://jsonplaceholder.typicode.com/posts";
+        Post post = new Post(1L, 1L, "Test Title", "Test Body");
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(uri)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(Post.class)).thenReturn(Mono.just(ResponseEntity.ok()
+                .eTag("v2")
+                .header(HttpHeaders.LAST_MODIFIED, "Thu, 22 Oct 2015 07:28:00 GMT")
+                .body(Flux.just(post))));
+
+        ConditionalResponse<Post> response = webClientAdapter.getIfModified(uri, Post.class, CacheValidators.NONE)
+                .block();
+
+        assertEquals(new CacheValidators("\"v2\"", "Thu, 22 Oct 2015 07:28:00 GMT"), response.validators());
+        StepVerifier.create(response.body())
+                .expectNext(post)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_ClassifyServerErrorsAndConnectionFailures_AsTransient() {
+        assertTrue(webClientAdapter.isTransient(WebClientResponseException.create(503, "Service Unavailable",
+                null, null, null)));
+        assertTrue(webClientAdapter.isTransient(WebClientResponseException.create(429, "Too Many Requests",
+                null, null, null)));
+        assertTrue(webClientAdapter.isTransient(new IOException("Connection reset")));
+        assertTrue(webClientAdapter.isTransient(new TimeoutException()));
+        assertFalse(webClientAdapter.isTransient(WebClientResponseException.create(404, "Not Found",
+                null, null, null)));
+        assertFalse(webClientAdapter.isTransient(new IllegalArgumentException("Bad JSON")));
+    }
 }
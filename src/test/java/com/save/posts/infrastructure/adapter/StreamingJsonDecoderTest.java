@@ -0,0 +1,179 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.port.output.PostMetrics;
+import com.save.posts.infrastructure.config.WebClientConfig;
+
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+class StreamingJsonDecoderTest {
+
+    private static final ResolvableType POST = ResolvableType.forClass(Post.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StreamingJsonDecoder decoder = new StreamingJsonDecoder(objectMapper, 1024);
+
+    @Test
+    void should_EmitEachPost_WhenArrayIsSplitAcrossBuffers() {
+        String json = "[{\"userId\":1,\"id\":1,\"title\":\"first\",\"body\":\"a \\\"quoted\\\" [body]\"},"
+                + "{\"userId\":2,\"id\":2,\"title\":\"second\",\"body\":\"b\"}]";
+
+        StepVerifier.create(decoder.decode(chunks(json, 3), POST, MediaType.APPLICATION_JSON, null))
+                .expectNext(new Post(1L, 1L, "first", "a \"quoted\" [body]"))
+                .expectNext(new Post(2L, 2L, "second", "b"))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_EmitSinglePost_WhenResponseIsAnObject() {
+        String json = "{\"userId\":1,\"id\":7,\"title\":\"t\",\"body\":\"b\"}";
+
+        StepVerifier.create(decoder.decode(chunks(json, 5), POST, MediaType.APPLICATION_JSON, null))
+                .expectNext(new Post(1L, 7L, "t", "b"))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_IgnoreUnknownProperties_WhenFeedAddsFields() {
+        String json = "[{\"userId\":1,\"id\":1,\"title\":\"t\",\"body\":\"b\",\"extra\":true}]";
+        String single = "{\"userId\":1,\"id\":2,\"title\":\"t\",\"body\":\"b\",\"tags\":[\"x\"]}";
+
+        StepVerifier.create(decoder.decode(chunks(json, 4), POST, MediaType.APPLICATION_JSON, null))
+                .expectNext(new Post(1L, 1L, "t", "b"))
+                .verifyComplete();
+        StepVerifier.create(decoder.decodeToMono(chunks(single, 4), POST, MediaType.APPLICATION_JSON, null))
+                .expectNext(new Post(1L, 2L, "t", "b"))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_EmitNothing_WhenArrayIsEmpty() {
+        StepVerifier.create(decoder.decode(chunks(" [ ] ", 1), POST, MediaType.APPLICATION_JSON, null))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_FailWithLimit_WhenSinglePostExceedsMaxBytes() {
+        String json = "[{\"id\":1,\"body\":\"" + "x".repeat(2048) + "\"}]";
+
+        StepVerifier.create(decoder.decode(chunks(json, 256), POST, MediaType.APPLICATION_JSON, null))
+                .expectError(DataBufferLimitException.class)
+                .verify();
+    }
+
+    @Test
+    void should_FailAfterCompletePosts_WhenArrayIsTruncated() {
+        String json = "[{\"id\":1},{\"id\":2},{\"id\":";
+
+        StepVerifier.create(decoder.decode(chunks(json, 4), POST, MediaType.APPLICATION_JSON, null))
+                .expectNext(new Post(null, 1L, null, null))
+                .expectNext(new Post(null, 2L, null, null))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    void should_OnlyDecodeApplicationTypes() {
+        assertTrue(decoder.canDecode(POST, MediaType.APPLICATION_JSON));
+        assertTrue(decoder.canDecode(POST, MediaType.parseMediaType("application/vnd.posts+json")));
+        assertFalse(decoder.canDecode(POST, MediaType.TEXT_PLAIN));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(String.class), MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(List.class), MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(byte[].class), MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Serves a one gigabyte array from a local server and reads it through the configured WebClient, whose
+     * in-memory limit is far below the response size.
+     */
+    @Test
+    void should_StreamOneGigabyteArray_ThroughConfiguredWebClient() {
+        long targetBytes = 1L << 30;
+        byte[] chunk = postsChunk(1000);
+        long repeats = targetBytes / chunk.length + 1;
+        byte[] last = "{\"userId\":0,\"id\":0,\"title\":\"last\",\"body\":\"\"}]".getBytes(StandardCharsets.UTF_8);
+
+        DisposableServer server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/posts", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .send(Flux.concat(
+                                Flux.just(Unpooled.wrappedBuffer(new byte[] {'['})),
+                                Flux.range(0, (int) repeats).map(i -> Unpooled.wrappedBuffer(chunk)),
+                                Flux.just(Unpooled.wrappedBuffer(last))))))
+                .bindNow();
+        WebClientConfig config = new WebClientConfig();
+        ConnectionProvider connectionProvider = config.postsConnectionProvider(1, 1, 1000, 30_000);
+        try {
+            WebClient webClient = config.webClient(
+                    config.postsHttpClient(connectionProvider, new HttpProtocol[] {HttpProtocol.HTTP11},
+                            5000, 60_000, false),
+                    mock(PostMetrics.class),
+                    objectMapper, 1024 * 1024);
+            AtomicLong lastId = new AtomicLong(-1);
+
+            Long count = webClient.get()
+                    .uri("http://localhost:" + server.port() + "/posts")
+                    .retrieve()
+                    .bodyToFlux(Post.class)
+                    .doOnNext(post -> lastId.set(post.id()))
+                    .count()
+                    .block();
+
+            assertTrue(repeats * chunk.length >= targetBytes);
+            assertEquals(repeats * 1000 + 1, count);
+            assertEquals(0L, lastId.get());
+        } finally {
+            connectionProvider.dispose();
+            server.disposeNow();
+        }
+    }
+
+    private static byte[] postsChunk(int count) {
+        StringBuilder json = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            json.append("{\"userId\":").append(i % 10 + 1)
+                    .append(",\"id\":").append(i)
+                    .append(",\"title\":\"sunt aut facere repellat provident ").append(i)
+                    .append("\",\"body\":\"quia et suscipit\\nsuscipit recusandae consequuntur expedita\"},");
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return Flux.range(0, (bytes.length + size - 1) / size)
+                .map(i -> {
+                    int from = i * size;
+                    int length = Math.min(size, bytes.length - from);
+                    DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(length);
+                    return buffer.write(bytes, from, length);
+                });
+    }
+}
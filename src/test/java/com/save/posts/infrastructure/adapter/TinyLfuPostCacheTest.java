@@ -0,0 +1,131 @@
+package com.save.posts.infrastructure.adapter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.save.posts.domain.model.Post;
+import com.save.posts.domain.model.SerializedPost;
+import com.save.posts.domain.port.output.PostMetrics;
+
+@ExtendWith(MockitoExtension.class)
+class TinyLfuPostCacheTest {
+
+    private static final int ENTRY_BYTES = 10 + 96;
+
+    @Mock
+    private PostMetrics postMetrics;
+
+    @Test
+    void should_ReturnCachedPost_AndRecordHitsAndMisses() {
+        TinyLfuPostCache cache = new TinyLfuPostCache(postMetrics, 100L * ENTRY_BYTES);
+        SerializedPost post = read(1L);
+
+        assertTrue(cache.get(1L).isEmpty());
+        cache.put(1L, post);
+
+        assertSame(post, cache.get(1L).orElseThrow());
+        verify(postMetrics).recordCacheLookup(false);
+        verify(postMetrics).recordCacheLookup(true);
+    }
+
+    @Test
+    void should_KeepFrequentlyUsedPosts_WhenScanPassesThrough() {
+        TinyLfuPostCache cache = new TinyLfuPostCache(postMetrics, 100L * ENTRY_BYTES);
+        for (long id = 1; id <= 50; id++) {
+            cache.get(id);
+            cache.put(id, read(id));
+        }
+        for (int round = 0; round < 4; round++) {
+            for (long id = 1; id <= 50; id++) {
+                assertTrue(cache.get(id).isPresent());
+            }
+        }
+
+        for (long id = 1000; id < 2000; id++) {
+            cache.get(id);
+            cache.put(id, read(id));
+        }
+
+        for (long id = 1; id <= 50; id++) {
+            assertTrue(cache.get(id).isPresent(), "post " + id + " was evicted");
+        }
+        assertTrue(cache.weightedBytes() <= 100L * ENTRY_BYTES);
+        verify(postMetrics, atLeastOnce()).recordCacheEvictions(anyLong());
+    }
+
+    @Test
+    void should_WeighSourcePostAsSecondCopy() {
+        TinyLfuPostCache cache = new TinyLfuPostCache(postMetrics, 100L * ENTRY_BYTES);
+
+        cache.put(1L, read(1L));
+        cache.put(2L, new SerializedPost(new Post(1L, 2L, "t", "b"), json(2L), 2L));
+
+        assertEquals(ENTRY_BYTES + ENTRY_BYTES + 10, cache.weightedBytes());
+    }
+
+    @Test
+    void should_ReplaceEntry_WhenPutAgain() {
+        TinyLfuPostCache cache = new TinyLfuPostCache(postMetrics, 100L * ENTRY_BYTES);
+        SerializedPost replacement = new SerializedPost(null,
+                "{\"id\":1,\"x\":2}".getBytes(StandardCharsets.UTF_8), 7L);
+
+        cache.put(1L, read(1L));
+        cache.put(1L, replacement);
+
+        assertEquals(1, cache.size());
+        assertEquals(replacement.json().length + 96, cache.weightedBytes());
+        assertSame(replacement, cache.get(1L).orElseThrow());
+    }
+
+    @Test
+    void should_NotCachePost_WhenLargerThanCache() {
+        TinyLfuPostCache cache = new TinyLfuPostCache(postMetrics, ENTRY_BYTES - 1);
+
+        cache.put(1L, read(1L));
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedBytes());
+    }
+
+    @Test
+    void should_EmptyCache_WhenInvalidated() {
+        TinyLfuPostCache cache = new TinyLfuPostCache(postMetrics, 100L * ENTRY_BYTES);
+        cache.put(1L, read(1L));
+        cache.put(2L, read(2L));
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedBytes());
+        assertFalse(cache.get(1L).isPresent());
+        cache.put(1L, read(1L));
+        assertTrue(cache.get(1L).isPresent());
+        verify(postMetrics, times(1)).recordCacheLookup(true);
+    }
+
+    @Test
+    void should_RejectNonPositiveMaxBytes() {
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuPostCache(postMetrics, 0));
+    }
+
+    private static SerializedPost read(long id) {
+        return new SerializedPost(null, json(id), id);
+    }
+
+    private static byte[] json(long id) {
+        return String.format("{\"id\":%03d}", id).getBytes(StandardCharsets.UTF_8);
+    }
+}
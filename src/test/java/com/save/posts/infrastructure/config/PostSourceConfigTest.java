@@ -0,0 +1,63 @@
+package com.save.posts.infrastructure.config;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.save.posts.domain.model.PostSource;
+
+class PostSourceConfigTest {
+
+    private final PostSourceConfig config = new PostSourceConfig();
+
+    @Test
+    void should_UseApiUrl_WhenNoSourcesConfigured() {
+        List<PostSource> sources = config.postSources(new MockEnvironment(), "https://api.test/posts", 2);
+
+        assertEquals(List.of(new PostSource("", "https://api.test/posts", 2)), sources);
+    }
+
+    @Test
+    void should_BindSources_WithDefaultRateLimit() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("api.sources[0].name", "news")
+                .withProperty("api.sources[0].url", "https://news.test/posts")
+                .withProperty("api.sources[0].rate-limit", "5")
+                .withProperty("api.sources[1].name", "blog")
+                .withProperty("api.sources[1].url", "https://blog.test/posts");
+
+        List<PostSource> sources = config.postSources(environment, "https://api.test/posts", 2);
+
+        assertEquals(List.of(
+                new PostSource("news", "https://news.test/posts", 5),
+                new PostSource("blog", "https://blog.test/posts", 2)), sources);
+    }
+
+    @Test
+    void should_RejectSourceName_ThatIsNotADirectoryName() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("api.sources[0].name", "../news")
+                .withProperty("api.sources[0].url", "https://news.test/posts");
+
+        assertThrows(IllegalArgumentException.class, () -> config.postSources(environment, "", 0));
+    }
+
+    @Test
+    void should_RejectDuplicateSourceNames() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("api.sources[0].name", "news")
+                .withProperty("api.sources[0].url", "https://news.test/posts")
+                .withProperty("api.sources[1].name", "news")
+                .withProperty("api.sources[1].url", "https://other.test/posts");
+
+        assertThrows(IllegalArgumentException.class, () -> config.postSources(environment, "", 0));
+    }
+
+    @Test
+    void should_Fail_WhenNeitherApiUrlNorSourcesConfigured() {
+        assertThrows(IllegalArgumentException.class, () -> config.postSources(new MockEnvironment(), "", 0));
+    }
+}
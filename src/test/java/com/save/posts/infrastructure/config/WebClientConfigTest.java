@@ -0,0 +1,84 @@
+package com.save.posts.infrastructure.config;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.save.posts.domain.port.output.PostMetrics;
+
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class WebClientConfigTest {
+
+    @Mock
+    private PostMetrics postMetrics;
+
+    @Test
+    void should_RecordLatencyAndBodyBytes_ForEachExchange() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .body("[{\"id\":1}]")
+                        .build()))
+                .filter(WebClientConfig.metricsFilter(postMetrics))
+                .build();
+
+        StepVerifier.create(webClient.get().uri("http://localhost/posts").retrieve().bodyToMono(String.class))
+                .expectNext("[{\"id\":1}]")
+                .verifyComplete();
+
+        verify(postMetrics).recordFetch(anyLong());
+        verify(postMetrics).recordBytesReceived(10);
+    }
+
+    @Test
+    void should_ConfigurePooledHttpClient_FromProperties() {
+        WebClientConfig config = new WebClientConfig();
+        ConnectionProvider connectionProvider = config.postsConnectionProvider(16, 32, 1000, 5000);
+        try {
+            HttpClient httpClient = config.postsHttpClient(connectionProvider,
+                    new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11}, 2000, 3000, true);
+
+            assertSame(connectionProvider, httpClient.configuration().connectionProvider());
+            assertArrayEquals(new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11},
+                    httpClient.configuration().protocols());
+            assertTrue(httpClient.configuration().isAcceptGzip());
+            assertEquals(Duration.ofSeconds(3), httpClient.configuration().responseTimeout());
+            assertEquals(2000, httpClient.configuration().options().get(ChannelOption.CONNECT_TIMEOUT_MILLIS));
+        } finally {
+            connectionProvider.dispose();
+        }
+    }
+
+    @Test
+    void should_NotRecordFetch_WhenExchangeFails() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.error(new IllegalStateException("Connection refused")))
+                .filter(WebClientConfig.metricsFilter(postMetrics))
+                .build();
+
+        StepVerifier.create(webClient.get().uri("http://localhost/posts").retrieve().bodyToMono(String.class))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(postMetrics, never()).recordFetch(anyLong());
+    }
+}